@@ -0,0 +1,43 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * benchmark for the rounding of the label steps
+ *
+ * @author jjoe64
+ */
+@State(Scope.Thread)
+public class GridLabelRendererBenchmark {
+    @Param({"0.000731", "3.7", "48213.5", "7.3e12"})
+    public double value;
+
+    @Benchmark
+    public double humanRoundUp() {
+        return GridLabelRenderer.roundToHumanSteps(value, true);
+    }
+
+    @Benchmark
+    public double humanRoundDown() {
+        return GridLabelRenderer.roundToHumanSteps(value, false);
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import com.jjoe64.graphview.helper.DateAsXAxisLabelFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.text.DateFormat;
+import java.text.NumberFormat;
+
+/**
+ * benchmark for the label formatters,
+ * they are called for every label on every frame.
+ *
+ * @author jjoe64
+ */
+@State(Scope.Thread)
+public class LabelFormatterBenchmark {
+    private DefaultLabelFormatter mDefault;
+    private DateAsXAxisLabelFormatter mDate;
+    private double mValue;
+
+    @Setup
+    public void setUp() {
+        NumberFormat x = NumberFormat.getNumberInstance();
+        x.setMaximumFractionDigits(3);
+        NumberFormat y = NumberFormat.getNumberInstance();
+        y.setMaximumFractionDigits(1);
+        mDefault = new DefaultLabelFormatter(x, y);
+
+        // the context is only used for the default date format
+        mDate = new DateAsXAxisLabelFormatter(null, DateFormat.getDateInstance());
+    }
+
+    @Benchmark
+    public String defaultX() {
+        mValue += 0.125;
+        return mDefault.formatLabel(mValue, true);
+    }
+
+    @Benchmark
+    public String defaultY() {
+        mValue += 0.125;
+        return mDefault.formatLabel(mValue, false);
+    }
+
+    @Benchmark
+    public String dateX() {
+        mValue += 86400000d;
+        return mDate.formatLabel(mValue, true);
+    }
+}
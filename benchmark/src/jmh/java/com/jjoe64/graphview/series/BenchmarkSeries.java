@@ -0,0 +1,62 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.graphics.Canvas;
+
+import com.jjoe64.graphview.GraphView;
+
+/**
+ * series without drawing, to measure the
+ * data handling of BaseSeries on the JVM.
+ *
+ * @author jjoe64
+ */
+public class BenchmarkSeries extends BaseSeries<DataPoint> {
+    /**
+     * creates a series with values 0..count-1 on the x axis
+     *
+     * @param count number of data points
+     * @return the series
+     */
+    public static BenchmarkSeries create(int count) {
+        DataPoint[] data = new DataPoint[count];
+        for (int i = 0; i < count; i++) {
+            data[i] = new DataPoint(i, Math.sin(i / 100d) * 100d);
+        }
+        return new BenchmarkSeries(data);
+    }
+
+    public BenchmarkSeries(DataPoint[] data) {
+        super(data);
+    }
+
+    /**
+     * checks the order of all data points
+     */
+    public void checkValueOrder() {
+        checkValueOrder(null);
+    }
+
+    @Override
+    public void draw(GraphView graphView, Canvas canvas, boolean isSecondScale) {
+    }
+
+    @Override
+    public void drawSelection(GraphView mGraphView, Canvas canvas, boolean b, DataPointInterface value) {
+    }
+}
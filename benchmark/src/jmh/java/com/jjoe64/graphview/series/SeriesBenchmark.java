@@ -0,0 +1,171 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+
+/**
+ * benchmarks for the data path of BaseSeries:
+ * appending, reading a range, bounds and order check.
+ *
+ * @author jjoe64
+ */
+public class SeriesBenchmark {
+    /**
+     * a full series, every append removes the oldest point
+     */
+    @State(Scope.Thread)
+    public static class AppendState {
+        @Param({"100", "10000", "1000000"})
+        public int maxDataPoints;
+
+        BenchmarkSeries series;
+        double nextX;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            series = BenchmarkSeries.create(maxDataPoints);
+            nextX = maxDataPoints;
+        }
+    }
+
+    /**
+     * a series with a visible window at a position
+     */
+    @State(Scope.Thread)
+    public static class RangeState {
+        @Param({"100000"})
+        public int size;
+
+        @Param({"1000"})
+        public int window;
+
+        @Param({"START", "MIDDLE", "END", "ALL"})
+        public String position;
+
+        BenchmarkSeries series;
+        double from;
+        double until;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            series = BenchmarkSeries.create(size);
+            if ("START".equals(position)) {
+                from = 0;
+            } else if ("MIDDLE".equals(position)) {
+                from = (size - window) / 2;
+            } else if ("END".equals(position)) {
+                from = size - window;
+            } else {
+                from = 0;
+                window = size;
+            }
+            until = from + window;
+        }
+    }
+
+    /**
+     * a series that is read completely
+     */
+    @State(Scope.Thread)
+    public static class FullState {
+        @Param({"1000", "100000"})
+        public int size;
+
+        BenchmarkSeries series;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            series = BenchmarkSeries.create(size);
+        }
+    }
+
+    /**
+     * a series whose bounds cache is cleared
+     * before every invocation
+     */
+    @State(Scope.Thread)
+    public static class UncachedState {
+        @Param({"1000", "100000"})
+        public int size;
+
+        BenchmarkSeries series;
+        DataPoint[] data;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            series = BenchmarkSeries.create(size);
+            data = new DataPoint[size];
+            Iterator<DataPoint> values = series.getValues(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+            for (int i = 0; i < size; i++) {
+                data[i] = values.next();
+            }
+        }
+
+        @Setup(Level.Invocation)
+        public void clearCache() {
+            series.getStorage().reset(data);
+        }
+    }
+
+    @Benchmark
+    public void appendData(AppendState state) {
+        state.series.appendData(new DataPoint(state.nextX, Math.sin(state.nextX / 100d) * 100d),
+                false, state.maxDataPoints, true);
+        state.nextX++;
+    }
+
+    @Benchmark
+    public void getValues(RangeState state, Blackhole bh) {
+        Iterator<DataPoint> values = state.series.getValues(state.from, state.until);
+        while (values.hasNext()) {
+            bh.consume(values.next().getY());
+        }
+    }
+
+    /**
+     * cached bounds, as on every redraw
+     */
+    @Benchmark
+    public void lowestHighestY(FullState state, Blackhole bh) {
+        bh.consume(state.series.getLowestValueY());
+        bh.consume(state.series.getHighestValueY());
+    }
+
+    /**
+     * bounds after the data changed, so the
+     * cache of the storage is empty
+     */
+    @Benchmark
+    public void lowestHighestYUncached(UncachedState state, Blackhole bh) {
+        bh.consume(state.series.getLowestValueY());
+        bh.consume(state.series.getHighestValueY());
+    }
+
+    @Benchmark
+    public void checkValueOrder(FullState state) {
+        state.series.checkValueOrder();
+    }
+}
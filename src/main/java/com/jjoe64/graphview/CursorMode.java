@@ -211,7 +211,7 @@ public class CursorMode {
         mCurrentSelection.clear();
         for (Series series : mGraphView.getSeries()) {
             if (series instanceof BaseSeries) {
-                DataPointInterface p = ((BaseSeries) series).findDataPointAtX(mPosX);
+                DataPointInterface p = ((BaseSeries) series).findDataPointAtX(mGraphView, mPosX);
                 if (p != null) {
                     selX = p.getX();
                     mCurrentSelection.put((BaseSeries) series, p);
@@ -0,0 +1,249 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * Canvas that forwards all drawing to another canvas
+ * and reduces connected lines and paths to at most
+ * four points per pixel column (first, min, max, last).
+ *
+ * This keeps the output of vector canvases (e.g. SVG or PDF)
+ * bounded by the resolution instead of the number of
+ * data points, without a visible difference.
+ * Lines are merged as long as they are connected and
+ * drawn with the same paint.
+ *
+ * Call {@link #flush()} after drawing.
+ *
+ * @author jjoe64
+ */
+public class DecimatingCanvas extends ForwardingCanvas {
+    /**
+     * paint, color and width of the current polyline
+     */
+    private Paint mStripPaint;
+    private int mStripColor;
+    private float mStripWidth;
+
+    /**
+     * end of the current polyline
+     */
+    private float mLastX = Float.NaN;
+    private float mLastY = Float.NaN;
+
+    /**
+     * the current pixel column
+     */
+    private int mColumn;
+    private boolean mColumnStarted;
+    private float mFirstX, mFirstY;
+    private float mMinX, mMinY;
+    private float mMaxX, mMaxY;
+    private float mEndX, mEndY;
+
+    /**
+     * reduced points of the current polyline, x/y pairs
+     */
+    private float[] mPoints = new float[64];
+    private int mPointCount;
+
+    /**
+     * @param target the canvas that gets the reduced drawing
+     */
+    public DecimatingCanvas(Canvas target) {
+        super(target);
+    }
+
+    /**
+     * all other operations end the current polyline
+     */
+    @Override
+    protected void onOperation(boolean draw) {
+        flush();
+    }
+
+    /**
+     * draws the pending lines into the target canvas
+     */
+    public void flush() {
+        if (mStripPaint == null) {
+            return;
+        }
+        endColumn();
+        if (mPointCount >= 2) {
+            float[] lines = new float[(mPointCount - 1) * 4];
+            for (int i = 0; i < mPointCount - 1; i++) {
+                lines[i * 4] = mPoints[i * 2];
+                lines[i * 4 + 1] = mPoints[i * 2 + 1];
+                lines[i * 4 + 2] = mPoints[i * 2 + 2];
+                lines[i * 4 + 3] = mPoints[i * 2 + 3];
+            }
+            mTarget.drawLines(lines, mStripPaint);
+        }
+        mStripPaint = null;
+        mPointCount = 0;
+        mLastX = mLastY = Float.NaN;
+    }
+
+    /**
+     * adds a line to the current polyline or
+     * starts a new one
+     */
+    private void addLine(float x0, float y0, float x1, float y1, Paint paint) {
+        if (mStripPaint != paint || paint.getColor() != mStripColor || paint.getStrokeWidth() != mStripWidth
+                || x0 != mLastX || y0 != mLastY) {
+            flush();
+            mStripPaint = paint;
+            mStripColor = paint.getColor();
+            mStripWidth = paint.getStrokeWidth();
+            addPoint(x0, y0);
+        }
+        addPoint(x1, y1);
+    }
+
+    /**
+     * adds a point to the current pixel column.
+     * the column is written when the point is in
+     * another column.
+     */
+    private void addPoint(float x, float y) {
+        int column = (int) Math.floor(x);
+        if (mColumnStarted && column != mColumn) {
+            endColumn();
+        }
+        if (!mColumnStarted) {
+            mColumnStarted = true;
+            mColumn = column;
+            mFirstX = mMinX = mMaxX = x;
+            mFirstY = mMinY = mMaxY = y;
+        } else {
+            if (y < mMinY) {
+                mMinX = x;
+                mMinY = y;
+            }
+            if (y > mMaxY) {
+                mMaxX = x;
+                mMaxY = y;
+            }
+        }
+        mEndX = mLastX = x;
+        mEndY = mLastY = y;
+    }
+
+    /**
+     * writes first, min, max and last point of
+     * the current column in the order they were drawn
+     */
+    private void endColumn() {
+        if (!mColumnStarted) {
+            return;
+        }
+        mColumnStarted = false;
+        emit(mFirstX, mFirstY);
+        if (mMinX <= mMaxX) {
+            emit(mMinX, mMinY);
+            emit(mMaxX, mMaxY);
+        } else {
+            emit(mMaxX, mMaxY);
+            emit(mMinX, mMinY);
+        }
+        emit(mEndX, mEndY);
+    }
+
+    /**
+     * appends a point to the reduced polyline,
+     * duplicates are skipped
+     */
+    private void emit(float x, float y) {
+        if (mPointCount > 0 && mPoints[mPointCount * 2 - 2] == x && mPoints[mPointCount * 2 - 1] == y) {
+            return;
+        }
+        if (mPointCount * 2 + 2 > mPoints.length) {
+            float[] n = new float[mPoints.length * 2];
+            System.arraycopy(mPoints, 0, n, 0, mPointCount * 2);
+            mPoints = n;
+        }
+        mPoints[mPointCount * 2] = x;
+        mPoints[mPointCount * 2 + 1] = y;
+        mPointCount++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        addLine(startX, startY, stopX, stopY, paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        drawLines(pts, 0, pts.length, paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        for (int i = offset; i + 3 < offset + count; i += 4) {
+            addLine(pts[i], pts[i + 1], pts[i + 2], pts[i + 3], paint);
+        }
+    }
+
+    /**
+     * paths are reduced on Android 8 and newer,
+     * older versions draw them unchanged.
+     */
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        flush();
+        if (android.os.Build.VERSION.SDK_INT < 26) {
+            mTarget.drawPath(path, paint);
+            return;
+        }
+
+        // fraction, x, y - a jump (moveTo) has the same fraction
+        float[] approx = path.approximate(0.5f);
+        Path reduced = new Path();
+        float lastFraction = -1f;
+        for (int i = 0; i + 2 < approx.length; i += 3) {
+            if (approx[i] == lastFraction || i == 0) {
+                writeReduced(reduced);
+                mLastX = mLastY = Float.NaN;
+            }
+            addPoint(approx[i + 1], approx[i + 2]);
+            lastFraction = approx[i];
+        }
+        writeReduced(reduced);
+        mLastX = mLastY = Float.NaN;
+        mTarget.drawPath(reduced, paint);
+    }
+
+    /**
+     * appends the reduced points as a sub path
+     */
+    private void writeReduced(Path path) {
+        endColumn();
+        for (int i = 0; i < mPointCount; i++) {
+            if (i == 0) {
+                path.moveTo(mPoints[0], mPoints[1]);
+            } else {
+                path.lineTo(mPoints[i * 2], mPoints[i * 2 + 1]);
+            }
+        }
+        mPointCount = 0;
+    }
+}
@@ -0,0 +1,567 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Region;
+import android.os.Build;
+
+/**
+ * Canvas that forwards the drawing to another canvas.
+ * Subclasses get notified before each operation
+ * via {@link #onOperation(boolean)}.
+ *
+ * All public drawing, clipping and matrix operations
+ * are forwarded, so the result is the same as drawing
+ * directly into the target. The overloads that were added
+ * in later API levels are only called on these devices.
+ *
+ * @author jjoe64
+ */
+public class ForwardingCanvas extends Canvas {
+    /**
+     * the canvas that gets the drawing
+     */
+    protected final Canvas mTarget;
+
+    /**
+     * @param target the canvas that gets the drawing
+     */
+    public ForwardingCanvas(Canvas target) {
+        mTarget = target;
+    }
+
+    /**
+     * will be called before each operation
+     * is forwarded.
+     *
+     * @param draw true if it is a drawing operation,
+     *             false if it changes the state of the canvas
+     *             (save, restore, transformations, clipping)
+     */
+    protected void onOperation(boolean draw) {
+    }
+
+    @Override
+    public void drawARGB(int a, int r, int g, int b) {
+        onOperation(true);
+        mTarget.drawARGB(a, r, g, b);
+    }
+
+    @Override
+    public void drawRGB(int r, int g, int b) {
+        onOperation(true);
+        mTarget.drawRGB(r, g, b);
+    }
+
+    @Override
+    public void drawColor(int color) {
+        onOperation(true);
+        mTarget.drawColor(color);
+    }
+
+    @Override
+    public void drawColor(int color, PorterDuff.Mode mode) {
+        onOperation(true);
+        mTarget.drawColor(color, mode);
+    }
+
+    @Override
+    public void drawPaint(Paint paint) {
+        onOperation(true);
+        mTarget.drawPaint(paint);
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        onOperation(true);
+        mTarget.drawLine(startX, startY, stopX, stopY, paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        onOperation(true);
+        mTarget.drawLines(pts, paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        onOperation(true);
+        mTarget.drawLines(pts, offset, count, paint);
+    }
+
+    @Override
+    public void drawPoint(float x, float y, Paint paint) {
+        onOperation(true);
+        mTarget.drawPoint(x, y, paint);
+    }
+
+    @Override
+    public void drawPoints(float[] pts, Paint paint) {
+        onOperation(true);
+        mTarget.drawPoints(pts, paint);
+    }
+
+    @Override
+    public void drawPoints(float[] pts, int offset, int count, Paint paint) {
+        onOperation(true);
+        mTarget.drawPoints(pts, offset, count, paint);
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        onOperation(true);
+        mTarget.drawPath(path, paint);
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        onOperation(true);
+        mTarget.drawRect(left, top, right, bottom, paint);
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        onOperation(true);
+        mTarget.drawRect(rect, paint);
+    }
+
+    @Override
+    public void drawRect(Rect r, Paint paint) {
+        onOperation(true);
+        mTarget.drawRect(r, paint);
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        onOperation(true);
+        mTarget.drawRoundRect(rect, rx, ry, paint);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public void drawRoundRect(float left, float top, float right, float bottom, float rx, float ry, Paint paint) {
+        onOperation(true);
+        mTarget.drawRoundRect(left, top, right, bottom, rx, ry, paint);
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint) {
+        onOperation(true);
+        mTarget.drawOval(oval, paint);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public void drawOval(float left, float top, float right, float bottom, Paint paint) {
+        onOperation(true);
+        mTarget.drawOval(left, top, right, bottom, paint);
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint) {
+        onOperation(true);
+        mTarget.drawArc(oval, startAngle, sweepAngle, useCenter, paint);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public void drawArc(float left, float top, float right, float bottom, float startAngle, float sweepAngle,
+                        boolean useCenter, Paint paint) {
+        onOperation(true);
+        mTarget.drawArc(left, top, right, bottom, startAngle, sweepAngle, useCenter, paint);
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        onOperation(true);
+        mTarget.drawCircle(cx, cy, radius, paint);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        onOperation(true);
+        mTarget.drawText(text, x, y, paint);
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint) {
+        onOperation(true);
+        mTarget.drawText(text, start, end, x, y, paint);
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        onOperation(true);
+        mTarget.drawText(text, index, count, x, y, paint);
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+        onOperation(true);
+        mTarget.drawText(text, start, end, x, y, paint);
+    }
+
+    @Override
+    public void drawTextOnPath(String text, Path path, float hOffset, float vOffset, Paint paint) {
+        onOperation(true);
+        mTarget.drawTextOnPath(text, path, hOffset, vOffset, paint);
+    }
+
+    @Override
+    public void drawTextOnPath(char[] text, int index, int count, Path path, float hOffset, float vOffset,
+                               Paint paint) {
+        onOperation(true);
+        mTarget.drawTextOnPath(text, index, count, path, hOffset, vOffset, paint);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public void drawPosText(String text, float[] pos, Paint paint) {
+        onOperation(true);
+        mTarget.drawPosText(text, pos, paint);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public void drawPosText(char[] text, int index, int count, float[] pos, Paint paint) {
+        onOperation(true);
+        mTarget.drawPosText(text, index, count, pos, paint);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        onOperation(true);
+        mTarget.drawBitmap(bitmap, left, top, paint);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint) {
+        onOperation(true);
+        mTarget.drawBitmap(bitmap, src, dst, paint);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint) {
+        onOperation(true);
+        mTarget.drawBitmap(bitmap, src, dst, paint);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint) {
+        onOperation(true);
+        mTarget.drawBitmap(bitmap, matrix, paint);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public void drawBitmap(int[] colors, int offset, int stride, float x, float y, int width, int height,
+                           boolean hasAlpha, Paint paint) {
+        onOperation(true);
+        mTarget.drawBitmap(colors, offset, stride, x, y, width, height, hasAlpha, paint);
+    }
+
+    @Override
+    public void drawBitmapMesh(Bitmap bitmap, int meshWidth, int meshHeight, float[] verts, int vertOffset,
+                               int[] colors, int colorOffset, Paint paint) {
+        onOperation(true);
+        mTarget.drawBitmapMesh(bitmap, meshWidth, meshHeight, verts, vertOffset, colors, colorOffset, paint);
+    }
+
+    @Override
+    public void drawVertices(VertexMode mode, int vertexCount, float[] verts, int vertOffset, float[] texs, int texOffset,
+                             int[] colors, int colorOffset, short[] indices, int indexOffset, int indexCount, Paint paint) {
+        onOperation(true);
+        mTarget.drawVertices(mode, vertexCount, verts, vertOffset, texs, texOffset, colors, colorOffset,
+                indices, indexOffset, indexCount, paint);
+    }
+
+    @Override
+    public void drawPicture(Picture picture) {
+        onOperation(true);
+        mTarget.drawPicture(picture);
+    }
+
+    @Override
+    public void drawPicture(Picture picture, RectF dst) {
+        onOperation(true);
+        mTarget.drawPicture(picture, dst);
+    }
+
+    @Override
+    public void drawPicture(Picture picture, Rect dst) {
+        onOperation(true);
+        mTarget.drawPicture(picture, dst);
+    }
+
+    @Override
+    public int save() {
+        onOperation(false);
+        return mTarget.save();
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int save(int saveFlags) {
+        onOperation(false);
+        return mTarget.save(saveFlags);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public int saveLayer(RectF bounds, Paint paint) {
+        onOperation(false);
+        return mTarget.saveLayer(bounds, paint);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int saveLayer(RectF bounds, Paint paint, int saveFlags) {
+        onOperation(false);
+        return mTarget.saveLayer(bounds, paint, saveFlags);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint) {
+        onOperation(false);
+        return mTarget.saveLayer(left, top, right, bottom, paint);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int saveLayer(float left, float top, float right, float bottom, Paint paint, int saveFlags) {
+        onOperation(false);
+        return mTarget.saveLayer(left, top, right, bottom, paint, saveFlags);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public int saveLayerAlpha(RectF bounds, int alpha) {
+        onOperation(false);
+        return mTarget.saveLayerAlpha(bounds, alpha);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int saveLayerAlpha(RectF bounds, int alpha, int saveFlags) {
+        onOperation(false);
+        return mTarget.saveLayerAlpha(bounds, alpha, saveFlags);
+    }
+
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    @Override
+    public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha) {
+        onOperation(false);
+        return mTarget.saveLayerAlpha(left, top, right, bottom, alpha);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha, int saveFlags) {
+        onOperation(false);
+        return mTarget.saveLayerAlpha(left, top, right, bottom, alpha, saveFlags);
+    }
+
+    @Override
+    public void restore() {
+        onOperation(false);
+        mTarget.restore();
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        onOperation(false);
+        mTarget.restoreToCount(saveCount);
+    }
+
+    @Override
+    public int getSaveCount() {
+        return mTarget.getSaveCount();
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        onOperation(false);
+        mTarget.translate(dx, dy);
+    }
+
+    @Override
+    public void rotate(float degrees) {
+        onOperation(false);
+        mTarget.rotate(degrees);
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+        onOperation(false);
+        mTarget.scale(sx, sy);
+    }
+
+    @Override
+    public void skew(float sx, float sy) {
+        onOperation(false);
+        mTarget.skew(sx, sy);
+    }
+
+    @Override
+    public void concat(Matrix matrix) {
+        onOperation(false);
+        mTarget.concat(matrix);
+    }
+
+    @Override
+    public void setMatrix(Matrix matrix) {
+        onOperation(false);
+        mTarget.setMatrix(matrix);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public void getMatrix(Matrix ctm) {
+        mTarget.getMatrix(ctm);
+    }
+
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom) {
+        onOperation(false);
+        return mTarget.clipRect(left, top, right, bottom);
+    }
+
+    @Override
+    public boolean clipRect(int left, int top, int right, int bottom) {
+        onOperation(false);
+        return mTarget.clipRect(left, top, right, bottom);
+    }
+
+    @Override
+    public boolean clipRect(RectF rect) {
+        onOperation(false);
+        return mTarget.clipRect(rect);
+    }
+
+    @Override
+    public boolean clipRect(Rect rect) {
+        onOperation(false);
+        return mTarget.clipRect(rect);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom, Region.Op op) {
+        onOperation(false);
+        return mTarget.clipRect(left, top, right, bottom, op);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public boolean clipRect(RectF rect, Region.Op op) {
+        onOperation(false);
+        return mTarget.clipRect(rect, op);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public boolean clipRect(Rect rect, Region.Op op) {
+        onOperation(false);
+        return mTarget.clipRect(rect, op);
+    }
+
+    @Override
+    public boolean clipPath(Path path) {
+        onOperation(false);
+        return mTarget.clipPath(path);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public boolean clipPath(Path path, Region.Op op) {
+        onOperation(false);
+        return mTarget.clipPath(path, op);
+    }
+
+    @Override
+    public boolean getClipBounds(Rect bounds) {
+        return mTarget.getClipBounds(bounds);
+    }
+
+    @Override
+    public boolean quickReject(RectF rect, EdgeType type) {
+        return mTarget.quickReject(rect, type);
+    }
+
+    @Override
+    public boolean quickReject(Path path, EdgeType type) {
+        return mTarget.quickReject(path, type);
+    }
+
+    @Override
+    public boolean quickReject(float left, float top, float right, float bottom, EdgeType type) {
+        return mTarget.quickReject(left, top, right, bottom, type);
+    }
+
+    @Override
+    public void setDensity(int density) {
+        mTarget.setDensity(density);
+    }
+
+    @Override
+    public int getDensity() {
+        return mTarget.getDensity();
+    }
+
+    @Override
+    public boolean isOpaque() {
+        return mTarget.isOpaque();
+    }
+
+    @Override
+    public int getWidth() {
+        return mTarget.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return mTarget.getHeight();
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    @Override
+    public int getMaximumBitmapWidth() {
+        return mTarget.getMaximumBitmapWidth();
+    }
+
+    @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+    @Override
+    public int getMaximumBitmapHeight() {
+        return mTarget.getMaximumBitmapHeight();
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return mTarget.isHardwareAccelerated();
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.graphics.Canvas;
+import android.graphics.pdf.PdfDocument;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Exports a graph as vector graphic (SVG or PDF).
+ *
+ * The graph is drawn with the same code as on the
+ * screen (grid, labels, series, legend) through a
+ * {@link DecimatingCanvas}, so that connected lines are
+ * reduced to the resolution of the graph and the size
+ * of the file does not depend on the number of data points.
+ *
+ * The graph has to be laid out, the current size of
+ * the view is the size of the document. Use
+ * {@link HeadlessGraphRenderer} to render into a
+ * canvas with another size.
+ *
+ * @author jjoe64
+ */
+public final class GraphExporter {
+    private GraphExporter() {
+    }
+
+    /**
+     * draws the graph with line reduction into a canvas
+     *
+     * @param graphView the graph
+     * @param canvas the target canvas
+     */
+    public static void draw(GraphView graphView, Canvas canvas) {
+        DecimatingCanvas decimating = new DecimatingCanvas(canvas);
+        graphView.drawGraphElements(decimating);
+        decimating.flush();
+    }
+
+    /**
+     * writes the graph as SVG. The elements are written
+     * while drawing.
+     *
+     * @param graphView the graph
+     * @param writer the output, will not be closed
+     * @throws IOException if writing failed
+     */
+    public static void writeSvg(GraphView graphView, Writer writer) throws IOException {
+        SvgCanvas svg = new SvgCanvas(writer, graphView.getWidth(), graphView.getHeight());
+        draw(graphView, svg);
+        svg.finish();
+    }
+
+    /**
+     * writes the graph as SVG in UTF-8
+     *
+     * @param graphView the graph
+     * @param out the output, will not be closed
+     * @throws IOException if writing failed
+     */
+    public static void writeSvg(GraphView graphView, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+        writeSvg(graphView, writer);
+    }
+
+    /**
+     * writes the graph as PDF with one page
+     * with the size of the graph.
+     * Needs Android 4.4 or newer.
+     *
+     * @param graphView the graph
+     * @param out the output, will not be closed
+     * @throws IOException if writing failed
+     */
+    public static void writePdf(GraphView graphView, OutputStream out) throws IOException {
+        if (android.os.Build.VERSION.SDK_INT < 19) {
+            throw new UnsupportedOperationException("PDF export needs Android 4.4 (API 19)");
+        }
+        PdfDocument document = new PdfDocument();
+        try {
+            PdfDocument.PageInfo info = new PdfDocument.PageInfo.Builder(graphView.getWidth(), graphView.getHeight(), 1).create();
+            PdfDocument.Page page = document.startPage(info);
+            draw(graphView, page.getCanvas());
+            document.finishPage(page);
+            document.writeTo(out);
+        } finally {
+            document.close();
+        }
+    }
+}
@@ -0,0 +1,767 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.SystemClock;
+import androidx.core.view.ViewCompat;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.jjoe64.graphview.series.BaseSeries;
+import com.jjoe64.graphview.series.DataPointInterface;
+import com.jjoe64.graphview.series.PagedSeriesStorage;
+import com.jjoe64.graphview.series.Series;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Small overview strip that shows the complete
+ * range of all series of a GraphView and a window for
+ * the visible range of the GraphView.
+ * The window can be dragged to scroll the GraphView.
+ *
+ * The series of both scales are drawn as min/max per pixel
+ * column into a cached bitmap. The min/max values are kept
+ * in buckets per series, which are extended when data points
+ * were appended. Other changes of the data rebuild the buckets,
+ * but at most every {@link #MIN_REBUILD_INTERVAL} ms.
+ * Of a {@link PagedSeriesStorage} only the cached pages are
+ * shown, the overview never loads pages.
+ * The x axis bounds of the GraphView are set to manual.
+ *
+ * @author jjoe64
+ */
+public class GraphOverview extends View {
+    /**
+     * styles for the overview
+     */
+    private final class Styles {
+        int windowColor = Color.argb(40, 0, 119, 204);
+        int windowBorderColor = Color.argb(180, 0, 119, 204);
+        int maskColor = Color.argb(80, 128, 128, 128);
+        float lineThickness = 1f;
+    }
+
+    /**
+     * min/max buckets of one series
+     */
+    private static final class SeriesSummary {
+        Series series;
+        boolean secondScale;
+
+        /**
+         * state of the data when the buckets were updated,
+         * the data version of a BaseSeries or the bounds
+         * of other series
+         */
+        boolean valid;
+        int dataVersion;
+        int resetVersion;
+        long boundsHash;
+
+        /**
+         * x-value of the first bucket and x-range of one bucket
+         */
+        double originX;
+        double bucketWidth;
+
+        /**
+         * min, max, first and last y-value per bucket,
+         * NaN for empty buckets
+         */
+        double[] min = new double[0];
+        double[] max = new double[0];
+        double[] first = new double[0];
+        double[] last = new double[0];
+
+        /**
+         * highest x-value in the buckets and the number
+         * of data points with this x-value
+         */
+        double lastX;
+        int lastXCount;
+
+        /**
+         * clears the buckets for a new x range
+         *
+         * @param count number of buckets
+         * @param minX lowest x-value of the data
+         * @param maxX highest x-value of the data
+         */
+        void clear(int count, double minX, double maxX) {
+            if (min.length != count) {
+                min = new double[count];
+                max = new double[count];
+                first = new double[count];
+                last = new double[count];
+            }
+            Arrays.fill(min, Double.NaN);
+            // half of the buckets are free for appended data
+            originX = minX;
+            bucketWidth = maxX > minX ? (maxX - minX) / (count / 2) : 1d;
+            lastX = Double.NEGATIVE_INFINITY;
+            lastXCount = 0;
+        }
+
+        /**
+         * adds a data point to the buckets. If the x-value is
+         * behind the last bucket, neighbouring buckets are merged.
+         */
+        void add(double x, double y) {
+            if (x > lastX) {
+                lastX = x;
+                lastXCount = 1;
+            } else if (x == lastX) {
+                lastXCount++;
+            }
+            if (Double.isNaN(y)) {
+                return;
+            }
+            while (x >= originX + min.length * bucketWidth) {
+                mergeBuckets();
+            }
+            int i = x < originX ? 0 : (int) ((x - originX) / bucketWidth);
+            if (Double.isNaN(min[i])) {
+                min[i] = max[i] = first[i] = y;
+            } else {
+                if (y < min[i]) min[i] = y;
+                if (y > max[i]) max[i] = y;
+            }
+            last[i] = y;
+        }
+
+        /**
+         * merges pairs of buckets to double the x range
+         */
+        private void mergeBuckets() {
+            int count = min.length;
+            for (int i = 0; i < count; i++) {
+                int a = i * 2;
+                int b = a + 1;
+                if (b >= count || Double.isNaN(min[b])) {
+                    if (a < count) {
+                        min[i] = min[a];
+                        max[i] = max[a];
+                        first[i] = first[a];
+                        last[i] = last[a];
+                    } else {
+                        min[i] = Double.NaN;
+                    }
+                } else if (Double.isNaN(min[a])) {
+                    min[i] = min[b];
+                    max[i] = max[b];
+                    first[i] = first[b];
+                    last[i] = last[b];
+                } else {
+                    min[i] = Math.min(min[a], min[b]);
+                    max[i] = Math.max(max[a], max[b]);
+                    first[i] = first[a];
+                    last[i] = last[b];
+                }
+            }
+            bucketWidth *= 2;
+        }
+    }
+
+    /**
+     * minimal time between two rebuilds of the buckets
+     * in ms. Appended data is added directly.
+     */
+    public static final long MIN_REBUILD_INTERVAL = 500;
+
+    private final Styles mStyles = new Styles();
+
+    /**
+     * buckets of the series of both scales
+     */
+    private List<SeriesSummary> mSeriesSummaries = new ArrayList<SeriesSummary>();
+
+    /**
+     * uptime of the last rebuild of buckets
+     */
+    private long mLastRebuild;
+
+    /**
+     * whether a redraw for a delayed rebuild is posted
+     */
+    private boolean mRebuildPosted;
+
+    /**
+     * redraws for a rebuild that was delayed
+     */
+    private final Runnable mDelayedRebuild = new Runnable() {
+        @Override
+        public void run() {
+            mRebuildPosted = false;
+            invalidate();
+        }
+    };
+
+    /**
+     * the graph that is controlled
+     */
+    private GraphView mGraphView;
+
+    /**
+     * cached summary of all series
+     */
+    private Bitmap mSummary;
+
+    /**
+     * fingerprint of the series and their colors in the summary
+     */
+    private long mSummaryFingerprint;
+
+    /**
+     * x range of the summary
+     */
+    private double mMinX;
+    private double mMaxX;
+
+    /**
+     * visible range of the graph when the overview was drawn last
+     */
+    private double mDrawnWindowMinX = Double.NaN;
+    private double mDrawnWindowMaxX = Double.NaN;
+
+    /**
+     * distance in pixel between touch and left window border
+     */
+    private float mDragOffset;
+
+    /**
+     * x range that will be applied to the graph in the next frame
+     */
+    private double mPendingMinX;
+    private double mPendingMaxX;
+    private boolean mUpdatePosted;
+
+    /**
+     * applies the pending x range once per frame
+     */
+    private final Runnable mApplyUpdate = new Runnable() {
+        @Override
+        public void run() {
+            mUpdatePosted = false;
+            if (mGraphView != null) {
+                mGraphView.getViewport().scrollXTo(mPendingMinX, mPendingMaxX);
+            }
+            invalidate();
+        }
+    };
+
+    private final Paint mPaint = new Paint();
+
+    /**
+     * reused buffers per pixel column
+     */
+    private float[] mColumnMin = new float[0];
+    private float[] mColumnMax = new float[0];
+    private float[] mColumnFirst = new float[0];
+    private float[] mColumnLast = new float[0];
+    private float[] mLines = new float[0];
+
+    /**
+     * @param context context
+     */
+    public GraphOverview(Context context) {
+        super(context);
+    }
+
+    /**
+     * @param context context
+     * @param attrs attributes
+     */
+    public GraphOverview(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    /**
+     * @param context context
+     * @param attrs attributes
+     * @param defStyle default style
+     */
+    public GraphOverview(Context context, AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+    }
+
+    /**
+     * links the overview with a graph.
+     *
+     * @param graphView the graph that will be controlled, or null
+     */
+    public void setGraphView(GraphView graphView) {
+        if (mGraphView != null) {
+            mGraphView.mOverview = null;
+        }
+        mGraphView = graphView;
+        if (graphView != null) {
+            graphView.mOverview = this;
+            graphView.getViewport().setXAxisBoundsManual(true);
+        }
+        invalidateSummary();
+    }
+
+    /**
+     * @return the graph that is controlled
+     */
+    public GraphView getGraphView() {
+        return mGraphView;
+    }
+
+    /**
+     * forces to recalculate the summary on the next draw.
+     * This is only necessary for custom series that change
+     * their data without changing their bounds.
+     */
+    public void invalidateSummary() {
+        mSummaryFingerprint = 0;
+        for (SeriesSummary summary : mSeriesSummaries) {
+            summary.valid = false;
+        }
+        mLastRebuild = 0;
+        invalidate();
+    }
+
+    /**
+     * called by the graph after it was drawn.
+     * redraws the overview if the visible range changed.
+     */
+    void onGraphViewDrawn() {
+        Viewport viewport = mGraphView.getViewport();
+        if (viewport.getMinX(false) != mDrawnWindowMinX || viewport.getMaxX(false) != mDrawnWindowMaxX) {
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        if (mSummary != null) {
+            mSummary.recycle();
+            mSummary = null;
+        }
+        // the number of buckets depends on the width
+        invalidateSummary();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        if (mGraphView == null || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+
+        long fingerprint = calcFingerprint();
+        boolean changed = updateSummaries(fingerprint != mSummaryFingerprint);
+        if (mSummary == null || changed || fingerprint != mSummaryFingerprint) {
+            renderSummary();
+            mSummaryFingerprint = fingerprint;
+        }
+        canvas.drawBitmap(mSummary, 0, 0, null);
+
+        // window
+        Viewport viewport = mGraphView.getViewport();
+        mDrawnWindowMinX = viewport.getMinX(false);
+        mDrawnWindowMaxX = viewport.getMaxX(false);
+        float left = toPixel(mDrawnWindowMinX);
+        float right = toPixel(mDrawnWindowMaxX);
+        int height = getHeight();
+
+        mPaint.setStyle(Paint.Style.FILL);
+        mPaint.setColor(mStyles.maskColor);
+        if (left > 0) {
+            canvas.drawRect(0, 0, left, height, mPaint);
+        }
+        if (right < getWidth()) {
+            canvas.drawRect(right, 0, getWidth(), height, mPaint);
+        }
+        mPaint.setColor(mStyles.windowColor);
+        canvas.drawRect(left, 0, right, height, mPaint);
+        mPaint.setStyle(Paint.Style.STROKE);
+        mPaint.setStrokeWidth(2f);
+        mPaint.setColor(mStyles.windowBorderColor);
+        canvas.drawRect(left + 1, 1, right - 1, height - 1, mPaint);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (mGraphView == null || mMaxX <= mMinX) {
+            return false;
+        }
+        Viewport viewport = mGraphView.getViewport();
+        double width = viewport.getMaxX(false) - viewport.getMinX(false);
+        float x = event.getX();
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                float left = toPixel(viewport.getMinX(false));
+                float right = toPixel(viewport.getMaxX(false));
+                if (x >= left && x <= right) {
+                    mDragOffset = x - left;
+                } else {
+                    // center the window at the touch
+                    mDragOffset = (right - left) / 2;
+                }
+                // fall through
+            case MotionEvent.ACTION_MOVE:
+            case MotionEvent.ACTION_UP:
+                double minX = toValue(x - mDragOffset);
+                minX = Math.max(mMinX, Math.min(minX, mMaxX - width));
+                requestWindow(minX, minX + width);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * coalesces the updates of the graph to one per frame
+     */
+    private void requestWindow(double minX, double maxX) {
+        mPendingMinX = minX;
+        mPendingMaxX = maxX;
+        if (!mUpdatePosted) {
+            mUpdatePosted = true;
+            ViewCompat.postOnAnimation(this, mApplyUpdate);
+        }
+    }
+
+    private float toPixel(double x) {
+        return (float) ((x - mMinX) / (mMaxX - mMinX) * getWidth());
+    }
+
+    private double toValue(float pixel) {
+        return mMinX + pixel / getWidth() * (mMaxX - mMinX);
+    }
+
+    /**
+     * @return a value that changes when the series or their colors change
+     */
+    private long calcFingerprint() {
+        long hash = 17;
+        for (Series s : mGraphView.getSeries()) {
+            hash = hash * 31 + System.identityHashCode(s);
+            hash = hash * 31 + s.getColor();
+        }
+        if (mGraphView.mSecondScale != null) {
+            hash = hash * 31 + 1;
+            for (Series s : mGraphView.mSecondScale.getSeries()) {
+                hash = hash * 31 + System.identityHashCode(s);
+                hash = hash * 31 + s.getColor();
+            }
+        }
+        // 0 means invalid
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * @return hash of the bounds of a series
+     */
+    private static long calcBoundsHash(Series s) {
+        if (s.isEmpty()) {
+            return 0;
+        }
+        long hash = 17;
+        hash = hash * 31 + Double.doubleToLongBits(s.getLowestValueX());
+        hash = hash * 31 + Double.doubleToLongBits(s.getHighestValueX());
+        hash = hash * 31 + Double.doubleToLongBits(s.getLowestValueY());
+        hash = hash * 31 + Double.doubleToLongBits(s.getHighestValueY());
+        return hash;
+    }
+
+    /**
+     * updates the buckets of all series.
+     * Appended data points are added to the buckets, other
+     * changes rebuild the buckets, but not more often than
+     * every {@link #MIN_REBUILD_INTERVAL} ms.
+     *
+     * @param seriesChanged true if series were added or removed
+     * @return true if the buckets changed
+     */
+    private boolean updateSummaries(boolean seriesChanged) {
+        if (seriesChanged) {
+            List<SeriesSummary> summaries = new ArrayList<SeriesSummary>();
+            addSummaries(summaries, mGraphView.getSeries(), false);
+            if (mGraphView.mSecondScale != null) {
+                addSummaries(summaries, mGraphView.mSecondScale.getSeries(), true);
+            }
+            mSeriesSummaries = summaries;
+        }
+
+        long now = SystemClock.uptimeMillis();
+        boolean canRebuild = now - mLastRebuild >= MIN_REBUILD_INTERVAL;
+        boolean rebuilt = false;
+        boolean delayed = false;
+        boolean changed = false;
+        int count = Math.max(getWidth(), 1) * 2;
+        for (SeriesSummary summary : mSeriesSummaries) {
+            Series s = summary.series;
+            BaseSeries base = s instanceof BaseSeries ? (BaseSeries) s : null;
+            boolean paged = base != null && base.getStorage() instanceof PagedSeriesStorage;
+
+            boolean rebuild;
+            if (!summary.valid || summary.min.length != count) {
+                // first time, without delay
+                rebuild = true;
+            } else if (base == null) {
+                if (calcBoundsHash(s) == summary.boundsHash) {
+                    continue;
+                }
+                rebuild = true;
+            } else if (base.getDataVersion() == summary.dataVersion) {
+                continue;
+            } else {
+                // data points were only appended since the last update
+                boolean appended = !paged && base.getResetVersion() == summary.resetVersion
+                        && summary.lastX != Double.NEGATIVE_INFINITY;
+                double range = summary.bucketWidth * summary.min.length;
+                // rebuild if old data was removed or the buckets are too wide
+                rebuild = !appended || s.isEmpty()
+                        || s.getLowestValueX() - summary.originX > range / 2
+                        || s.getHighestValueX() - summary.originX < range / 8;
+            }
+
+            if (rebuild && summary.valid && summary.min.length == count && !canRebuild) {
+                delayed = true;
+                continue;
+            }
+            if (rebuild) {
+                rebuildSummary(summary, count);
+                rebuilt = true;
+            } else {
+                extendSummary(summary);
+            }
+            if (base != null) {
+                summary.dataVersion = base.getDataVersion();
+                summary.resetVersion = base.getResetVersion();
+            } else {
+                summary.boundsHash = calcBoundsHash(s);
+            }
+            summary.valid = true;
+            changed = true;
+        }
+        if (rebuilt) {
+            mLastRebuild = now;
+        }
+        if (delayed && !mRebuildPosted) {
+            mRebuildPosted = true;
+            postDelayed(mDelayedRebuild, MIN_REBUILD_INTERVAL - (now - mLastRebuild));
+        }
+        return changed;
+    }
+
+    /**
+     * adds the summaries of the series, existing summaries are reused
+     */
+    private void addSummaries(List<SeriesSummary> summaries, List<Series> series, boolean secondScale) {
+        for (Series s : series) {
+            SeriesSummary summary = null;
+            for (SeriesSummary old : mSeriesSummaries) {
+                if (old.series == s && old.secondScale == secondScale) {
+                    summary = old;
+                    break;
+                }
+            }
+            if (summary == null) {
+                summary = new SeriesSummary();
+                summary.series = s;
+                summary.secondScale = secondScale;
+            }
+            summaries.add(summary);
+        }
+    }
+
+    /**
+     * calculates the buckets of a series from all data points
+     */
+    private void rebuildSummary(SeriesSummary summary, int count) {
+        Series s = summary.series;
+        summary.clear(count, s.isEmpty() ? 0d : s.getLowestValueX(), s.isEmpty() ? 0d : s.getHighestValueX());
+        if (s.isEmpty()) {
+            return;
+        }
+        Iterator<DataPointInterface> values;
+        if (s instanceof BaseSeries && ((BaseSeries) s).getStorage() instanceof PagedSeriesStorage) {
+            // never load pages
+            values = ((PagedSeriesStorage) ((BaseSeries) s).getStorage()).getCachedValues().iterator();
+        } else {
+            values = s.getValues(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        }
+        while (values.hasNext()) {
+            DataPointInterface dp = values.next();
+            summary.add(dp.getX(), dp.getY());
+        }
+    }
+
+    /**
+     * adds the data points that were appended since the last update
+     */
+    private void extendSummary(SeriesSummary summary) {
+        double lastX = summary.lastX;
+        int skip = summary.lastXCount;
+        Iterator<DataPointInterface> values = summary.series.getValues(lastX, Double.POSITIVE_INFINITY);
+        while (values.hasNext()) {
+            DataPointInterface dp = values.next();
+            double x = dp.getX();
+            if (x < lastX) {
+                continue;
+            }
+            if (x == lastX && skip > 0) {
+                // already in the buckets
+                skip--;
+                continue;
+            }
+            summary.add(x, dp.getY());
+        }
+    }
+
+    /**
+     * draws min/max per pixel column of all series into the bitmap
+     */
+    private void renderSummary() {
+        int width = getWidth();
+        int height = getHeight();
+        if (mSummary == null) {
+            mSummary = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        }
+        mSummary.eraseColor(Color.TRANSPARENT);
+        Canvas canvas = new Canvas(mSummary);
+
+        // complete range of all series, y per scale
+        double minX = Double.NaN, maxX = Double.NaN;
+        double[] minY = {Double.NaN, Double.NaN};
+        double[] maxY = {Double.NaN, Double.NaN};
+        for (SeriesSummary summary : mSeriesSummaries) {
+            Series s = summary.series;
+            if (s.isEmpty()) continue;
+            int scale = summary.secondScale ? 1 : 0;
+            minX = Double.isNaN(minX) ? s.getLowestValueX() : Math.min(minX, s.getLowestValueX());
+            maxX = Double.isNaN(maxX) ? s.getHighestValueX() : Math.max(maxX, s.getHighestValueX());
+            minY[scale] = Double.isNaN(minY[scale]) ? s.getLowestValueY() : Math.min(minY[scale], s.getLowestValueY());
+            maxY[scale] = Double.isNaN(maxY[scale]) ? s.getHighestValueY() : Math.max(maxY[scale], s.getHighestValueY());
+        }
+        if (Double.isNaN(minX)) {
+            mMinX = mMaxX = 0;
+            return;
+        }
+        mMinX = minX;
+        mMaxX = maxX > minX ? maxX : minX + 1;
+
+        if (mColumnMin.length != width) {
+            mColumnMin = new float[width];
+            mColumnMax = new float[width];
+            mColumnFirst = new float[width];
+            mColumnLast = new float[width];
+            mLines = new float[width * 8];
+        }
+
+        mPaint.setStyle(Paint.Style.STROKE);
+        mPaint.setStrokeWidth(mStyles.lineThickness);
+        double pixelPerX = width / (mMaxX - mMinX);
+        for (SeriesSummary summary : mSeriesSummaries) {
+            if (summary.series.isEmpty()) continue;
+            int scale = summary.secondScale ? 1 : 0;
+            double rangeY = maxY[scale] > minY[scale] ? maxY[scale] - minY[scale] : 1;
+            float pixelPerY = (float) ((height - 1) / rangeY);
+            Arrays.fill(mColumnMin, Float.NaN);
+
+            for (int i = 0; i < summary.min.length; i++) {
+                if (Double.isNaN(summary.min[i])) continue;
+                double x = summary.originX + (i + 0.5) * summary.bucketWidth;
+                if (x < mMinX - summary.bucketWidth) {
+                    // removed data
+                    continue;
+                }
+                int column = (int) ((x - mMinX) * pixelPerX);
+                if (column < 0) column = 0;
+                if (column >= width) column = width - 1;
+                float low = height - 1 - (float) (summary.min[i] - minY[scale]) * pixelPerY;
+                float high = height - 1 - (float) (summary.max[i] - minY[scale]) * pixelPerY;
+                if (Float.isNaN(mColumnMin[column])) {
+                    mColumnMin[column] = high;
+                    mColumnMax[column] = low;
+                    mColumnFirst[column] = height - 1 - (float) (summary.first[i] - minY[scale]) * pixelPerY;
+                } else {
+                    if (high < mColumnMin[column]) mColumnMin[column] = high;
+                    if (low > mColumnMax[column]) mColumnMax[column] = low;
+                }
+                mColumnLast[column] = height - 1 - (float) (summary.last[i] - minY[scale]) * pixelPerY;
+            }
+
+            // vertical min/max line per column and a connection to the previous column
+            int n = 0;
+            int previous = -1;
+            for (int c = 0; c < width; c++) {
+                if (Float.isNaN(mColumnMin[c])) continue;
+                if (previous >= 0) {
+                    mLines[n++] = previous;
+                    mLines[n++] = mColumnLast[previous];
+                    mLines[n++] = c;
+                    mLines[n++] = mColumnFirst[c];
+                }
+                mLines[n++] = c;
+                mLines[n++] = mColumnMin[c];
+                mLines[n++] = c;
+                mLines[n++] = mColumnMax[c] + 1;
+                previous = c;
+            }
+            mPaint.setColor(summary.series.getColor());
+            canvas.drawLines(mLines, 0, n, mPaint);
+        }
+    }
+
+    /**
+     * @param color color of the window
+     */
+    public void setWindowColor(int color) {
+        mStyles.windowColor = color;
+        invalidate();
+    }
+
+    /**
+     * @param color color of the window border
+     */
+    public void setWindowBorderColor(int color) {
+        mStyles.windowBorderColor = color;
+        invalidate();
+    }
+
+    /**
+     * @param color color of the area outside of the window
+     */
+    public void setMaskColor(int color) {
+        mStyles.maskColor = color;
+        invalidate();
+    }
+
+    /**
+     * @param thickness thickness of the series lines in pixel
+     */
+    public void setLineThickness(float thickness) {
+        mStyles.lineThickness = thickness;
+        invalidateSummary();
+    }
+}
@@ -0,0 +1,483 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Alternative host for a graph that draws on a
+ * dedicated render thread into a SurfaceView, so
+ * that heavy graphs do not block the UI thread.
+ *
+ * The graph is a normal GraphView that is not attached
+ * to the window. Use {@link #getGraphView()} to set it up.
+ *
+ * Threading: the graph and its series are not thread-safe
+ * and are owned by the render thread while the view is
+ * attached. Touch events are copied and handed over to the
+ * render thread. All changes of the series (e.g. appendData)
+ * and of the viewport have to be done via
+ * {@link #queueEvent(Runnable)}. A change from another
+ * thread that reaches the graph throws an IllegalStateException.
+ * Tasks that are queued while the view is detached, or that
+ * did not run before the detach, are kept and run on the render
+ * thread after the next attach, so a producer should stop while
+ * the view is detached. Touch events that were not handled
+ * before the detach are dropped.
+ * Before the view was attached the first time, the graph
+ * can be set up directly.
+ *
+ * Frames are only rendered when the graph was invalidated,
+ * with at most the target frame rate.
+ *
+ * GraphOverview and ViewportGroup are not supported
+ * for a graph in a GraphSurfaceView.
+ *
+ * @author jjoe64
+ */
+public class GraphSurfaceView extends SurfaceView implements SurfaceHolder.Callback {
+    /**
+     * GraphView that requests a frame from the
+     * surface view instead of invalidating itself
+     */
+    private static final class HostedGraphView extends GraphView {
+        private GraphSurfaceView mHost;
+
+        HostedGraphView(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void invalidate() {
+            if (mHost != null) {
+                mHost.requestRender();
+            }
+        }
+
+        @Override
+        public void postInvalidate() {
+            invalidate();
+        }
+
+        @Override
+        public void postInvalidateOnAnimation() {
+            invalidate();
+        }
+
+        @Override
+        public void onDataChanged(boolean keepLabelsSize, boolean keepViewport) {
+            if (mHost != null) {
+                mHost.checkRenderThread();
+            }
+            super.onDataChanged(keepLabelsSize, keepViewport);
+        }
+
+        /**
+         * draws one frame
+         *
+         * @param canvas canvas of the surface
+         */
+        void drawFrame(Canvas canvas) {
+            computeScroll();
+            drawGraphElements(canvas);
+        }
+    }
+
+    /**
+     * copy of a touch event that is handed
+     * over to the graph on the render thread
+     */
+    private final class TouchEvent implements Runnable {
+        private final MotionEvent mEvent;
+
+        TouchEvent(MotionEvent event) {
+            mEvent = MotionEvent.obtain(event);
+        }
+
+        @Override
+        public void run() {
+            mGraphView.onTouchEvent(mEvent);
+            mEvent.recycle();
+        }
+    }
+
+    /**
+     * the hosted graph
+     */
+    private final HostedGraphView mGraphView;
+
+    /**
+     * thread that handles events and renders the frames
+     */
+    private HandlerThread mRenderThread;
+
+    /**
+     * handler of the render thread
+     */
+    private Handler mRenderHandler;
+
+    /**
+     * tasks that did not run yet. They are run by the render
+     * thread, and are kept while it is not running.
+     */
+    private final ArrayDeque<Runnable> mPendingEvents = new ArrayDeque<Runnable>();
+
+    /**
+     * true if the tasks are already posted
+     */
+    private boolean mEventsPosted;
+
+    /**
+     * guards the surface, so that it is not
+     * destroyed while a frame is rendered
+     */
+    private final Object mSurfaceLock = new Object();
+
+    /**
+     * true between surfaceCreated and surfaceDestroyed
+     */
+    private boolean mSurfaceReady;
+
+    /**
+     * true if the next frame is already posted
+     */
+    private boolean mFramePosted;
+
+    /**
+     * start time of the last frame in ms (uptime)
+     */
+    private long mLastFrameTime;
+
+    /**
+     * minimal time between two frames in ms
+     */
+    private int mFrameInterval = 1000 / 60;
+
+    /**
+     * color that clears the surface before each frame
+     */
+    private int mClearColor = Color.WHITE;
+
+    /**
+     * renders one frame
+     */
+    private final Runnable mFrame = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (GraphSurfaceView.this) {
+                mFramePosted = false;
+            }
+            render();
+        }
+    };
+
+    /**
+     * runs the tasks that were queued until now, one by one, so
+     * that a detach stops after the running task and keeps the others.
+     * Tasks that are queued meanwhile are run after the next frame.
+     */
+    private final Runnable mEvents = new Runnable() {
+        @Override
+        public void run() {
+            int count;
+            synchronized (GraphSurfaceView.this) {
+                count = mPendingEvents.size();
+            }
+            for (int i = 0; i < count; i++) {
+                Runnable r;
+                synchronized (GraphSurfaceView.this) {
+                    if (mRenderHandler == null) {
+                        return;
+                    }
+                    r = mPendingEvents.poll();
+                }
+                r.run();
+            }
+            synchronized (GraphSurfaceView.this) {
+                mEventsPosted = false;
+                postEvents();
+            }
+        }
+    };
+
+    /**
+     * @param context context
+     */
+    public GraphSurfaceView(Context context) {
+        super(context);
+        mGraphView = new HostedGraphView(context);
+        init();
+    }
+
+    /**
+     * @param context context
+     * @param attrs attributes
+     */
+    public GraphSurfaceView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        mGraphView = new HostedGraphView(context);
+        init();
+    }
+
+    /**
+     * @param context context
+     * @param attrs attributes
+     * @param defStyle default style
+     */
+    public GraphSurfaceView(Context context, AttributeSet attrs, int defStyle) {
+        super(context, attrs, defStyle);
+        mGraphView = new HostedGraphView(context);
+        init();
+    }
+
+    /**
+     * initialize the internal objects.
+     */
+    private void init() {
+        mGraphView.mHost = this;
+        getHolder().addCallback(this);
+    }
+
+    /**
+     * @return the hosted graph. After the view was attached
+     * it must only be changed via {@link #queueEvent(Runnable)}.
+     */
+    public GraphView getGraphView() {
+        return mGraphView;
+    }
+
+    /**
+     * runs a task on the render thread before the next frame.
+     * Use this to change the series or the viewport of the graph.
+     * Can be called from any thread.
+     * If the render thread is not running, the task is kept and
+     * run on the render thread after the next attach.
+     *
+     * @param r the task
+     */
+    public void queueEvent(Runnable r) {
+        synchronized (this) {
+            mPendingEvents.add(r);
+            postEvents();
+        }
+    }
+
+    /**
+     * posts the queued tasks to the render thread
+     * if it is running. Must be called in the lock.
+     */
+    private void postEvents() {
+        if (!mEventsPosted && mRenderHandler != null && !mPendingEvents.isEmpty()) {
+            mEventsPosted = true;
+            mRenderHandler.post(mEvents);
+        }
+    }
+
+    /**
+     * throws if the graph is changed from another thread
+     * than the render thread while the view is attached
+     */
+    void checkRenderThread() {
+        Handler handler;
+        synchronized (this) {
+            handler = mRenderHandler;
+        }
+        if (handler != null && Looper.myLooper() != handler.getLooper()) {
+            throw new IllegalStateException("The graph of a GraphSurfaceView must only be changed via queueEvent");
+        }
+    }
+
+    /**
+     * requests a new frame. It will be rendered
+     * on the render thread, with at most the
+     * target frame rate.
+     * Can be called from any thread.
+     */
+    public void requestRender() {
+        synchronized (this) {
+            if (mFramePosted || mRenderHandler == null) {
+                return;
+            }
+            mFramePosted = true;
+            long delay = mLastFrameTime + mFrameInterval - SystemClock.uptimeMillis();
+            mRenderHandler.postDelayed(mFrame, Math.max(0, delay));
+        }
+    }
+
+    /**
+     * @param fps the maximal number of frames per second,
+     *            default is 60
+     */
+    public void setTargetFrameRate(int fps) {
+        mFrameInterval = 1000 / Math.max(1, fps);
+    }
+
+    /**
+     * @return the maximal number of frames per second
+     */
+    public int getTargetFrameRate() {
+        return 1000 / mFrameInterval;
+    }
+
+    /**
+     * @param color color that clears the surface before
+     *              each frame, default is white
+     */
+    public void setClearColor(int color) {
+        mClearColor = color;
+        requestRender();
+    }
+
+    /**
+     * @return color that clears the surface before each frame
+     */
+    public int getClearColor() {
+        return mClearColor;
+    }
+
+    /**
+     * renders a frame on the render thread
+     */
+    private void render() {
+        synchronized (mSurfaceLock) {
+            if (!mSurfaceReady) {
+                return;
+            }
+            mLastFrameTime = SystemClock.uptimeMillis();
+            SurfaceHolder holder = getHolder();
+            Canvas canvas = holder.lockCanvas();
+            if (canvas == null) {
+                return;
+            }
+            try {
+                canvas.drawColor(mClearColor);
+                mGraphView.drawFrame(canvas);
+            } finally {
+                holder.unlockCanvasAndPost(canvas);
+            }
+        }
+    }
+
+    /**
+     * starts the render thread and runs the
+     * tasks that were queued while detached
+     */
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        synchronized (this) {
+            if (mRenderThread == null) {
+                mRenderThread = new HandlerThread("GraphSurfaceView");
+                mRenderThread.start();
+                mRenderHandler = new Handler(mRenderThread.getLooper());
+                postEvents();
+            }
+        }
+    }
+
+    /**
+     * stops the render thread and waits until
+     * a running frame or task is finished.
+     * The tasks that did not run are kept, except
+     * the touch events.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        HandlerThread thread;
+        synchronized (this) {
+            thread = mRenderThread;
+            mRenderThread = null;
+            mRenderHandler = null;
+            mFramePosted = false;
+            mEventsPosted = false;
+        }
+        if (thread != null) {
+            thread.quit();
+            // not in the lock, the render thread may call requestRender
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            Iterator<Runnable> it = mPendingEvents.iterator();
+            while (it.hasNext()) {
+                Runnable r = it.next();
+                if (r instanceof TouchEvent) {
+                    ((TouchEvent) r).mEvent.recycle();
+                    it.remove();
+                }
+            }
+        }
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * copies the event and hands it over to
+     * the graph on the render thread.
+     *
+     * @param event event
+     * @return always true
+     */
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        queueEvent(new TouchEvent(event));
+        return true;
+    }
+
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        synchronized (mSurfaceLock) {
+            mSurfaceReady = true;
+        }
+        requestRender();
+    }
+
+    @Override
+    public void surfaceChanged(SurfaceHolder holder, int format, final int width, final int height) {
+        queueEvent(new Runnable() {
+            @Override
+            public void run() {
+                // will call onSizeChanged and recalculate the labels
+                mGraphView.layout(0, 0, width, height);
+                requestRender();
+            }
+        });
+    }
+
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        // waits until a running frame is finished
+        synchronized (mSurfaceLock) {
+            mSurfaceReady = false;
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package com.jjoe64.graphview;
 
+import android.content.ContentValues;
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Bitmap;
@@ -24,6 +25,8 @@ import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.PointF;
 import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
 import android.provider.MediaStore;
 import android.util.AttributeSet;
 import android.util.Log;
@@ -31,11 +34,16 @@ import android.view.MotionEvent;
 import android.view.View;
 
 import com.jjoe64.graphview.series.BaseSeries;
+import com.jjoe64.graphview.series.RenderStats;
 import com.jjoe64.graphview.series.Series;
 
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * @author jjoe64
@@ -106,6 +114,28 @@ public class GraphView extends View {
         }
     }
 
+    /**
+     * listener for {@link #takeSnapshotAsync(Context, String, Bitmap.CompressFormat, int, OnSnapshotListener)}
+     *
+     * @author jjoe64
+     */
+    public interface OnSnapshotListener {
+        /**
+         * called on the main thread when the snapshot is stored
+         *
+         * @param uri uri of the image in the MediaStore
+         */
+        void onSnapshotSaved(Uri uri);
+
+        /**
+         * called on the main thread when the snapshot
+         * could not be stored
+         *
+         * @param e the error
+         */
+        void onSnapshotFailed(Exception e);
+    }
+
     /**
      * our series (this does not contain the series
      * that can be displayed on the right side. The
@@ -141,6 +171,13 @@ public class GraphView extends View {
      */
     protected SecondScale mSecondScale;
 
+    /**
+     * overview that shows the visible range, or null
+     *
+     * @see GraphOverview
+     */
+    GraphOverview mOverview;
+
     /**
      * tap detector
      */
@@ -165,6 +202,35 @@ public class GraphView extends View {
 
     private CursorMode mCursorMode;
 
+    /**
+     * bitmap of the last async snapshot, will be reused
+     */
+    private Bitmap mSnapshotBitmap;
+
+    /**
+     * true between onDetachedFromWindow and the next attach,
+     * the snapshot bitmap is not kept while detached
+     */
+    private boolean mDetached;
+
+    /**
+     * executor to compress and store snapshots
+     */
+    private static Executor sSnapshotExecutor;
+
+    /**
+     * whether the warning about the missing hardware
+     * acceleration was already logged
+     */
+    private boolean mSoftwareRenderingWarned;
+
+    /**
+     * measures the rendering, or null
+     *
+     * @see RenderMetrics
+     */
+    private RenderMetrics mRenderMetrics;
+
     /**
      * Initialize the GraphView view
      * @param context
@@ -279,13 +345,27 @@ public class GraphView extends View {
      *                     performance.
      */
     public void onDataChanged(boolean keepLabelsSize, boolean keepViewport) {
+        RenderMetrics metrics = mRenderMetrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+
         // adjustSteps grid system
         mViewport.calcCompleteRange();
         if (mSecondScale != null) {
             mSecondScale.calcCompleteRange();
         }
+
+        if (metrics != null) {
+            metrics.lap(RenderMetrics.Phase.COMPLETE_RANGE, start);
+            metrics.addCacheResult(RenderMetrics.Cache.RANGE, mViewport.mSeriesRange.mHits, mViewport.mSeriesRange.mMisses);
+            if (mSecondScale != null) {
+                metrics.addCacheResult(RenderMetrics.Cache.RANGE, mSecondScale.mSeriesRange.mHits, mSecondScale.mSeriesRange.mMisses);
+            }
+        }
         mGridLabelRenderer.invalidate(keepLabelsSize, keepViewport);
         postInvalidate();
+        if (mOverview != null) {
+            mOverview.postInvalidate();
+        }
     }
 
     /**
@@ -295,31 +375,64 @@ public class GraphView extends View {
      */
     protected void drawGraphElements(Canvas canvas) {
         // must be in hardware accelerated mode
-        if (android.os.Build.VERSION.SDK_INT >= 11 && !canvas.isHardwareAccelerated()) {
-            // just warn about it, because it is ok when making a snapshot
+        if (android.os.Build.VERSION.SDK_INT >= 11 && !canvas.isHardwareAccelerated() && !mSoftwareRenderingWarned) {
+            // just warn about it once, because it is ok when making a snapshot
+            // or when drawing into a surface
+            mSoftwareRenderingWarned = true;
             Log.w("GraphView", "GraphView should be used in hardware accelerated mode." +
                     "You can use android:hardwareAccelerated=\"true\" on your activity. Read this for more info:" +
                     "https://developer.android.com/guide/topics/graphics/hardware-accel.html");
         }
 
-        drawTitle(canvas);
-        mViewport.drawFirst(canvas);
-        mGridLabelRenderer.draw(canvas);
-        for (Series s : mSeries) {
-            s.draw(this, canvas, false);
-        }
-        if (mSecondScale != null) {
-            for (Series s : mSecondScale.getSeries()) {
-                s.draw(this, canvas, true);
+        RenderMetrics metrics = mRenderMetrics;
+        long frameStart = metrics != null ? metrics.beginFrame() : 0;
+        try {
+            drawTitle(canvas);
+            mViewport.drawFirst(canvas);
+            long t = metrics != null ? metrics.lap(RenderMetrics.Phase.VIEWPORT, frameStart) : 0;
+            mGridLabelRenderer.draw(canvas);
+            if (metrics != null) {
+                t = metrics.lap(RenderMetrics.Phase.GRID, t);
+            }
+            for (Series s : mSeries) {
+                s.draw(this, canvas, false);
+                if (metrics != null) {
+                    t = metrics.lapSeries(this, s, t);
+                }
+            }
+            if (mSecondScale != null) {
+                for (Series s : mSecondScale.getSeries()) {
+                    s.draw(this, canvas, true);
+                    if (metrics != null) {
+                        t = metrics.lapSeries(this, s, t);
+                    }
+                }
             }
-        }
 
-        if (mCursorMode != null) {
-            mCursorMode.draw(canvas);
+            if (mCursorMode != null) {
+                mCursorMode.draw(canvas);
+                if (metrics != null) {
+                    t = metrics.lap(RenderMetrics.Phase.CURSOR, t);
+                }
+            }
+
+            mViewport.draw(canvas);
+            if (metrics != null) {
+                t = metrics.lap(RenderMetrics.Phase.VIEWPORT, t);
+            }
+            mLegendRenderer.draw(canvas);
+            if (metrics != null) {
+                metrics.lap(RenderMetrics.Phase.LEGEND, t);
+            }
+        } finally {
+            if (metrics != null) {
+                metrics.endFrame(this, canvas, frameStart);
+            }
         }
 
-        mViewport.draw(canvas);
-        mLegendRenderer.draw(canvas);
+        if (mOverview != null) {
+            mOverview.onGraphViewDrawn();
+        }
     }
 
     /**
@@ -451,11 +564,11 @@ public class GraphView extends View {
         // is it a click?
         if (mTapDetector.onTouchEvent(event)) {
             for (Series s : mSeries) {
-                s.onTap(event.getX(), event.getY());
+                onSeriesTap(s, event.getX(), event.getY());
             }
             if (mSecondScale != null) {
                 for (Series s : mSecondScale.getSeries()) {
-                    s.onTap(event.getX(), event.getY());
+                    onSeriesTap(s, event.getX(), event.getY());
                 }
             }
         }
@@ -463,6 +576,18 @@ public class GraphView extends View {
         return b || a;
     }
 
+    /**
+     * forwards a tap to the series, with this graphview
+     * if the series keeps state per view
+     */
+    private void onSeriesTap(Series series, float x, float y) {
+        if (series instanceof BaseSeries) {
+            ((BaseSeries) series).onTap(this, x, y);
+        } else {
+            series.onTap(x, y);
+        }
+    }
+
     /**
      *
      */
@@ -596,7 +721,25 @@ public class GraphView extends View {
      * @return snapshot of graph
      */
     public Bitmap takeSnapshot() {
-        Bitmap bitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+        return takeSnapshot(null);
+    }
+
+    /**
+     * takes a snapshot into an existing bitmap if it
+     * has the size of the graph, otherwise into a new one.
+     *
+     * @param reuse bitmap to reuse, or null
+     * @return snapshot of graph
+     */
+    public Bitmap takeSnapshot(Bitmap reuse) {
+        Bitmap bitmap;
+        if (reuse != null && !reuse.isRecycled() && reuse.isMutable()
+                && reuse.getWidth() == getWidth() && reuse.getHeight() == getHeight()) {
+            bitmap = reuse;
+            bitmap.eraseColor(Color.TRANSPARENT);
+        } else {
+            bitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
+        }
         Canvas canvas = new Canvas(bitmap);
         draw(canvas);
         return bitmap;
@@ -609,21 +752,26 @@ public class GraphView extends View {
      * @param context
      * @param imageName
      * @param title
+     * @see #takeSnapshotAndShareAsync(Context, String, String, Bitmap.CompressFormat, int)
      */
     public void takeSnapshotAndShare(Context context, String imageName, String title) {
-        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
         Bitmap inImage = takeSnapshot();
-        inImage.compress(Bitmap.CompressFormat.JPEG, 100, bytes);
 
         String path = MediaStore.Images.Media.insertImage(context.getContentResolver(), inImage, imageName, null);
         if (path == null) {
             // most likely a security problem
             throw new SecurityException("Could not get path from MediaStore. Please check permissions.");
         }
+        share(context, Uri.parse(path), title);
+    }
 
+    /**
+     * opens the share dialog for an image
+     */
+    private static void share(Context context, Uri uri, String title) {
         Intent i = new Intent(Intent.ACTION_SEND);
         i.setType("image/*");
-        i.putExtra(Intent.EXTRA_STREAM, Uri.parse(path));
+        i.putExtra(Intent.EXTRA_STREAM, uri);
         try {
             context.startActivity(Intent.createChooser(i, title));
         } catch (android.content.ActivityNotFoundException ex) {
@@ -631,6 +779,178 @@ public class GraphView extends View {
         }
     }
 
+    /**
+     * takes a snapshot and stores it in the MediaStore in
+     * the background. The graph is drawn on the calling (UI)
+     * thread, compressing and storing is done by the snapshot
+     * executor. The listener is called on the main thread.
+     * The bitmap is reused for the next snapshot.
+     * Notice that you need the permission android.permission.WRITE_EXTERNAL_STORAGE
+     *
+     * @param context context
+     * @param imageName name of the image
+     * @param format JPEG, PNG or WEBP
+     * @param quality quality 0-100, ignored for PNG
+     * @param listener listener that gets the uri of the image, or null
+     */
+    public void takeSnapshotAsync(Context context, final String imageName, final Bitmap.CompressFormat format,
+                                  final int quality, final OnSnapshotListener listener) {
+        Bitmap reuse = mSnapshotBitmap;
+        mSnapshotBitmap = null;
+        final Bitmap bitmap = takeSnapshot(reuse);
+        final android.content.ContentResolver resolver = context.getApplicationContext().getContentResolver();
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        getSnapshotExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                Uri uri = null;
+                Exception error = null;
+                try {
+                    uri = saveSnapshot(resolver, bitmap, imageName, format, quality);
+                } catch (Exception e) {
+                    error = e;
+                }
+
+                final Uri result = uri;
+                final Exception failure = error;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mSnapshotBitmap == null && !mDetached) {
+                            mSnapshotBitmap = bitmap;
+                        }
+                        if (listener != null) {
+                            if (failure != null) {
+                                listener.onSnapshotFailed(failure);
+                            } else {
+                                listener.onSnapshotSaved(result);
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * takes a snapshot, stores it in the background and
+     * open the share dialog when it is stored.
+     * Notice that you need the permission android.permission.WRITE_EXTERNAL_STORAGE
+     *
+     * @param context context to start the share dialog
+     * @param imageName name of the image
+     * @param title title of the share dialog
+     * @param format JPEG, PNG or WEBP
+     * @param quality quality 0-100, ignored for PNG
+     */
+    public void takeSnapshotAndShareAsync(final Context context, String imageName, final String title,
+                                          Bitmap.CompressFormat format, int quality) {
+        takeSnapshotAsync(context, imageName, format, quality, new OnSnapshotListener() {
+            @Override
+            public void onSnapshotSaved(Uri uri) {
+                share(context, uri, title);
+            }
+
+            @Override
+            public void onSnapshotFailed(Exception e) {
+                Log.e("GraphView", "Could not store snapshot", e);
+            }
+        });
+    }
+
+    /**
+     * compresses the bitmap directly into a new MediaStore entry
+     *
+     * @return uri of the image
+     */
+    private static Uri saveSnapshot(android.content.ContentResolver resolver, Bitmap bitmap, String imageName,
+                                    Bitmap.CompressFormat format, int quality) throws IOException {
+        String mimeType;
+        if (format == Bitmap.CompressFormat.JPEG) {
+            mimeType = "image/jpeg";
+        } else if (format == Bitmap.CompressFormat.PNG) {
+            mimeType = "image/png";
+        } else {
+            mimeType = "image/webp";
+        }
+        ContentValues values = new ContentValues();
+        values.put(MediaStore.Images.Media.TITLE, imageName);
+        values.put(MediaStore.Images.Media.DISPLAY_NAME, imageName);
+        values.put(MediaStore.Images.Media.MIME_TYPE, mimeType);
+        Uri uri = resolver.insert(MediaStore.Images.Media.EXTERNAL_CONTENT_URI, values);
+        if (uri == null) {
+            // most likely a security problem
+            throw new SecurityException("Could not get path from MediaStore. Please check permissions.");
+        }
+
+        try {
+            OutputStream out = resolver.openOutputStream(uri);
+            try {
+                if (out == null || !bitmap.compress(format, quality, out)) {
+                    throw new IOException("Could not write snapshot to " + uri);
+                }
+            } finally {
+                if (out != null) {
+                    out.close();
+                }
+            }
+        } catch (Exception e) {
+            // don't leave an empty entry in the MediaStore
+            resolver.delete(uri, null, null);
+            throw e;
+        }
+        return uri;
+    }
+
+    /**
+     * @return the executor for compressing and storing snapshots,
+     *          by default a single daemon thread
+     */
+    private static synchronized Executor getSnapshotExecutor() {
+        if (sSnapshotExecutor == null) {
+            sSnapshotExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    // must not keep the process alive
+                    Thread thread = new Thread(runnable, "GraphView-snapshot");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sSnapshotExecutor;
+    }
+
+    /**
+     * use a specific executor to compress and store snapshots,
+     * by default a single background thread is used.
+     *
+     * @param executor the executor
+     */
+    public static synchronized void setSnapshotExecutor(Executor executor) {
+        sSnapshotExecutor = executor;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mDetached = false;
+    }
+
+    /**
+     * releases the bitmap that is reused for snapshots
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        mDetached = true;
+        if (mSnapshotBitmap != null) {
+            mSnapshotBitmap.recycle();
+            mSnapshotBitmap = null;
+        }
+    }
+
     public void setCursorMode(boolean b) {
         mIsCursorMode = b;
         if (mIsCursorMode) {
@@ -655,4 +975,47 @@ public class GraphView extends View {
     public boolean isCursorMode() {
         return mIsCursorMode;
     }
+
+    /**
+     * measures the time of each phase of the rendering,
+     * the points of the series and the draw calls.
+     * Without metrics nothing is measured.
+     *
+     * @param metrics the metrics or null to disable the measuring
+     */
+    public void setRenderMetrics(RenderMetrics metrics) {
+        mRenderMetrics = metrics;
+        invalidate();
+    }
+
+    /**
+     * @return the metrics of the rendering or null
+     */
+    public RenderMetrics getRenderMetrics() {
+        return mRenderMetrics;
+    }
+
+    /**
+     * sums up the counters of the last rendering of all
+     * series, including the series of the second scale.
+     * Only series that extend {@link BaseSeries} are counted.
+     *
+     * @return new stats with the sum of all series
+     */
+    public RenderStats getRenderStats() {
+        RenderStats sum = new RenderStats();
+        for (Series s : mSeries) {
+            if (s instanceof BaseSeries) {
+                sum.add(((BaseSeries) s).getRenderStats(this));
+            }
+        }
+        if (mSecondScale != null) {
+            for (Series s : mSecondScale.getSeries()) {
+                if (s instanceof BaseSeries) {
+                    sum.add(((BaseSeries) s).getRenderStats(this));
+                }
+            }
+        }
+        return sum;
+    }
 }
@@ -208,6 +208,12 @@ public class GridLabelRenderer {
      */
     private Map<Integer, Double> mStepsVertical;
 
+    /**
+     * reused buffer for the values of the vertical steps
+     * while a viewport animation
+     */
+    private double[] mStepsVerticalValues;
+
     /**
      * cache of the vertical steps for the
      * second scale, which is on the right side
@@ -968,6 +974,116 @@ public class GridLabelRenderer {
         return true;
     }
 
+    /**
+     * recalculates only the horizontal steps after the
+     * x bounds of the viewport were changed,
+     * e.g. while scrolling, a fling or a viewport animation.
+     * The vertical steps and the label sizes are kept.
+     *
+     * @return false if a complete adjustment is needed
+     */
+    protected boolean adjustHorizontalOnScroll() {
+        return adjustOnScroll(false, null);
+    }
+
+    /**
+     * recalculates the steps after the x bounds of the
+     * viewport were changed and the y bounds were set to the
+     * range of the visible data.
+     * The label sizes are kept.
+     *
+     * @param verticalChanged true if the y bounds changed
+     * @param source renderer of a graph with the same x range,
+     *               its horizontal steps are reused if possible.
+     *               Can be null.
+     * @return false if a complete adjustment is needed
+     */
+    protected boolean adjustOnScroll(boolean verticalChanged, GridLabelRenderer source) {
+        if (!mIsAdjusted || !Viewport.AxisBoundsStatus.FIX.equals(mGraphView.getViewport().mXAxisBoundsStatus)) {
+            return false;
+        }
+        if (verticalChanged) {
+            mIsAdjusted = adjustVertical(!Viewport.AxisBoundsStatus.FIX.equals(mGraphView.getViewport().mYAxisBoundsStatus));
+            if (!mIsAdjusted) {
+                return false;
+            }
+        }
+        if (source != null && adjustHorizontalFrom(source)) {
+            return true;
+        }
+        mIsAdjusted = adjustHorizontal(false);
+        return mIsAdjusted;
+    }
+
+    /**
+     * moves the vertical steps to the current y bounds
+     * while a viewport animation.
+     * The steps are only recalculated when a step crosses
+     * the y bounds, otherwise the values of the steps are
+     * kept and only their positions are updated.
+     *
+     * @return false if a complete adjustment is needed
+     */
+    protected boolean adjustVerticalOnAnimation() {
+        if (!mIsAdjusted || mStepsVertical == null || mStepsVertical.size() < 2) {
+            return false;
+        }
+        int count = mStepsVertical.size();
+        if (mStepsVerticalValues == null || mStepsVerticalValues.length < count) {
+            mStepsVerticalValues = new double[count];
+        }
+        int i = 0;
+        for (Double v : mStepsVertical.values()) {
+            mStepsVerticalValues[i++] = v;
+        }
+        double first = mStepsVerticalValues[0];
+        double last = mStepsVerticalValues[count - 1];
+        double step = mStepsVerticalValues[1] - first;
+
+        RectD viewport = mGraphView.getViewport().mCurrentViewport;
+        if (step <= 0 || first < viewport.bottom || last > viewport.top
+                || first - step >= viewport.bottom || last + step <= viewport.top) {
+            // a step crossed the bounds
+            mIsAdjusted = adjustVertical(!Viewport.AxisBoundsStatus.FIX.equals(mGraphView.getViewport().mYAxisBoundsStatus));
+            return mIsAdjusted;
+        }
+
+        double pixelPerData = mGraphView.getGraphContentHeight() / viewport.height() * -1;
+        mStepsVertical.clear();
+        for (i = 0; i < count; i++) {
+            double v = mStepsVerticalValues[i];
+            mStepsVertical.put((int) ((v - viewport.bottom) * pixelPerData), v);
+        }
+        return true;
+    }
+
+    /**
+     * takes over the horizontal steps of another graph
+     * with the same x range, e.g. in a {@link ViewportGroup}.
+     * This is only possible if the content width and the
+     * label settings are the same.
+     *
+     * @param source renderer of the other graph
+     * @return false if the steps have to be calculated
+     */
+    protected boolean adjustHorizontalFrom(GridLabelRenderer source) {
+        if (!mIsAdjusted || !source.mIsAdjusted || source.mStepsHorizontal == null
+                || !Viewport.AxisBoundsStatus.FIX.equals(mGraphView.getViewport().mXAxisBoundsStatus)
+                || source.mGraphView.getGraphContentWidth() != mGraphView.getGraphContentWidth()
+                || source.mNumHorizontalLabels != mNumHorizontalLabels
+                || source.isHumanRoundingX() != isHumanRoundingX()
+                || source.mGraphView.getViewport().getReferenceX() != mGraphView.getViewport().getReferenceX()) {
+            return false;
+        }
+        if (mStepsHorizontal != null) {
+            mStepsHorizontal.clear();
+            mStepsHorizontal.putAll(source.mStepsHorizontal);
+        } else {
+            mStepsHorizontal = new LinkedHashMap<>(source.mStepsHorizontal);
+        }
+        return true;
+    }
+
     /**
      * adjusts the grid and labels to match to the data
      * this will automatically change the bounds to
@@ -1090,6 +1206,9 @@ public class GridLabelRenderer {
      * @param canvas canvas
      */
     public void draw(Canvas canvas) {
+        RenderMetrics metrics = mGraphView.getRenderMetrics();
+        long start = metrics != null ? System.nanoTime() : 0;
+
         boolean labelSizeChanged = false;
         if (mLabelHorizontalWidth == null) {
             calcLabelHorizontalSize(canvas);
@@ -1103,6 +1222,12 @@ public class GridLabelRenderer {
             calcLabelVerticalSecondScaleSize(canvas);
             labelSizeChanged = true;
         }
+        if (metrics != null) {
+            metrics.addCacheResult(RenderMetrics.Cache.LABEL_SIZE, labelSizeChanged ? 0 : 1, labelSizeChanged ? 1 : 0);
+            if (labelSizeChanged) {
+                start = metrics.lap(RenderMetrics.Phase.LABEL_MEASURE, start);
+            }
+        }
         if (labelSizeChanged) {
             // redraw directly
             mGraphView.drawGraphElements(canvas);
@@ -1111,6 +1236,9 @@ public class GridLabelRenderer {
 
         if (!mIsAdjusted) {
             adjustSteps();
+            if (metrics != null) {
+                metrics.lap(RenderMetrics.Phase.ADJUST_STEPS, start);
+            }
         }
 
         if (mIsAdjusted) {
@@ -1394,6 +1522,18 @@ public class GridLabelRenderer {
      * @return the rounded number
      */
     protected double humanRound(double in, boolean roundAlwaysUp) {
+        return roundToHumanSteps(in, roundAlwaysUp);
+    }
+
+    /**
+     * implementation of {@link #humanRound(double, boolean)},
+     * does not need a graph.
+     *
+     * @param in the raw value that is to be rounded
+     * @param roundAlwaysUp true if it shall always round up (ceil)
+     * @return the rounded number
+     */
+    static double roundToHumanSteps(double in, boolean roundAlwaysUp) {
         // round-up to 1-steps, 2-steps or 5-steps
         int ten = 0;
         while (Math.abs(in) >= 10d) {
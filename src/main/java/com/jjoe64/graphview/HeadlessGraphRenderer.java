@@ -0,0 +1,322 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+
+import com.jjoe64.graphview.series.Series;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Renders graphs into bitmaps without a view on the
+ * screen, e.g. to generate thumbnails for reports
+ * in a background job.
+ *
+ * Each rendering uses a new GraphView that is never
+ * attached to a window. It is set up by a {@link Setup}
+ * (series, viewport, styles), laid out with the target
+ * size and drawn on the calling thread.
+ * Can be used from any thread and in parallel, see
+ * {@link #submit(Setup, int, int)}.
+ *
+ * The series reuse buffers and paints while drawing, so
+ * one series must not be drawn by two threads at the same
+ * time. Renderings of this renderer that use the same series
+ * are therefore run one after the other. A series that is
+ * shown on the screen at the same time must not be used,
+ * create new series in the {@link Setup} instead.
+ *
+ * Bitmaps that are not used anymore can be given back
+ * via {@link #release(Bitmap)}, they will be reused for
+ * the next renderings with the same size.
+ *
+ * @author jjoe64
+ */
+public class HeadlessGraphRenderer {
+    /**
+     * sets up the graph for one rendering
+     */
+    public interface Setup {
+        /**
+         * add the series and set the viewport and
+         * styles of the graph.
+         * Will be called on the rendering thread.
+         *
+         * @param graphView a new graph that is not attached to a window
+         */
+        void setup(GraphView graphView);
+    }
+
+    /**
+     * context for the graphs
+     */
+    private final Context mContext;
+
+    /**
+     * color that clears the bitmap before rendering
+     */
+    private int mBackgroundColor = Color.WHITE;
+
+    /**
+     * bitmaps that can be reused
+     */
+    private final ArrayDeque<Bitmap> mPool = new ArrayDeque<Bitmap>();
+
+    /**
+     * max number of bitmaps in the pool
+     */
+    private int mMaxPoolSize = 8;
+
+    /**
+     * series that are drawn at the moment
+     */
+    private final Set<Series> mSeriesInUse = Collections.newSetFromMap(new IdentityHashMap<Series, Boolean>());
+
+    /**
+     * workers for parallel rendering
+     */
+    private ExecutorService mExecutor;
+
+    /**
+     * true if the executor was created here
+     * and has to be shut down
+     */
+    private boolean mOwnsExecutor;
+
+    /**
+     * @param context context, the application context will be used
+     */
+    public HeadlessGraphRenderer(Context context) {
+        mContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+    }
+
+    /**
+     * renders a graph into a bitmap.
+     * The bitmap is taken from the pool when possible.
+     *
+     * @param setup sets up the graph
+     * @param width width in pixel
+     * @param height height in pixel
+     * @return the bitmap
+     */
+    public Bitmap render(Setup setup, int width, int height) {
+        Bitmap bitmap = obtainBitmap(width, height);
+        bitmap.eraseColor(mBackgroundColor);
+        render(setup, new Canvas(bitmap), width, height);
+        return bitmap;
+    }
+
+    /**
+     * renders a graph into a canvas.
+     * The canvas is not cleared.
+     * Waits while another rendering uses one of the series.
+     *
+     * @param setup sets up the graph
+     * @param canvas the canvas
+     * @param width width in pixel
+     * @param height height in pixel
+     */
+    public void render(Setup setup, Canvas canvas, int width, int height) {
+        GraphView graphView = new GraphView(mContext);
+        setup.setup(graphView);
+        List<Series> series = new ArrayList<Series>(graphView.getSeries());
+        if (graphView.mSecondScale != null) {
+            series.addAll(graphView.mSecondScale.getSeries());
+        }
+        acquireSeries(series);
+        try {
+            // will call onSizeChanged and recalculate the labels
+            graphView.layout(0, 0, width, height);
+            graphView.drawGraphElements(canvas);
+        } finally {
+            // the series may be used for other renderings
+            for (Series s : series) {
+                s.clearReference(graphView);
+            }
+            releaseSeries(series);
+        }
+    }
+
+    /**
+     * marks the series as drawn. Waits until no other
+     * rendering uses one of them, all series are taken
+     * at once to avoid deadlocks.
+     *
+     * @param series the series of the graph
+     */
+    private void acquireSeries(List<Series> series) {
+        synchronized (mSeriesInUse) {
+            while (!Collections.disjoint(mSeriesInUse, series)) {
+                try {
+                    mSeriesInUse.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a series of another rendering", e);
+                }
+            }
+            mSeriesInUse.addAll(series);
+        }
+    }
+
+    /**
+     * @param series the series that are not drawn anymore
+     */
+    private void releaseSeries(List<Series> series) {
+        synchronized (mSeriesInUse) {
+            mSeriesInUse.removeAll(series);
+            mSeriesInUse.notifyAll();
+        }
+    }
+
+    /**
+     * renders a graph on a worker thread.
+     * The number of workers is the number of
+     * processors, unless an executor was set.
+     *
+     * @param setup sets up the graph
+     * @param width width in pixel
+     * @param height height in pixel
+     * @return the future bitmap
+     */
+    public Future<Bitmap> submit(final Setup setup, final int width, final int height) {
+        return getExecutor().submit(new Callable<Bitmap>() {
+            @Override
+            public Bitmap call() {
+                return render(setup, width, height);
+            }
+        });
+    }
+
+    /**
+     * gives back a bitmap that is not used anymore,
+     * so that it can be reused for the next rendering.
+     *
+     * @param bitmap the bitmap
+     */
+    public void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        synchronized (mPool) {
+            if (mPool.size() < mMaxPoolSize) {
+                mPool.add(bitmap);
+                return;
+            }
+        }
+        bitmap.recycle();
+    }
+
+    /**
+     * @param width width in pixel
+     * @param height height in pixel
+     * @return a bitmap from the pool or a new one
+     */
+    private Bitmap obtainBitmap(int width, int height) {
+        synchronized (mPool) {
+            Iterator<Bitmap> it = mPool.iterator();
+            while (it.hasNext()) {
+                Bitmap bitmap = it.next();
+                if (bitmap.getWidth() == width && bitmap.getHeight() == height) {
+                    it.remove();
+                    return bitmap;
+                }
+            }
+        }
+        return Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * @return the executor for the parallel rendering
+     */
+    private synchronized ExecutorService getExecutor() {
+        if (mExecutor == null) {
+            mExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            mOwnsExecutor = true;
+        }
+        return mExecutor;
+    }
+
+    /**
+     * use a specific executor for {@link #submit(Setup, int, int)}.
+     * It will not be shut down by {@link #shutdown()}.
+     *
+     * @param executor the executor
+     */
+    public synchronized void setExecutor(ExecutorService executor) {
+        if (mOwnsExecutor) {
+            mExecutor.shutdown();
+        }
+        mExecutor = executor;
+        mOwnsExecutor = false;
+    }
+
+    /**
+     * @param color color that clears the bitmaps before
+     *              rendering, default is white
+     */
+    public void setBackgroundColor(int color) {
+        mBackgroundColor = color;
+    }
+
+    /**
+     * @return color that clears the bitmaps before rendering
+     */
+    public int getBackgroundColor() {
+        return mBackgroundColor;
+    }
+
+    /**
+     * @param maxPoolSize max number of bitmaps that are kept for reuse,
+     *                    default is 8
+     */
+    public void setMaxPoolSize(int maxPoolSize) {
+        mMaxPoolSize = maxPoolSize;
+    }
+
+    /**
+     * stops the workers and recycles the pooled bitmaps
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (mOwnsExecutor) {
+                mExecutor.shutdown();
+            }
+            mExecutor = null;
+            mOwnsExecutor = false;
+        }
+        synchronized (mPool) {
+            for (Bitmap bitmap : mPool) {
+                bitmap.recycle();
+            }
+            mPool.clear();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Path that also keeps its lines and rects, so that
+ * a {@link SvgCanvas} can write it on Android versions
+ * that can not read paths (before Android 8).
+ *
+ * The operations are only kept while recording, see
+ * {@link #setRecordingFor(Canvas)}. Curves, circles and
+ * transformations are not recorded, such a path is
+ * skipped by the SvgCanvas.
+ *
+ * @author jjoe64
+ */
+public class RecordingPath extends Path {
+    static final byte OP_MOVE = 0;
+    static final byte OP_LINE = 1;
+    static final byte OP_CLOSE = 2;
+
+    /**
+     * true if the operations are kept
+     */
+    private boolean mRecording;
+
+    /**
+     * false if an operation was used that can not be recorded
+     */
+    private boolean mComplete = true;
+
+    /**
+     * the operations and their x/y coordinates
+     */
+    byte[] mOps = new byte[0];
+    int mOpCount;
+    float[] mCoords = new float[0];
+    int mCoordCount;
+
+    /**
+     * starts recording if the canvas can not read paths,
+     * e.g. a {@link SvgCanvas} before Android 8.
+     * Call it before the path is built.
+     *
+     * @param canvas the canvas the path will be drawn on
+     */
+    public void setRecordingFor(Canvas canvas) {
+        setRecording(SvgCanvas.needsRecordedPaths(canvas));
+    }
+
+    /**
+     * @param recording true to keep the operations
+     */
+    public void setRecording(boolean recording) {
+        if (mRecording && !recording) {
+            mOps = new byte[0];
+            mCoords = new float[0];
+        }
+        mRecording = recording;
+        clearRecording();
+    }
+
+    /**
+     * @return true if the path was recorded completely
+     */
+    public boolean isRecorded() {
+        return mRecording && mComplete;
+    }
+
+    private void clearRecording() {
+        mOpCount = 0;
+        mCoordCount = 0;
+        mComplete = true;
+    }
+
+    private void record(byte op, float x, float y) {
+        if (!mRecording) {
+            return;
+        }
+        if (mOpCount == mOps.length) {
+            byte[] ops = new byte[Math.max(16, mOps.length * 2)];
+            System.arraycopy(mOps, 0, ops, 0, mOpCount);
+            mOps = ops;
+        }
+        if (mCoordCount + 2 > mCoords.length) {
+            float[] coords = new float[Math.max(32, mCoords.length * 2)];
+            System.arraycopy(mCoords, 0, coords, 0, mCoordCount);
+            mCoords = coords;
+        }
+        mOps[mOpCount++] = op;
+        if (op != OP_CLOSE) {
+            mCoords[mCoordCount++] = x;
+            mCoords[mCoordCount++] = y;
+        }
+    }
+
+    /**
+     * marks the recording as incomplete
+     */
+    private void unsupported() {
+        mComplete = false;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        clearRecording();
+    }
+
+    @Override
+    public void rewind() {
+        super.rewind();
+        clearRecording();
+    }
+
+    @Override
+    public void set(Path src) {
+        super.set(src);
+        clearRecording();
+        if (src instanceof RecordingPath && ((RecordingPath) src).isRecorded()) {
+            RecordingPath r = (RecordingPath) src;
+            for (int i = 0, c = 0; i < r.mOpCount; i++) {
+                if (r.mOps[i] == OP_CLOSE) {
+                    record(OP_CLOSE, 0, 0);
+                } else {
+                    record(r.mOps[i], r.mCoords[c], r.mCoords[c + 1]);
+                    c += 2;
+                }
+            }
+        } else if (mRecording) {
+            unsupported();
+        }
+    }
+
+    @Override
+    public void moveTo(float x, float y) {
+        super.moveTo(x, y);
+        record(OP_MOVE, x, y);
+    }
+
+    @Override
+    public void lineTo(float x, float y) {
+        super.lineTo(x, y);
+        record(OP_LINE, x, y);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        record(OP_CLOSE, 0, 0);
+    }
+
+    @Override
+    public void addRect(float left, float top, float right, float bottom, Direction dir) {
+        super.addRect(left, top, right, bottom, dir);
+        record(OP_MOVE, left, top);
+        if (dir == Direction.CW) {
+            record(OP_LINE, right, top);
+            record(OP_LINE, right, bottom);
+            record(OP_LINE, left, bottom);
+        } else {
+            record(OP_LINE, left, bottom);
+            record(OP_LINE, right, bottom);
+            record(OP_LINE, right, top);
+        }
+        record(OP_CLOSE, 0, 0);
+    }
+
+    @Override
+    public void addRect(RectF rect, Direction dir) {
+        addRect(rect.left, rect.top, rect.right, rect.bottom, dir);
+    }
+
+    @Override
+    public void offset(float dx, float dy) {
+        super.offset(dx, dy);
+        for (int i = 0; i + 1 < mCoordCount; i += 2) {
+            mCoords[i] += dx;
+            mCoords[i + 1] += dy;
+        }
+    }
+
+    @Override
+    public void rMoveTo(float dx, float dy) {
+        super.rMoveTo(dx, dy);
+        unsupported();
+    }
+
+    @Override
+    public void rLineTo(float dx, float dy) {
+        super.rLineTo(dx, dy);
+        unsupported();
+    }
+
+    @Override
+    public void quadTo(float x1, float y1, float x2, float y2) {
+        super.quadTo(x1, y1, x2, y2);
+        unsupported();
+    }
+
+    @Override
+    public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+        super.cubicTo(x1, y1, x2, y2, x3, y3);
+        unsupported();
+    }
+
+    @Override
+    public void addCircle(float x, float y, float radius, Direction dir) {
+        super.addCircle(x, y, radius, dir);
+        unsupported();
+    }
+
+    @Override
+    public void addPath(Path src) {
+        super.addPath(src);
+        unsupported();
+    }
+
+    @Override
+    public void transform(Matrix matrix) {
+        super.transform(matrix);
+        unsupported();
+    }
+}
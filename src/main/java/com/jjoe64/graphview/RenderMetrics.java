@@ -0,0 +1,475 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import com.jjoe64.graphview.series.BaseSeries;
+import com.jjoe64.graphview.series.RenderStats;
+import com.jjoe64.graphview.series.Series;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures where the time of a frame is spent.
+ *
+ * Set it via {@link GraphView#setRenderMetrics(RenderMetrics)}.
+ * Without metrics the graph does not measure anything.
+ *
+ * For every frame the metrics contain the nanoseconds
+ * per {@link Phase}, the time and {@link RenderStats} per series
+ * and the number of draw calls of the series. The values of the
+ * last complete frame can be read in
+ * {@link Listener#onFrame(RenderMetrics)} or at any time later.
+ * The cache hits are counted since the last {@link #reset()}.
+ *
+ * Time that is spent outside of a frame (e.g. the range
+ * calculation in {@link GraphView#onDataChanged(boolean, boolean)})
+ * is added to the next frame.
+ *
+ * All methods have to be called on the thread that
+ * draws the graph.
+ *
+ * @author jjoe64
+ */
+public class RenderMetrics {
+    /**
+     * parts of the rendering
+     */
+    public enum Phase {
+        /**
+         * calculation of the complete range of the data
+         */
+        COMPLETE_RANGE,
+        /**
+         * calculation of the label steps,
+         * included in {@link #GRID}
+         */
+        ADJUST_STEPS,
+        /**
+         * measuring of the label sizes,
+         * included in {@link #GRID}
+         */
+        LABEL_MEASURE,
+        /**
+         * grid and labels. Includes the redraw of the whole
+         * graph after the label sizes have changed.
+         */
+        GRID,
+        /**
+         * all series
+         */
+        SERIES,
+        /**
+         * cursor overlay
+         */
+        CURSOR,
+        /**
+         * title, viewport background and edge effects
+         */
+        VIEWPORT,
+        /**
+         * legend
+         */
+        LEGEND,
+        /**
+         * the complete frame
+         */
+        FRAME
+    }
+
+    /**
+     * caches that are used while rendering
+     */
+    public enum Cache {
+        /**
+         * min/max values of the series. A hit is a series
+         * whose data did not change since the last calculation.
+         */
+        RANGE,
+        /**
+         * sizes of the labels. A hit is a frame
+         * without measuring the labels.
+         */
+        LABEL_SIZE
+    }
+
+    /**
+     * gets notified after every frame
+     */
+    public interface Listener {
+        /**
+         * will be called on the drawing thread after
+         * a frame was drawn. Keep it short, it is part
+         * of the frame.
+         *
+         * @param metrics the metrics with the values of the frame
+         */
+        void onFrame(RenderMetrics metrics);
+    }
+
+    /**
+     * time and counters of one series in a frame
+     */
+    public static final class SeriesStats {
+        Series series;
+        long drawNanos;
+        final RenderStats stats = new RenderStats();
+
+        /**
+         * @return the series
+         */
+        public Series getSeries() {
+            return series;
+        }
+
+        /**
+         * @return time of the draw method in nanoseconds
+         */
+        public long getDrawNanos() {
+            return drawNanos;
+        }
+
+        /**
+         * @return points and canvas operations of the last
+         *          rendering, empty if the series does not extend
+         *          {@link com.jjoe64.graphview.series.BaseSeries}
+         */
+        public RenderStats getRenderStats() {
+            return stats;
+        }
+
+        private void copy(SeriesStats other) {
+            series = other.series;
+            drawNanos = other.drawNanos;
+            stats.reset();
+            stats.add(other.stats);
+        }
+    }
+
+    private static final int OVERLAY_TEXT_SIZE = 24;
+
+    /**
+     * values of the current frame
+     */
+    private final long[] mPhaseNanos = new long[Phase.values().length];
+    private final List<SeriesStats> mSeriesStats = new ArrayList<SeriesStats>();
+    private int mSeriesCount;
+    private int mDrawCalls;
+
+    /**
+     * values of the last complete frame
+     */
+    private final long[] mLastPhaseNanos = new long[Phase.values().length];
+    private final List<SeriesStats> mLastSeriesStats = new ArrayList<SeriesStats>();
+    private int mLastSeriesCount;
+    private int mLastDrawCalls;
+
+    /**
+     * cache results since the last reset
+     */
+    private final long[] mCacheHits = new long[Cache.values().length];
+    private final long[] mCacheMisses = new long[Cache.values().length];
+
+    /**
+     * frames since the last reset
+     */
+    private long mFrameCount;
+    private long mTotalFrameNanos;
+
+    /**
+     * depth of nested frames, the grid redraws the
+     * whole graph after the labels were measured.
+     * Nested frames are not measured on their own,
+     * their time is part of the grid phase.
+     */
+    private int mFrameDepth;
+
+    private Listener mListener;
+    private boolean mDebugOverlay;
+    private Paint mOverlayPaint;
+
+    /**
+     * @param listener gets notified after every frame, null to remove it
+     */
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @param debugOverlay true to draw the metrics of the
+     *                     last frame on top of the graph
+     */
+    public void setDebugOverlay(boolean debugOverlay) {
+        mDebugOverlay = debugOverlay;
+    }
+
+    /**
+     * @return true if the metrics are drawn on top of the graph
+     */
+    public boolean isDebugOverlay() {
+        return mDebugOverlay;
+    }
+
+    /**
+     * @param phase the phase
+     * @return time of the phase in the last frame in nanoseconds
+     */
+    public long getPhaseNanos(Phase phase) {
+        return mLastPhaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * @return number of canvas operations of all series
+     *          in the last frame, see {@link RenderStats#getEmitted()}.
+     *          Series that do not extend
+     *          {@link com.jjoe64.graphview.series.BaseSeries} are not counted.
+     */
+    public int getDrawCalls() {
+        return mLastDrawCalls;
+    }
+
+    /**
+     * @return time and points per series of the last frame
+     */
+    public List<SeriesStats> getSeriesStats() {
+        return Collections.unmodifiableList(mLastSeriesStats.subList(0, mLastSeriesCount));
+    }
+
+    /**
+     * @param cache the cache
+     * @return hits of the cache since the last reset
+     */
+    public long getCacheHits(Cache cache) {
+        return mCacheHits[cache.ordinal()];
+    }
+
+    /**
+     * @param cache the cache
+     * @return misses of the cache since the last reset
+     */
+    public long getCacheMisses(Cache cache) {
+        return mCacheMisses[cache.ordinal()];
+    }
+
+    /**
+     * @param cache the cache
+     * @return rate of the hits between 0 and 1,
+     *          NaN if the cache was not used
+     */
+    public double getCacheHitRate(Cache cache) {
+        long hits = mCacheHits[cache.ordinal()];
+        long total = hits + mCacheMisses[cache.ordinal()];
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+
+    /**
+     * @return number of frames since the last reset
+     */
+    public long getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return average time of a frame since the last
+     *          reset in nanoseconds
+     */
+    public long getAverageFrameNanos() {
+        return mFrameCount == 0 ? 0 : mTotalFrameNanos / mFrameCount;
+    }
+
+    /**
+     * resets the frame count, the average and the cache hits
+     */
+    public void reset() {
+        mFrameCount = 0;
+        mTotalFrameNanos = 0;
+        for (int i = 0; i < mCacheHits.length; i++) {
+            mCacheHits[i] = 0;
+            mCacheMisses[i] = 0;
+        }
+    }
+
+    /**
+     * starts a frame
+     *
+     * @return start time
+     */
+    long beginFrame() {
+        mFrameDepth++;
+        return System.nanoTime();
+    }
+
+    /**
+     * adds the time since start to a phase
+     *
+     * @param phase the phase
+     * @param start start of the phase
+     * @return the current time as start of the next phase
+     */
+    long lap(Phase phase, long start) {
+        long now = System.nanoTime();
+        if (mFrameDepth <= 1) {
+            mPhaseNanos[phase.ordinal()] += now - start;
+        }
+        return now;
+    }
+
+    /**
+     * adds the time since start to the series phase
+     * and to the series and takes the counters of the series
+     *
+     * @param graphView the graph
+     * @param series the series that was drawn
+     * @param start start of the drawing
+     * @return the current time as start of the next phase
+     */
+    long lapSeries(GraphView graphView, Series series, long start) {
+        long now = System.nanoTime();
+        if (mFrameDepth > 1) {
+            // the series are drawn again by the outer frame
+            return now;
+        }
+        mPhaseNanos[Phase.SERIES.ordinal()] += now - start;
+        SeriesStats stats = getSeriesStats(series);
+        stats.drawNanos += now - start;
+        stats.stats.reset();
+        if (series instanceof BaseSeries) {
+            RenderStats renderStats = ((BaseSeries) series).getRenderStats(graphView);
+            stats.stats.add(renderStats);
+            mDrawCalls += renderStats.getEmitted();
+        }
+        return now;
+    }
+
+    /**
+     * @param cache the cache
+     * @param hits number of hits
+     * @param misses number of misses
+     */
+    void addCacheResult(Cache cache, int hits, int misses) {
+        mCacheHits[cache.ordinal()] += hits;
+        mCacheMisses[cache.ordinal()] += misses;
+    }
+
+    private SeriesStats getSeriesStats(Series series) {
+        for (int i = 0; i < mSeriesCount; i++) {
+            if (mSeriesStats.get(i).series == series) {
+                return mSeriesStats.get(i);
+            }
+        }
+        if (mSeriesCount == mSeriesStats.size()) {
+            mSeriesStats.add(new SeriesStats());
+        }
+        SeriesStats stats = mSeriesStats.get(mSeriesCount++);
+        stats.series = series;
+        stats.drawNanos = 0;
+        stats.stats.reset();
+        return stats;
+    }
+
+    /**
+     * ends a frame. The outer frame publishes the values
+     * and notifies the listener.
+     *
+     * @param graphView the graph
+     * @param canvas canvas for the debug overlay
+     * @param start start time of the frame
+     */
+    void endFrame(GraphView graphView, Canvas canvas, long start) {
+        mFrameDepth--;
+        if (mFrameDepth > 0) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        mPhaseNanos[Phase.FRAME.ordinal()] += nanos;
+        mFrameCount++;
+        mTotalFrameNanos += nanos;
+
+        System.arraycopy(mPhaseNanos, 0, mLastPhaseNanos, 0, mPhaseNanos.length);
+        for (int i = 0; i < mPhaseNanos.length; i++) {
+            mPhaseNanos[i] = 0;
+        }
+        while (mLastSeriesStats.size() < mSeriesCount) {
+            mLastSeriesStats.add(new SeriesStats());
+        }
+        for (int i = 0; i < mSeriesCount; i++) {
+            mLastSeriesStats.get(i).copy(mSeriesStats.get(i));
+            mSeriesStats.get(i).series = null;
+        }
+        mLastSeriesCount = mSeriesCount;
+        mSeriesCount = 0;
+        mLastDrawCalls = mDrawCalls;
+        mDrawCalls = 0;
+
+        if (mDebugOverlay) {
+            drawOverlay(graphView, canvas);
+        }
+        if (mListener != null) {
+            mListener.onFrame(this);
+        }
+    }
+
+    /**
+     * draws the values of the last frame in the
+     * top left corner of the graph content
+     */
+    private void drawOverlay(GraphView graphView, Canvas canvas) {
+        if (mOverlayPaint == null) {
+            mOverlayPaint = new Paint();
+            mOverlayPaint.setAntiAlias(true);
+            mOverlayPaint.setTextSize(OVERLAY_TEXT_SIZE);
+        }
+        List<String> lines = new ArrayList<String>();
+        lines.add(String.format(Locale.US, "frame %.2fms (avg %.2fms) %d calls",
+                getPhaseNanos(Phase.FRAME) / 1e6, getAverageFrameNanos() / 1e6, mLastDrawCalls));
+        lines.add(String.format(Locale.US, "range %.2f grid %.2f (steps %.2f labels %.2f)",
+                getPhaseNanos(Phase.COMPLETE_RANGE) / 1e6, getPhaseNanos(Phase.GRID) / 1e6,
+                getPhaseNanos(Phase.ADJUST_STEPS) / 1e6, getPhaseNanos(Phase.LABEL_MEASURE) / 1e6));
+        lines.add(String.format(Locale.US, "series %.2f cursor %.2f legend %.2f",
+                getPhaseNanos(Phase.SERIES) / 1e6, getPhaseNanos(Phase.CURSOR) / 1e6,
+                getPhaseNanos(Phase.LEGEND) / 1e6));
+        for (int i = 0; i < mLastSeriesCount; i++) {
+            SeriesStats stats = mLastSeriesStats.get(i);
+            String title = stats.series.getTitle() != null ? stats.series.getTitle() : "#" + i;
+            RenderStats r = stats.stats;
+            lines.add(String.format(Locale.US, "%s %.2fms %d ops, %d points (%d culled, %d merged)",
+                    title, stats.drawNanos / 1e6, r.getEmitted(), r.getVisited(), r.getCulled(), r.getMerged()));
+        }
+        lines.add(String.format(Locale.US, "cache range %.0f%% labels %.0f%%",
+                getCacheHitRate(Cache.RANGE) * 100, getCacheHitRate(Cache.LABEL_SIZE) * 100));
+
+        float lineHeight = OVERLAY_TEXT_SIZE * 1.2f;
+        float left = graphView.getGraphContentLeft();
+        float top = graphView.getGraphContentTop();
+        float width = 0;
+        for (String line : lines) {
+            width = Math.max(width, mOverlayPaint.measureText(line));
+        }
+        mOverlayPaint.setColor(Color.argb(160, 0, 0, 0));
+        canvas.drawRect(left, top, left + width + 8, top + lineHeight * lines.size() + 8, mOverlayPaint);
+        mOverlayPaint.setColor(Color.WHITE);
+        for (int i = 0; i < lines.size(); i++) {
+            canvas.drawText(lines.get(i), left + 4, top + 4 + lineHeight * (i + 1) - lineHeight * 0.2f, mOverlayPaint);
+        }
+    }
+}
@@ -62,6 +62,11 @@ public class SecondScale {
 
     protected RectD mCurrentViewport = new RectD();
 
+    /**
+     * cached bounds of the series of the second scale
+     */
+    final SeriesRangeCache mSeriesRange = new SeriesRangeCache();
+
     /**
      * label formatter for the y labels
      * on the right side
@@ -206,49 +211,17 @@ public class SecondScale {
 
     /**
      * caches the complete range (minX, maxX, minY, maxY)
-     * by iterating all series and all datapoints and
+     * of the series of the second scale and
      * stores it into #mCompleteRange
-     *
-     * for the x-range it will respect the series on the
-     * second scale - not for y-values
      */
     public void calcCompleteRange() {
-        List<Series> series = getSeries();
+        mSeriesRange.update(getSeries());
         mCompleteRange.set(0d, 0d, 0d, 0d);
-        if (!series.isEmpty() && !series.get(0).isEmpty()) {
-            double d = series.get(0).getLowestValueX();
-            for (Series s : series) {
-                if (!s.isEmpty() && d > s.getLowestValueX()) {
-                    d = s.getLowestValueX();
-                }
-            }
-            mCompleteRange.left = d;
-
-            d = series.get(0).getHighestValueX();
-            for (Series s : series) {
-                if (!s.isEmpty() && d < s.getHighestValueX()) {
-                    d = s.getHighestValueX();
-                }
-            }
-            mCompleteRange.right = d;
-
-            if (!series.isEmpty() && !series.get(0).isEmpty()) {
-                d = series.get(0).getLowestValueY();
-                for (Series s : series) {
-                    if (!s.isEmpty() && d > s.getLowestValueY()) {
-                        d = s.getLowestValueY();
-                    }
-                }
-                mCompleteRange.bottom = d;
-
-                d = series.get(0).getHighestValueY();
-                for (Series s : series) {
-                    if (!s.isEmpty() && d < s.getHighestValueY()) {
-                        d = s.getHighestValueY();
-                    }
-                }
-                mCompleteRange.top = d;
-            }
+        if (!mSeriesRange.isEmpty()) {
+            mCompleteRange.left = mSeriesRange.getMinX();
+            mCompleteRange.right = mSeriesRange.getMaxX();
+            mCompleteRange.bottom = mSeriesRange.getMinY();
+            mCompleteRange.top = mSeriesRange.getMaxY();
         }
     }
 
@@ -0,0 +1,266 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import com.jjoe64.graphview.series.BaseSeries;
+import com.jjoe64.graphview.series.Series;
+
+import com.jjoe64.graphview.series.DataPointInterface;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * caches the bounds of each series of a scale and the
+ * union of them.
+ *
+ * For BaseSeries the data version is used to detect
+ * changes, so only the series that changed are queried
+ * again. When the bounds of a series only grew (e.g. a
+ * data point was appended) the union is extended directly,
+ * otherwise (e.g. the oldest data point was removed) the
+ * union is recalculated from the cached bounds.
+ *
+ * @author jjoe64
+ */
+final class SeriesRangeCache {
+    /**
+     * cached bounds of one series
+     */
+    private static final class Entry {
+        Series series;
+        boolean valid;
+        int version;
+        boolean empty;
+        double minX;
+        double maxX;
+        double minY;
+        double maxY;
+    }
+
+    /**
+     * entries in the same order as the series
+     */
+    private final List<Entry> mEntries = new ArrayList<Entry>();
+
+    /**
+     * true if all series are empty
+     */
+    private boolean mEmpty = true;
+
+    /**
+     * union of the bounds of all non-empty series
+     */
+    private double mMinX;
+    private double mMaxX;
+    private double mMinY;
+    private double mMaxY;
+
+    /**
+     * lowest/highest y value in the range of the last
+     * call of {@link #calcVisibleRangeY(double, double)}
+     */
+    private double mVisibleMinY;
+    private double mVisibleMaxY;
+
+    /**
+     * number of series that were taken from the cache
+     * and that were queried in the last update
+     */
+    int mHits;
+    int mMisses;
+
+    /**
+     * updates the cache for the given series
+     *
+     * @param series the series of the scale
+     */
+    void update(List<Series> series) {
+        mHits = 0;
+        mMisses = 0;
+        boolean reaggregate = false;
+        if (series.size() != mEntries.size()) {
+            while (mEntries.size() > series.size()) {
+                mEntries.remove(mEntries.size() - 1);
+            }
+            while (mEntries.size() < series.size()) {
+                mEntries.add(new Entry());
+            }
+            reaggregate = true;
+        }
+
+        for (int i = 0; i < series.size(); i++) {
+            Series s = series.get(i);
+            Entry e = mEntries.get(i);
+            if (e.series != s) {
+                e.series = s;
+                e.valid = false;
+            }
+            int version = 0;
+            if (s instanceof BaseSeries) {
+                version = ((BaseSeries) s).getDataVersion();
+                if (e.valid && e.version == version) {
+                    mHits++;
+                    continue;
+                }
+            }
+            mMisses++;
+
+            boolean wasValid = e.valid;
+            boolean wasEmpty = e.empty;
+            double minX = e.minX;
+            double maxX = e.maxX;
+            double minY = e.minY;
+            double maxY = e.maxY;
+
+            e.valid = true;
+            e.version = version;
+            e.empty = s.isEmpty();
+            if (!e.empty) {
+                e.minX = s.getLowestValueX();
+                e.maxX = s.getHighestValueX();
+                e.minY = s.getLowestValueY();
+                e.maxY = s.getHighestValueY();
+            }
+
+            if (reaggregate) {
+                continue;
+            }
+            boolean shrunk = !wasValid
+                    || (!wasEmpty && (e.empty || e.minX > minX || e.maxX < maxX || e.minY > minY || e.maxY < maxY));
+            if (shrunk) {
+                reaggregate = true;
+            } else if (!e.empty) {
+                extend(e);
+            }
+        }
+
+        if (reaggregate) {
+            mEmpty = true;
+            for (Entry e : mEntries) {
+                if (!e.empty) {
+                    extend(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * extends the union by the bounds of a series
+     *
+     * @param e non-empty entry
+     */
+    private void extend(Entry e) {
+        if (mEmpty) {
+            mEmpty = false;
+            mMinX = e.minX;
+            mMaxX = e.maxX;
+            mMinY = e.minY;
+            mMaxY = e.maxY;
+        } else {
+            if (e.minX < mMinX) mMinX = e.minX;
+            if (e.maxX > mMaxX) mMaxX = e.maxX;
+            if (e.minY < mMinY) mMinY = e.minY;
+            if (e.maxY > mMaxY) mMaxY = e.maxY;
+        }
+    }
+
+    /**
+     * finds the lowest and highest y value in a x range.
+     * Series that are completely inside of the range are
+     * taken from the cache, only the others are iterated.
+     * {@link #update(List)} has to be called before.
+     *
+     * @param from start of the x range
+     * @param until end of the x range
+     * @return false if there is no value in the range
+     */
+    boolean calcVisibleRangeY(double from, double until) {
+        boolean found = false;
+        double min = 0d;
+        double max = 0d;
+        for (Entry e : mEntries) {
+            if (e.empty) {
+                continue;
+            }
+            if (e.minX >= from && e.maxX <= until) {
+                if (!found) {
+                    found = true;
+                    min = e.minY;
+                    max = e.maxY;
+                } else {
+                    if (e.minY < min) min = e.minY;
+                    if (e.maxY > max) max = e.maxY;
+                }
+                continue;
+            }
+            Iterator<DataPointInterface> values = e.series.getValues(from, until);
+            while (values.hasNext()) {
+                double v = values.next().getY();
+                if (Double.isNaN(v)) {
+                    continue;
+                }
+                if (!found) {
+                    found = true;
+                    min = v;
+                    max = v;
+                } else if (v < min) {
+                    min = v;
+                } else if (v > max) {
+                    max = v;
+                }
+            }
+        }
+        if (found) {
+            mVisibleMinY = min;
+            mVisibleMaxY = max;
+        }
+        return found;
+    }
+
+    double getVisibleMinY() {
+        return mVisibleMinY;
+    }
+
+    double getVisibleMaxY() {
+        return mVisibleMaxY;
+    }
+
+    /**
+     * @return true if there is no data in any series
+     */
+    boolean isEmpty() {
+        return mEmpty;
+    }
+
+    double getMinX() {
+        return mMinX;
+    }
+
+    double getMaxX() {
+        return mMaxX;
+    }
+
+    double getMinY() {
+        return mMinY;
+    }
+
+    double getMaxY() {
+        return mMaxY;
+    }
+}
@@ -0,0 +1,460 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Canvas that writes the drawing as SVG
+ * directly into a writer.
+ *
+ * Supports the drawing operations that are used
+ * by GraphView: lines, rects, circles, text, paths,
+ * vertices, clip rects and save/translate/rotate/restore.
+ * Paths can only be read on Android 8 and newer, before
+ * only a {@link RecordingPath} is written.
+ * Bitmaps are ignored.
+ *
+ * Call {@link #finish()} after drawing.
+ *
+ * @author jjoe64
+ */
+public class SvgCanvas extends Canvas {
+    /**
+     * the output
+     */
+    private final Writer mWriter;
+
+    /**
+     * size of the document
+     */
+    private final int mWidth;
+    private final int mHeight;
+
+    /**
+     * number of open groups per save level
+     */
+    private final List<Integer> mSaveStack = new ArrayList<Integer>();
+    private int mOpenGroups;
+
+    /**
+     * number of written clip paths, for the ids
+     */
+    private int mClipCount;
+
+    /**
+     * first error of the writer
+     */
+    private IOException mError;
+
+    /**
+     * writes the header of the document
+     *
+     * @param writer the output
+     * @param width width of the document
+     * @param height height of the document
+     */
+    public SvgCanvas(Writer writer, int width, int height) {
+        mWriter = writer;
+        mWidth = width;
+        mHeight = height;
+        write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">\n");
+    }
+
+    /**
+     * closes all groups and the document and flushes the writer.
+     * The writer is not closed.
+     *
+     * @throws IOException if writing failed
+     */
+    public void finish() throws IOException {
+        while (mOpenGroups > 0) {
+            closeGroup();
+        }
+        mSaveStack.clear();
+        write("</svg>\n");
+        if (mError == null) {
+            try {
+                mWriter.flush();
+            } catch (IOException e) {
+                mError = e;
+            }
+        }
+        if (mError != null) {
+            throw mError;
+        }
+    }
+
+    private void write(String s) {
+        if (mError != null) {
+            return;
+        }
+        try {
+            mWriter.write(s);
+        } catch (IOException e) {
+            mError = e;
+        }
+    }
+
+    private static String num(float f) {
+        if (f == (int) f) {
+            return Integer.toString((int) f);
+        }
+        return String.format(Locale.US, "%.2f", f);
+    }
+
+    private static String color(int color) {
+        return String.format(Locale.US, "#%02x%02x%02x", Color.red(color), Color.green(color), Color.blue(color));
+    }
+
+    /**
+     * @return fill and stroke attributes of the paint
+     */
+    private static String style(Paint paint) {
+        String c = color(paint.getColor());
+        float alpha = Color.alpha(paint.getColor()) / 255f;
+        StringBuilder sb = new StringBuilder();
+        Paint.Style style = paint.getStyle();
+        if (style == Paint.Style.STROKE) {
+            sb.append(" fill=\"none\"");
+        } else {
+            sb.append(" fill=\"").append(c).append('"');
+            if (alpha < 1f) sb.append(" fill-opacity=\"").append(num(alpha)).append('"');
+        }
+        if (style != Paint.Style.FILL) {
+            sb.append(" stroke=\"").append(c).append("\" stroke-width=\"").append(num(Math.max(1f, paint.getStrokeWidth()))).append('"');
+            if (alpha < 1f) sb.append(" stroke-opacity=\"").append(num(alpha)).append('"');
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            switch (ch) {
+                case '<': sb.append("&lt;"); break;
+                case '>': sb.append("&gt;"); break;
+                case '&': sb.append("&amp;"); break;
+                case '"': sb.append("&quot;"); break;
+                default: sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param attributes attributes of the group
+     */
+    private void openGroup(String attributes) {
+        write("<g " + attributes + ">\n");
+        mOpenGroups++;
+    }
+
+    /**
+     * @param canvas a canvas, can wrap another canvas
+     * @return true if the canvas writes SVG and can not read
+     * paths, so a {@link RecordingPath} has to record them
+     */
+    public static boolean needsRecordedPaths(Canvas canvas) {
+        while (canvas instanceof ForwardingCanvas) {
+            canvas = ((ForwardingCanvas) canvas).mTarget;
+        }
+        return canvas instanceof SvgCanvas && android.os.Build.VERSION.SDK_INT < 26;
+    }
+
+    private void closeGroup() {
+        write("</g>\n");
+        mOpenGroups--;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        drawLines(new float[] {startX, startY, stopX, stopY}, paint);
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        drawLines(pts, 0, pts.length, paint);
+    }
+
+    /**
+     * connected lines are written as one path
+     */
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        StringBuilder d = new StringBuilder();
+        float lastX = Float.NaN;
+        float lastY = Float.NaN;
+        for (int i = offset; i + 3 < offset + count; i += 4) {
+            if (pts[i] != lastX || pts[i + 1] != lastY) {
+                d.append('M').append(num(pts[i])).append(' ').append(num(pts[i + 1]));
+            }
+            d.append('L').append(num(pts[i + 2])).append(' ').append(num(pts[i + 3]));
+            lastX = pts[i + 2];
+            lastY = pts[i + 3];
+        }
+        if (d.length() > 0) {
+            String c = color(paint.getColor());
+            float alpha = Color.alpha(paint.getColor()) / 255f;
+            write("<path d=\"" + d + "\" fill=\"none\" stroke=\"" + c + "\" stroke-width=\""
+                    + num(Math.max(1f, paint.getStrokeWidth())) + "\""
+                    + (alpha < 1f ? " stroke-opacity=\"" + num(alpha) + "\"" : "") + "/>\n");
+        }
+    }
+
+    /**
+     * paths can only be read on Android 8 and newer.
+     * Older versions write a {@link RecordingPath} that was
+     * recorded and skip other paths.
+     */
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        if (path instanceof RecordingPath && ((RecordingPath) path).isRecorded()) {
+            drawRecordedPath((RecordingPath) path, paint);
+            return;
+        }
+        if (android.os.Build.VERSION.SDK_INT < 26) {
+            Log.w("GraphView", "SvgCanvas needs Android 8 to export paths that were not recorded");
+            return;
+        }
+        // fraction, x, y - a jump (moveTo) has the same fraction
+        float[] approx = path.approximate(0.5f);
+        StringBuilder d = new StringBuilder();
+        float lastFraction = -1f;
+        for (int i = 0; i + 2 < approx.length; i += 3) {
+            d.append(i == 0 || approx[i] == lastFraction ? 'M' : 'L')
+                    .append(num(approx[i + 1])).append(' ').append(num(approx[i + 2]));
+            lastFraction = approx[i];
+        }
+        if (d.length() > 0) {
+            write("<path d=\"" + d + "\"" + style(paint) + "/>\n");
+        }
+    }
+
+    /**
+     * writes the recorded lines and rects of a path
+     */
+    private void drawRecordedPath(RecordingPath path, Paint paint) {
+        StringBuilder d = new StringBuilder();
+        int c = 0;
+        for (int i = 0; i < path.mOpCount; i++) {
+            byte op = path.mOps[i];
+            if (op == RecordingPath.OP_CLOSE) {
+                d.append('Z');
+                continue;
+            }
+            d.append(op == RecordingPath.OP_MOVE ? 'M' : 'L')
+                    .append(num(path.mCoords[c])).append(' ').append(num(path.mCoords[c + 1]));
+            c += 2;
+        }
+        if (d.length() > 0) {
+            write("<path d=\"" + d + "\"" + style(paint) + "/>\n");
+        }
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        write("<rect x=\"" + num(Math.min(left, right)) + "\" y=\"" + num(Math.min(top, bottom))
+                + "\" width=\"" + num(Math.abs(right - left)) + "\" height=\"" + num(Math.abs(bottom - top)) + "\""
+                + style(paint) + "/>\n");
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        drawRect(rect.left, rect.top, rect.right, rect.bottom, paint);
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        write("<rect x=\"" + num(rect.left) + "\" y=\"" + num(rect.top)
+                + "\" width=\"" + num(rect.right - rect.left) + "\" height=\"" + num(rect.bottom - rect.top)
+                + "\" rx=\"" + num(rx) + "\" ry=\"" + num(ry) + "\"" + style(paint) + "/>\n");
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        write("<circle cx=\"" + num(cx) + "\" cy=\"" + num(cy) + "\" r=\"" + num(radius) + "\"" + style(paint) + "/>\n");
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        String anchor = "start";
+        if (paint.getTextAlign() == Paint.Align.CENTER) {
+            anchor = "middle";
+        } else if (paint.getTextAlign() == Paint.Align.RIGHT) {
+            anchor = "end";
+        }
+        float alpha = Color.alpha(paint.getColor()) / 255f;
+        write("<text x=\"" + num(x) + "\" y=\"" + num(y) + "\" font-family=\"sans-serif\" font-size=\""
+                + num(paint.getTextSize()) + "\" text-anchor=\"" + anchor + "\" fill=\"" + color(paint.getColor()) + "\""
+                + (alpha < 1f ? " fill-opacity=\"" + num(alpha) + "\"" : "") + ">" + escape(text) + "</text>\n");
+    }
+
+    @Override
+    public void drawColor(int color) {
+        float alpha = Color.alpha(color) / 255f;
+        write("<rect width=\"100%\" height=\"100%\" fill=\"" + color(color) + "\""
+                + (alpha < 1f ? " fill-opacity=\"" + num(alpha) + "\"" : "") + "/>\n");
+    }
+
+    /**
+     * the triangles are written as one filled path.
+     * The colors of the vertices are ignored, the
+     * color of the paint is used.
+     */
+    @Override
+    public void drawVertices(VertexMode mode, int vertexCount, float[] verts, int vertOffset, float[] texs, int texOffset,
+                             int[] colors, int colorOffset, short[] indices, int indexOffset, int indexCount, Paint paint) {
+        // vertexCount is the number of values in verts
+        int count = indices != null ? indexCount : vertexCount / 2;
+        int triangles = mode == VertexMode.TRIANGLES ? count / 3 : Math.max(0, count - 2);
+        StringBuilder d = new StringBuilder();
+        for (int t = 0; t < triangles; t++) {
+            int a, b, c;
+            if (mode == VertexMode.TRIANGLES) {
+                a = t * 3;
+                b = a + 1;
+                c = a + 2;
+            } else if (mode == VertexMode.TRIANGLE_STRIP) {
+                a = t;
+                b = t + 1;
+                c = t + 2;
+            } else {
+                // fan around the first vertex
+                a = 0;
+                b = t + 1;
+                c = t + 2;
+            }
+            appendVertex(d, 'M', verts, vertOffset, indices, indexOffset, a);
+            appendVertex(d, 'L', verts, vertOffset, indices, indexOffset, b);
+            appendVertex(d, 'L', verts, vertOffset, indices, indexOffset, c);
+            d.append('Z');
+        }
+        if (d.length() > 0) {
+            float alpha = Color.alpha(paint.getColor()) / 255f;
+            write("<path d=\"" + d + "\" fill=\"" + color(paint.getColor()) + "\""
+                    + (alpha < 1f ? " fill-opacity=\"" + num(alpha) + "\"" : "") + "/>\n");
+        }
+    }
+
+    /**
+     * appends a vertex, via the indices if there are any
+     */
+    private static void appendVertex(StringBuilder d, char op, float[] verts, int vertOffset,
+                                     short[] indices, int indexOffset, int i) {
+        int index = indices != null ? indices[indexOffset + i] : i;
+        int v = vertOffset + index * 2;
+        d.append(op).append(num(verts[v])).append(' ').append(num(verts[v + 1]));
+    }
+
+    /**
+     * writes a clip path and opens a group that uses it.
+     * The group is closed by restore.
+     */
+    @Override
+    public boolean clipRect(float left, float top, float right, float bottom) {
+        String id = "clip" + (++mClipCount);
+        write("<clipPath id=\"" + id + "\"><rect x=\"" + num(Math.min(left, right)) + "\" y=\"" + num(Math.min(top, bottom))
+                + "\" width=\"" + num(Math.abs(right - left)) + "\" height=\"" + num(Math.abs(bottom - top)) + "\"/></clipPath>\n");
+        openGroup("clip-path=\"url(#" + id + ")\"");
+        return right != left && bottom != top;
+    }
+
+    @Override
+    public boolean clipRect(int left, int top, int right, int bottom) {
+        return clipRect((float) left, (float) top, (float) right, (float) bottom);
+    }
+
+    @Override
+    public boolean clipRect(RectF rect) {
+        return clipRect(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    @Override
+    public boolean clipRect(Rect rect) {
+        return clipRect((float) rect.left, (float) rect.top, (float) rect.right, (float) rect.bottom);
+    }
+
+    @Override
+    public int save() {
+        int saveCount = mSaveStack.size() + 1;
+        mSaveStack.add(mOpenGroups);
+        return saveCount;
+    }
+
+    @Override
+    public void restore() {
+        if (!mSaveStack.isEmpty()) {
+            int groups = mSaveStack.remove(mSaveStack.size() - 1);
+            while (mOpenGroups > groups) {
+                closeGroup();
+            }
+        }
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        while (mSaveStack.size() + 1 > saveCount && !mSaveStack.isEmpty()) {
+            restore();
+        }
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+        openGroup("transform=\"translate(" + num(dx) + " " + num(dy) + ")\"");
+    }
+
+    @Override
+    public void rotate(float degrees) {
+        openGroup("transform=\"rotate(" + num(degrees) + ")\"");
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+        openGroup("transform=\"scale(" + num(sx) + " " + num(sy) + ")\"");
+    }
+
+    @Override
+    public int getWidth() {
+        return mWidth;
+    }
+
+    @Override
+    public int getHeight() {
+        return mHeight;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return false;
+    }
+}
@@ -25,13 +25,14 @@ import android.util.Log;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.ScaleGestureDetector;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
 import android.widget.OverScroller;
 
-import com.jjoe64.graphview.series.DataPointInterface;
+import com.jjoe64.graphview.compat.OverScrollerCompat;
 import com.jjoe64.graphview.series.Series;
 
-import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -241,6 +242,7 @@ public class Viewport {
 
             // adjustSteps viewport, labels, etc.
             mGraphView.onDataChanged(true, false);
+            notifyViewportGroup();
 
             ViewCompat.postInvalidateOnAnimation(mGraphView);
 
@@ -262,6 +264,8 @@ public class Viewport {
 
             if (mIsScalable) {
                 mScalingActive = true;
+                mScroller.forceFinished(true);
+                cancelAnimation();
                 return true;
             } else {
                 return false;
@@ -279,9 +283,7 @@ public class Viewport {
             mScalingActive = false;
 
             // notify
-            if (mOnXAxisBoundsChangedListener != null) {
-                mOnXAxisBoundsChangedListener.onXAxisBoundsChanged(getMinX(false), getMaxX(false), OnXAxisBoundsChangedListener.Reason.SCALE);
-            }
+            notifyXAxisBoundsChanged(OnXAxisBoundsChangedListener.Reason.SCALE);
 
             ViewCompat.postInvalidateOnAnimation(mGraphView);
         }
@@ -305,6 +307,7 @@ public class Viewport {
             releaseEdgeEffects();
             // Aborts any active scroll animations and invalidates.
             mScroller.forceFinished(true);
+            cancelAnimation();
             ViewCompat.postInvalidateOnAnimation(mGraphView);
             return true;
         }
@@ -393,9 +396,7 @@ public class Viewport {
                 mCurrentViewport.right += viewportOffsetX;
 
                 // notify
-                if (mOnXAxisBoundsChangedListener != null) {
-                    mOnXAxisBoundsChangedListener.onXAxisBoundsChanged(getMinX(false), getMaxX(false), OnXAxisBoundsChangedListener.Reason.SCROLL);
-                }
+                notifyXAxisBoundsChanged(OnXAxisBoundsChangedListener.Reason.SCROLL);
             }
             if (canScrollY) {
                 // if we have the second axis we ignore the max/min range
@@ -438,17 +439,29 @@ public class Viewport {
                         / (float) mGraphView.getGraphContentHeight());
             }
 
-            // adjustSteps viewport, labels, etc.
-            mGraphView.onDataChanged(true, false);
-
-            ViewCompat.postInvalidateOnAnimation(mGraphView);
+            if (canScrollY) {
+                // adjustSteps viewport, labels, etc.
+                mGraphView.onDataChanged(true, false);
+                ViewCompat.postInvalidateOnAnimation(mGraphView);
+            } else {
+                onHorizontalScroll();
+            }
+            if (canScrollX) {
+                notifyViewportGroup();
+            }
             return true;
         }
 
         @Override
         public boolean onFling(MotionEvent e1, MotionEvent e2,
                                float velocityX, float velocityY) {
-            //fling((int) -velocityX, (int) -velocityY);
+            // cursor mode
+            if (mGraphView.isCursorMode()) {
+                return true;
+            }
+            if (!mIsScrollable || mScalingActive) return false;
+
+            fling((int) -velocityX, (int) -velocityY);
             return true;
         }
     };
@@ -516,6 +529,21 @@ public class Viewport {
      */
     protected RectD mCompleteRange = new RectD();
 
+    /**
+     * cached bounds of the series, used
+     * to calculate the complete range
+     */
+    final SeriesRangeCache mSeriesRange = new SeriesRangeCache();
+
+    /**
+     * last y range of the visible data, with manual x bounds
+     * and automatic y bounds. The current viewport holds the
+     * rounded bounds.
+     */
+    private boolean mVisibleRangeValid;
+    private double mVisibleMinY;
+    private double mVisibleMaxY;
+
     /**
      * flag whether scaling is currently active
      */
@@ -538,20 +566,82 @@ public class Viewport {
     private boolean scrollableY;
 
     /**
-     * gesture detector to detect scrolling
+     * gesture detector to detect scrolling.
+     * will be created on the first touch event.
      */
     protected GestureDetector mGestureDetector;
 
     /**
-     * detect scaling
+     * detect scaling.
+     * will be created on the first touch event.
      */
     protected ScaleGestureDetector mScaleGestureDetector;
 
     /**
-     * not used - for fling
+     * for fling.
+     * works in pixels relative to {@link #mFlingOriginX}
      */
     protected OverScroller mScroller;
 
+    /**
+     * group of linked viewports, or null
+     *
+     * @see ViewportGroup
+     */
+    ViewportGroup mViewportGroup;
+
+    /**
+     * x-value at scroller position 0 of the current fling
+     */
+    private double mFlingOriginX;
+
+    /**
+     * x-value range per pixel of the current fling
+     */
+    private double mFlingDataPerPixel;
+
+    /**
+     * scroller bounds of the current fling
+     */
+    private int mFlingMinX;
+    private int mFlingMaxX;
+
+    /**
+     * whether the edge glow was already shown for the current fling
+     */
+    private boolean mFlingEdgeAbsorbed;
+
+    /**
+     * start time of the current viewport animation,
+     * or 0 if there is no animation
+     */
+    private long mAnimationStart;
+
+    /**
+     * duration of the current viewport animation in millis
+     */
+    private long mAnimationDuration;
+
+    /**
+     * viewport at the start of the animation
+     */
+    private final RectD mAnimationFrom = new RectD();
+
+    /**
+     * target viewport of the animation
+     */
+    private final RectD mAnimationTo = new RectD();
+
+    /**
+     * whether the y bounds are animated, too
+     */
+    private boolean mAnimateY;
+
+    /**
+     * interpolator for the viewport animation
+     */
+    private Interpolator mAnimationInterpolator = new AccelerateDecelerateInterpolator();
+
     /**
      * not used
      */
@@ -634,9 +724,6 @@ public class Viewport {
         mEdgeEffectBottom = new EdgeEffectCompat(graphView.getContext());
         mEdgeEffectLeft = new EdgeEffectCompat(graphView.getContext());
         mEdgeEffectRight = new EdgeEffectCompat(graphView.getContext());
-        mGestureDetector = new GestureDetector(graphView.getContext(), mGestureListener);
-        mScaleGestureDetector = new ScaleGestureDetector(graphView.getContext(), mScaleGestureListener);
-
         mGraphView = graphView;
         mXAxisBoundsStatus = AxisBoundsStatus.INITIAL;
         mYAxisBoundsStatus = AxisBoundsStatus.INITIAL;
@@ -652,6 +739,12 @@ public class Viewport {
      * @return true if it was consumed
      */
     public boolean onTouchEvent(MotionEvent event) {
+        if (mGestureDetector == null) {
+            // created on the first event, so that the detectors
+            // use the thread that handles the events
+            mGestureDetector = new GestureDetector(mGraphView.getContext(), mGestureListener);
+            mScaleGestureDetector = new ScaleGestureDetector(mGraphView.getContext(), mScaleGestureListener);
+        }
         boolean b = mScaleGestureDetector.onTouchEvent(event);
         b |= mGestureDetector.onTouchEvent(event);
         if (mGraphView.isCursorMode()) {
@@ -724,53 +817,38 @@ public class Viewport {
 
     /**
      * caches the complete range (minX, maxX, minY, maxY)
-     * by iterating all series and all datapoints and
-     * stores it into #mCompleteRange
+     * of all series and stores it into #mCompleteRange.
+     * The bounds of each series are cached, only series
+     * that changed are queried again.
      *
      * for the x-range it will respect the series on the
      * second scale - not for y-values
      */
     public void calcCompleteRange() {
         List<Series> series = mGraphView.getSeries();
-        List<Series> seriesInclusiveSecondScale = new ArrayList<>(mGraphView.getSeries());
+        mSeriesRange.update(series);
+        SeriesRangeCache secondScaleRange = null;
         if (mGraphView.mSecondScale != null) {
-            seriesInclusiveSecondScale.addAll(mGraphView.mSecondScale.getSeries());
-        }
-        mCompleteRange.set(0d, 0d, 0d, 0d);
-        if (!seriesInclusiveSecondScale.isEmpty() && !seriesInclusiveSecondScale.get(0).isEmpty()) {
-            double d = seriesInclusiveSecondScale.get(0).getLowestValueX();
-            for (Series s : seriesInclusiveSecondScale) {
-                if (!s.isEmpty() && d > s.getLowestValueX()) {
-                    d = s.getLowestValueX();
-                }
+            secondScaleRange = mGraphView.mSecondScale.mSeriesRange;
+            secondScaleRange.update(mGraphView.mSecondScale.getSeries());
+            if (secondScaleRange.isEmpty()) {
+                secondScaleRange = null;
             }
-            mCompleteRange.left = d;
-
-            d = seriesInclusiveSecondScale.get(0).getHighestValueX();
-            for (Series s : seriesInclusiveSecondScale) {
-                if (!s.isEmpty() && d < s.getHighestValueX()) {
-                    d = s.getHighestValueX();
-                }
-            }
-            mCompleteRange.right = d;
-
-            if (!series.isEmpty() && !series.get(0).isEmpty()) {
-                d = series.get(0).getLowestValueY();
-                for (Series s : series) {
-                    if (!s.isEmpty() && d > s.getLowestValueY()) {
-                        d = s.getLowestValueY();
-                    }
-                }
-                mCompleteRange.bottom = d;
+        }
 
-                d = series.get(0).getHighestValueY();
-                for (Series s : series) {
-                    if (!s.isEmpty() && d < s.getHighestValueY()) {
-                        d = s.getHighestValueY();
-                    }
-                }
-                mCompleteRange.top = d;
+        mCompleteRange.set(0d, 0d, 0d, 0d);
+        if (!mSeriesRange.isEmpty()) {
+            mCompleteRange.left = mSeriesRange.getMinX();
+            mCompleteRange.right = mSeriesRange.getMaxX();
+            mCompleteRange.bottom = mSeriesRange.getMinY();
+            mCompleteRange.top = mSeriesRange.getMaxY();
+            if (secondScaleRange != null) {
+                mCompleteRange.left = Math.min(mCompleteRange.left, secondScaleRange.getMinX());
+                mCompleteRange.right = Math.max(mCompleteRange.right, secondScaleRange.getMaxX());
             }
+        } else if (secondScaleRange != null) {
+            mCompleteRange.left = secondScaleRange.getMinX();
+            mCompleteRange.right = secondScaleRange.getMaxX();
         }
 
         // calc current viewport bounds
@@ -790,37 +868,8 @@ public class Viewport {
             mCurrentViewport.right = mCompleteRange.right;
         } else if (mXAxisBoundsManual && !mYAxisBoundsManual && mCompleteRange.width() != 0) {
             // get highest/lowest of current viewport
-            // lowest
-            double d = Double.MAX_VALUE;
-            for (Series s : series) {
-                Iterator<DataPointInterface> values = s.getValues(mCurrentViewport.left, mCurrentViewport.right);
-                while (values.hasNext()) {
-                    double v = values.next().getY();
-                    if (d > v) {
-                        d = v;
-                    }
-                }
-            }
-
-            if (d != Double.MAX_VALUE) {
-                mCurrentViewport.bottom = d;
-            }
-
-            // highest
-            d = Double.MIN_VALUE;
-            for (Series s : series) {
-                Iterator<DataPointInterface> values = s.getValues(mCurrentViewport.left, mCurrentViewport.right);
-                while (values.hasNext()) {
-                    double v = values.next().getY();
-                    if (d < v) {
-                        d = v;
-                    }
-                }
-            }
-
-            if (d != Double.MIN_VALUE) {
-                mCurrentViewport.top = d;
-            }
+            mVisibleRangeValid = false;
+            calcVisibleRangeY();
         }
 
         // fixes blank screen when range is zero
@@ -828,6 +877,32 @@ public class Viewport {
         if (mCurrentViewport.top == mCurrentViewport.bottom) mCurrentViewport.top++;
     }
 
+    /**
+     * sets the y bounds of the current viewport to the
+     * lowest/highest y value of the visible x range.
+     * Only used with manual x bounds and automatic y bounds.
+     *
+     * @return true if the y bounds were changed
+     */
+    private boolean calcVisibleRangeY() {
+        if (!mSeriesRange.calcVisibleRangeY(mCurrentViewport.left, mCurrentViewport.right)) {
+            return false;
+        }
+        double minY = mSeriesRange.getVisibleMinY();
+        double maxY = mSeriesRange.getVisibleMaxY();
+        if (mVisibleRangeValid && minY == mVisibleMinY && maxY == mVisibleMaxY) {
+            // the current bounds are the rounded values of the same range
+            return false;
+        }
+        mVisibleRangeValid = true;
+        mVisibleMinY = minY;
+        mVisibleMaxY = maxY;
+        mCurrentViewport.bottom = minY;
+        mCurrentViewport.top = maxY;
+        if (mCurrentViewport.top == mCurrentViewport.bottom) mCurrentViewport.top++;
+        return true;
+    }
+
     /**
      * @param completeRange     if true => minX of the complete range of all series
      *                          if false => minX of the current visible viewport
@@ -931,36 +1006,298 @@ public class Viewport {
     }
 
     /**
-     * not used currently
+     * starts a horizontal fling.
+     * The movement is calculated by the scroller in pixels
+     * and applied to the viewport in {@link #computeScroll()}.
      *
-     * @param velocityX
-     * @param velocityY
+     * @param velocityX velocity in pixel per second
+     * @param velocityY ignored, only horizontal flings are supported
      */
     private void fling(int velocityX, int velocityY) {
-        velocityY = 0;
         releaseEdgeEffects();
-        // Flings use math in pixels (as opposed to math based on the viewport).
-        int maxX = (int)((mCurrentViewport.width()/mCompleteRange.width())*(float)mGraphView.getGraphContentWidth()) - mGraphView.getGraphContentWidth();
-        int maxY = (int)((mCurrentViewport.height()/mCompleteRange.height())*(float)mGraphView.getGraphContentHeight()) - mGraphView.getGraphContentHeight();
-        int startX = (int)((mCurrentViewport.left - mCompleteRange.left)/mCompleteRange.width())*maxX;
-        int startY = (int)((mCurrentViewport.top - mCompleteRange.top)/mCompleteRange.height())*maxY;
         mScroller.forceFinished(true);
+
+        int contentWidth = mGraphView.getGraphContentWidth();
+        double viewportWidth = mCurrentViewport.width();
+        if (contentWidth <= 0 || viewportWidth <= 0) return;
+
+        // respect minimal viewport
+        double completeRangeLeft = mCompleteRange.left;
+        if (!Double.isNaN(mMinimalViewport.left)) {
+            completeRangeLeft = Math.min(completeRangeLeft, mMinimalViewport.left);
+        }
+        double completeRangeRight = mCompleteRange.right;
+        if (!Double.isNaN(mMinimalViewport.right)) {
+            completeRangeRight = Math.max(completeRangeRight, mMinimalViewport.right);
+        }
+
+        // Flings use math in pixels (as opposed to math based on the viewport).
+        // The current position is pixel 0, so that a long history
+        // does not overflow the int range.
+        mFlingDataPerPixel = viewportWidth / contentWidth;
+        mFlingOriginX = mCurrentViewport.left;
+        double limit = Integer.MAX_VALUE / 2;
+        mFlingMinX = (int) -Math.min(limit, Math.max(0d, (mCurrentViewport.left - completeRangeLeft) / mFlingDataPerPixel));
+        mFlingMaxX = (int) Math.min(limit, Math.max(0d, (completeRangeRight - mCurrentViewport.right) / mFlingDataPerPixel));
+        if (mFlingMinX == mFlingMaxX) return;
+
+        mFlingEdgeAbsorbed = false;
         mScroller.fling(
-                startX,
-                startY,
+                0,
+                0,
                 velocityX,
-                velocityY,
-                0, maxX,
-                0, maxY,
-                mGraphView.getGraphContentWidth() / 2,
-                mGraphView.getGraphContentHeight() / 2);
+                0,
+                mFlingMinX, mFlingMaxX,
+                0, 0);
         ViewCompat.postInvalidateOnAnimation(mGraphView);
     }
 
     /**
-     * not used currently
+     * applies the current position of a fling
+     * to the viewport.
+     * Will be called by {@link GraphView#computeScroll()}.
      */
     public void computeScroll() {
+        if (mAnimationStart != 0) {
+            computeAnimation();
+            return;
+        }
+        if (mScroller.isFinished() || !mScroller.computeScrollOffset()) {
+            return;
+        }
+
+        int currX = mScroller.getCurrX();
+        double width = mCurrentViewport.width();
+        mCurrentViewport.left = mFlingOriginX + currX * mFlingDataPerPixel;
+        mCurrentViewport.right = mCurrentViewport.left + width;
+
+        // glow when the end of the data was reached
+        boolean reachedLeft = mFlingMinX < 0 && currX == mFlingMinX;
+        boolean reachedRight = mFlingMaxX > 0 && currX == mFlingMaxX;
+        if (!mFlingEdgeAbsorbed && (reachedLeft || reachedRight)) {
+            int velocity = (int) OverScrollerCompat.getCurrVelocity(mScroller);
+            if (reachedLeft) {
+                mEdgeEffectLeft.onAbsorb(velocity);
+            } else {
+                mEdgeEffectRight.onAbsorb(velocity);
+            }
+            mFlingEdgeAbsorbed = true;
+            mScroller.forceFinished(true);
+        }
+
+        // notify
+        notifyXAxisBoundsChanged(OnXAxisBoundsChangedListener.Reason.SCROLL);
+
+        onHorizontalScroll();
+        notifyViewportGroup();
+    }
+
+    /**
+     * animates the x bounds to the given range.
+     * This sets the x axis bounds to manual.
+     * The listener gets notified when the animation is finished.
+     *
+     * @param minX target min x-value
+     * @param maxX target max x-value
+     * @param duration duration in millis
+     */
+    public void animateTo(double minX, double maxX, long duration) {
+        animateTo(minX, maxX, Double.NaN, Double.NaN, duration);
+    }
+
+    /**
+     * animates the x and y bounds to the given range.
+     * This sets the axis bounds to manual.
+     * While the animation, only the viewport and the
+     * steps are updated, without recalculating the complete
+     * range of the data.
+     * The listener gets notified when the animation is finished.
+     *
+     * @param minX target min x-value
+     * @param maxX target max x-value
+     * @param minY target min y-value, or NaN to keep the y bounds
+     * @param maxY target max y-value, or NaN to keep the y bounds
+     * @param duration duration in millis
+     */
+    public void animateTo(double minX, double maxX, double minY, double maxY, long duration) {
+        mScroller.forceFinished(true);
+        setXAxisBoundsManual(true);
+        mAnimateY = !Double.isNaN(minY) && !Double.isNaN(maxY);
+        if (mAnimateY) {
+            setYAxisBoundsManual(true);
+        }
+
+        mAnimationFrom.set(mCurrentViewport.left, mCurrentViewport.top, mCurrentViewport.right, mCurrentViewport.bottom);
+        mAnimationTo.set(minX, mAnimateY ? maxY : mCurrentViewport.top, maxX, mAnimateY ? minY : mCurrentViewport.bottom);
+        mAnimationDuration = duration;
+        mAnimationStart = AnimationUtils.currentAnimationTimeMillis();
+        ViewCompat.postInvalidateOnAnimation(mGraphView);
+    }
+
+    /**
+     * animates the viewport to the end of the range
+     * by keeping the current viewport size.
+     *
+     * @param duration duration in millis
+     * @see #scrollToEnd()
+     */
+    public void scrollToEnd(long duration) {
+        if (mXAxisBoundsManual) {
+            double size = mCurrentViewport.width();
+            animateTo(mCompleteRange.right - size, mCompleteRange.right, duration);
+        } else {
+            Log.w("GraphView", "scrollToEnd works only with manual x axis bounds");
+        }
+    }
+
+    /**
+     * @return whether a viewport animation is running
+     */
+    public boolean isAnimating() {
+        return mAnimationStart != 0;
+    }
+
+    /**
+     * stops a running viewport animation at
+     * the current position.
+     */
+    public void cancelAnimation() {
+        if (mAnimationStart != 0) {
+            mAnimationStart = 0;
+            mGraphView.onDataChanged(true, false);
+        }
+    }
+
+    /**
+     * @param interpolator interpolator for the viewport animations
+     */
+    public void setAnimationInterpolator(Interpolator interpolator) {
+        mAnimationInterpolator = interpolator;
+    }
+
+    /**
+     * applies the current frame of the viewport animation
+     */
+    private void computeAnimation() {
+        long currentTime = AnimationUtils.currentAnimationTimeMillis();
+        float timeFactor = mAnimationDuration <= 0 ? 1f : (float) (currentTime - mAnimationStart) / mAnimationDuration;
+        boolean finished = timeFactor >= 1f;
+        double factor = finished ? 1d : mAnimationInterpolator.getInterpolation(timeFactor);
+
+        mCurrentViewport.left = mAnimationFrom.left + (mAnimationTo.left - mAnimationFrom.left) * factor;
+        mCurrentViewport.right = mAnimationFrom.right + (mAnimationTo.right - mAnimationFrom.right) * factor;
+        if (mAnimateY) {
+            mCurrentViewport.top = mAnimationFrom.top + (mAnimationTo.top - mAnimationFrom.top) * factor;
+            mCurrentViewport.bottom = mAnimationFrom.bottom + (mAnimationTo.bottom - mAnimationFrom.bottom) * factor;
+        }
+
+        if (finished) {
+            mAnimationStart = 0;
+
+            // notify
+            boolean scaled = mAnimationTo.width() != mAnimationFrom.width();
+            notifyXAxisBoundsChanged(scaled ? OnXAxisBoundsChangedListener.Reason.SCALE : OnXAxisBoundsChangedListener.Reason.SCROLL);
+
+            // complete update
+            mGraphView.onDataChanged(true, false);
+            notifyViewportGroup();
+        } else {
+            // only the steps, the y bounds are frozen while the animation
+            GridLabelRenderer renderer = mGraphView.getGridLabelRenderer();
+            boolean adjusted = renderer.adjustHorizontalOnScroll();
+            if (adjusted && mAnimateY) {
+                adjusted = renderer.adjustVerticalOnAnimation();
+            }
+            if (!adjusted) {
+                renderer.invalidate(true, false);
+            }
+            notifyViewportGroup();
+            ViewCompat.postInvalidateOnAnimation(mGraphView);
+        }
+    }
+
+    /**
+     * notifies the listener and the listeners of the
+     * other graphs of the group
+     *
+     * @param reason reason of the change
+     */
+    private void notifyXAxisBoundsChanged(OnXAxisBoundsChangedListener.Reason reason) {
+        if (mOnXAxisBoundsChangedListener != null) {
+            mOnXAxisBoundsChangedListener.onXAxisBoundsChanged(getMinX(false), getMaxX(false), reason);
+        }
+        if (mViewportGroup != null) {
+            mViewportGroup.onXAxisBoundsChanged(mGraphView, reason);
+        }
+    }
+
+    /**
+     * applies the x range to the other
+     * viewports of the group
+     */
+    private void notifyViewportGroup() {
+        if (mViewportGroup != null) {
+            mViewportGroup.onXRangeChanged(mGraphView);
+        }
+    }
+
+    /**
+     * moves the x bounds, e.g. from a {@link GraphOverview}.
+     * Only the horizontal steps are recalculated if possible.
+     *
+     * @param minX min x-value
+     * @param maxX max x-value
+     */
+    void scrollXTo(double minX, double maxX) {
+        mScroller.forceFinished(true);
+        cancelAnimation();
+        mCurrentViewport.left = minX;
+        mCurrentViewport.right = maxX;
+
+        // notify
+        notifyXAxisBoundsChanged(OnXAxisBoundsChangedListener.Reason.SCROLL);
+
+        onHorizontalScroll();
+        notifyViewportGroup();
+    }
+
+    /**
+     * updates the graph after the viewport was moved
+     * horizontally without changing its width.
+     * Only the steps get recalculated and the labels
+     * are not measured again. If the y bounds depend on
+     * the visible range, only the y range of the visible
+     * data is calculated.
+     */
+    private void onHorizontalScroll() {
+        if (!adjustOnXRangeChanged(null)) {
+            // adjustSteps viewport, labels, etc.
+            mGraphView.onDataChanged(true, false);
+        }
+        ViewCompat.postInvalidateOnAnimation(mGraphView);
+    }
+
+    /**
+     * recalculates the steps after the x bounds were moved
+     * and the data did not change. With manual x bounds and
+     * automatic y bounds the y range of the visible data is
+     * taken from the range cache.
+     *
+     * @param source renderer of a graph with the same x range,
+     *               its horizontal steps are reused if possible.
+     *               Can be null.
+     * @return false if a complete update is needed
+     */
+    boolean adjustOnXRangeChanged(GridLabelRenderer source) {
+        boolean verticalChanged = false;
+        if (mXAxisBoundsManual && !mYAxisBoundsManual) {
+            mSeriesRange.update(mGraphView.getSeries());
+            if (mSeriesRange.mMisses != 0) {
+                return false;
+            }
+            verticalChanged = calcVisibleRangeY();
+        }
+        return mGraphView.getGridLabelRenderer().adjustOnScroll(verticalChanged, source);
     }
 
     /**
@@ -1177,7 +1514,12 @@ public class Viewport {
             double size = mCurrentViewport.width();
             mCurrentViewport.right = mCompleteRange.right;
             mCurrentViewport.left = mCompleteRange.right - size;
+
+            // notify
+            notifyXAxisBoundsChanged(OnXAxisBoundsChangedListener.Reason.SCROLL);
+
             mGraphView.onDataChanged(true, false);
+            notifyViewportGroup();
         } else {
             Log.w("GraphView", "scrollToEnd works only with manual x axis bounds");
         }
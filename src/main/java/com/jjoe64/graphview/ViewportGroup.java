@@ -0,0 +1,196 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import androidx.core.view.ViewCompat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Links the x axis of several GraphViews, e.g.
+ * stacked graphs that share one time axis.
+ *
+ * When the user scrolls or scales one of the graphs,
+ * the new x range is applied directly to the viewports
+ * of the other graphs, without calling their setters.
+ * The other graphs are updated once per frame. If the
+ * content widths match, the horizontal steps of the source
+ * graph are reused. Graphs with automatic y bounds only
+ * calculate the y range of the visible data from their
+ * range cache. The x bounds listeners of all graphs are
+ * notified when the range of one graph changes.
+ *
+ * The x axis bounds of all graphs in the group are manual.
+ *
+ * @author jjoe64
+ */
+public class ViewportGroup {
+    /**
+     * the linked graphs
+     */
+    private final List<GraphView> mGraphViews = new ArrayList<GraphView>();
+
+    /**
+     * the graph that changed the x range last
+     */
+    private GraphView mSource;
+
+    /**
+     * whether the update of the other graphs
+     * is already posted for the next frame
+     */
+    private boolean mFramePosted;
+
+    /**
+     * updates the other graphs once per frame
+     */
+    private final Runnable mFrame = new Runnable() {
+        @Override
+        public void run() {
+            mFramePosted = false;
+            syncGraphViews();
+        }
+    };
+
+    /**
+     * adds a graph to the group. The graph will
+     * get the x range of the group.
+     *
+     * @param graphView the graph
+     */
+    public void addGraphView(GraphView graphView) {
+        if (mGraphViews.contains(graphView)) {
+            return;
+        }
+        Viewport viewport = graphView.getViewport();
+        if (viewport.mViewportGroup != null) {
+            viewport.mViewportGroup.removeGraphView(graphView);
+        }
+        viewport.setXAxisBoundsManual(true);
+        viewport.mViewportGroup = this;
+
+        if (!mGraphViews.isEmpty()) {
+            Viewport first = mGraphViews.get(0).getViewport();
+            viewport.mCurrentViewport.left = first.mCurrentViewport.left;
+            viewport.mCurrentViewport.right = first.mCurrentViewport.right;
+            graphView.onDataChanged(true, false);
+        }
+        mGraphViews.add(graphView);
+    }
+
+    /**
+     * removes a graph from the group
+     *
+     * @param graphView the graph
+     */
+    public void removeGraphView(GraphView graphView) {
+        if (mGraphViews.remove(graphView)) {
+            graphView.getViewport().mViewportGroup = null;
+            if (mSource == graphView) {
+                mSource = null;
+            }
+        }
+    }
+
+    /**
+     * @return the linked graphs
+     */
+    public List<GraphView> getGraphViews() {
+        return mGraphViews;
+    }
+
+    /**
+     * sets the x range of all graphs in the group
+     *
+     * @param minX min x-value
+     * @param maxX max x-value
+     */
+    public void setXRange(double minX, double maxX) {
+        for (GraphView graphView : mGraphViews) {
+            Viewport viewport = graphView.getViewport();
+            viewport.mCurrentViewport.left = minX;
+            viewport.mCurrentViewport.right = maxX;
+            graphView.onDataChanged(true, false);
+        }
+    }
+
+    /**
+     * called by the viewport of a graph after the
+     * x range was changed by a gesture or an animation.
+     * The range is applied directly to the other viewports,
+     * the update of the graphs is coalesced to one per frame.
+     *
+     * @param source the graph that changed the x range
+     */
+    void onXRangeChanged(GraphView source) {
+        mSource = source;
+        RectD range = source.getViewport().mCurrentViewport;
+        for (GraphView graphView : mGraphViews) {
+            if (graphView != source) {
+                RectD viewport = graphView.getViewport().mCurrentViewport;
+                viewport.left = range.left;
+                viewport.right = range.right;
+            }
+        }
+        if (!mFramePosted) {
+            mFramePosted = true;
+            ViewCompat.postOnAnimation(source, mFrame);
+        }
+    }
+
+    /**
+     * called by the viewport of a graph when its
+     * x bounds listener is notified. The listeners
+     * of the other graphs get notified, too.
+     *
+     * @param source the graph that changed the x range
+     * @param reason reason of the change
+     */
+    void onXAxisBoundsChanged(GraphView source, Viewport.OnXAxisBoundsChangedListener.Reason reason) {
+        double minX = source.getViewport().getMinX(false);
+        double maxX = source.getViewport().getMaxX(false);
+        for (GraphView graphView : mGraphViews) {
+            Viewport.OnXAxisBoundsChangedListener listener = graphView.getViewport().mOnXAxisBoundsChangedListener;
+            if (graphView != source && listener != null) {
+                listener.onXAxisBoundsChanged(minX, maxX, reason);
+            }
+        }
+    }
+
+    /**
+     * updates the steps of the other graphs and redraws them
+     */
+    private void syncGraphViews() {
+        GraphView source = mSource;
+        if (source == null) {
+            return;
+        }
+        GridLabelRenderer sourceRenderer = source.getGridLabelRenderer();
+        for (GraphView graphView : mGraphViews) {
+            if (graphView == source) {
+                continue;
+            }
+            // with automatic y bounds only the y range of the visible data
+            if (graphView.getViewport().adjustOnXRangeChanged(sourceRenderer)) {
+                graphView.invalidate();
+            } else {
+                graphView.onDataChanged(true, false);
+            }
+        }
+    }
+}
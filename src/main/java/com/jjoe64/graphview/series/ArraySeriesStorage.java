@@ -0,0 +1,330 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Default storage of a series.
+ * Uses a internal Array to store all the data
+ * points in memory.
+ *
+ * @author jjoe64
+ */
+public class ArraySeriesStorage<E extends DataPointInterface> implements SeriesStorage<E>, VersionedStorage {
+    /**
+     * holds the data
+     */
+    final private List<E> mData = new ArrayList<E>();
+
+    /**
+     * counts the modifications of the data
+     */
+    private volatile int mModificationCount;
+
+    /**
+     * cache for lowest y value
+     */
+    private double mLowestYCache = Double.NaN;
+
+    /**
+     * cahce for highest y value
+     */
+    private double mHighestYCache = Double.NaN;
+
+    /**
+     * @return the lowest x value, or 0 if there is no data
+     */
+    @Override
+    public double getLowestValueX() {
+        if (mData.isEmpty()) return 0d;
+        return mData.get(0).getX();
+    }
+
+    /**
+     * @return the highest x value, or 0 if there is no data
+     */
+    @Override
+    public double getHighestValueX() {
+        if (mData.isEmpty()) return 0d;
+        return mData.get(mData.size()-1).getX();
+    }
+
+    /**
+     * @return the lowest y value, or 0 if there is no data
+     */
+    @Override
+    public double getLowestValueY() {
+        if (mData.isEmpty()) return 0d;
+        if (!Double.isNaN(mLowestYCache)) {
+            return mLowestYCache;
+        }
+        double l = mData.get(0).getY();
+        for (int i = 1; i < mData.size(); i++) {
+            double c = mData.get(i).getY();
+            if (l > c) {
+                l = c;
+            }
+        }
+        return mLowestYCache = l;
+    }
+
+    /**
+     * @return the highest y value, or 0 if there is no data
+     */
+    @Override
+    public double getHighestValueY() {
+        if (mData.isEmpty()) return 0d;
+        if (!Double.isNaN(mHighestYCache)) {
+            return mHighestYCache;
+        }
+        double h = mData.get(0).getY();
+        for (int i = 1; i < mData.size(); i++) {
+            double c = mData.get(i).getY();
+            if (h < c) {
+                h = c;
+            }
+        }
+        return mHighestYCache = h;
+    }
+
+    /**
+     * get the values for a given x range. if from and until are bigger or equal than
+     * all the data, the original data is returned.
+     * If it is only a part of the data, the range is returned plus one datapoint
+     * before and after to get a nice scrolling.
+     *
+     * @param from minimal x-value
+     * @param until maximal x-value
+     * @return data for the range +/- 1 datapoint
+     */
+    @Override
+    public Iterator<E> getValues(final double from, final double until) {
+        if (from <= getLowestValueX() && until >= getHighestValueX()) {
+            return mData.iterator();
+        } else {
+            return new Iterator<E>() {
+                Iterator<E> org;
+                E nextValue = null;
+                E nextNextValue = null;
+                boolean plusOne = true;
+
+                {
+                    // go to first, the data is sorted by x
+                    int first = lowerBound(from);
+                    if (first >= mData.size()) {
+                        org = mData.iterator();
+                        nextValue = null;
+                    } else if (first == 0) {
+                        nextValue = mData.get(0);
+                        org = mData.listIterator(1);
+                    } else {
+                        // one data point before
+                        nextValue = mData.get(first - 1);
+                        nextNextValue = mData.get(first);
+                        org = mData.listIterator(first + 1);
+                    }
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public E next() {
+                    if (hasNext()) {
+                        E r = nextValue;
+                        if (r.getX() > until) {
+                            plusOne = false;
+                        }
+                        if (nextNextValue != null) {
+                            nextValue = nextNextValue;
+                            nextNextValue = null;
+                        } else if (org.hasNext()) nextValue = org.next();
+                        else nextValue = null;
+                        return r;
+                    } else {
+                        throw new NoSuchElementException();
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return nextValue != null && (nextValue.getX() <= until || plusOne);
+                }
+            };
+        }
+    }
+
+    /**
+     * @param x x-value
+     * @return index of the first data point with a x-value
+     * greater or equal than x, or the size if there is none
+     */
+    private int lowerBound(double x) {
+        int low = 0;
+        int high = mData.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mData.get(mid).getX() < x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * appends a data point at the end
+     *
+     * @param dataPoint the new data point
+     * @param maxDataPoints if max data count is reached, the oldest data
+     *                      value will be lost to avoid memory leaks
+     * @return true if the oldest data point was removed
+     */
+    @Override
+    public boolean append(E dataPoint, int maxDataPoints) {
+        mModificationCount++;
+        if (!mData.isEmpty() && dataPoint.getX() < mData.get(mData.size()-1).getX()) {
+            throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
+        }
+        boolean trimmed = false;
+        synchronized (mData) {
+            int curDataCount = mData.size();
+            if (curDataCount < maxDataPoints) {
+                // enough space
+                mData.add(dataPoint);
+            } else {
+                // we have to trim one data
+                double removedY = mData.remove(0).getY();
+                mData.add(dataPoint);
+                trimmed = true;
+
+                // the removed data point may have been the lowest/highest
+                if (removedY <= mLowestYCache) {
+                    mLowestYCache = Double.NaN;
+                }
+                if (removedY >= mHighestYCache) {
+                    mHighestYCache = Double.NaN;
+                }
+            }
+
+            // update lowest/highest cache
+            double dataPointY = dataPoint.getY();
+            if (!Double.isNaN(mHighestYCache)) {
+                if (dataPointY > mHighestYCache) {
+                    mHighestYCache = dataPointY;
+                }
+            }
+            if (!Double.isNaN(mLowestYCache)) {
+                if (dataPointY < mLowestYCache) {
+                    mLowestYCache = dataPointY;
+                }
+            }
+        }
+        return trimmed;
+    }
+
+    /**
+     * clears the data and sets new.
+     *
+     * @param data the values must be in the correct order!
+     *             x-value has to be ASC. First the lowest x value and at least the highest x value.
+     */
+    @Override
+    public void reset(E[] data) {
+        mModificationCount++;
+        synchronized (mData) {
+            mData.clear();
+            for (E d : data) {
+                mData.add(d);
+            }
+            mHighestYCache = mLowestYCache = Double.NaN;
+        }
+        checkValueOrder();
+    }
+
+    /**
+     * @return whether there are data points
+     */
+    @Override
+    public boolean isEmpty() {
+        return mData.isEmpty();
+    }
+
+    /**
+     * @return number of stored data points
+     */
+    public int size() {
+        return mData.size();
+    }
+
+    /**
+     * @param index index of the data point
+     * @return the data point
+     */
+    protected E get(int index) {
+        return mData.get(index);
+    }
+
+    /**
+     * replaces the last data point by one with the
+     * same y-value, e.g. to extend a constant run
+     *
+     * @param dataPoint the new last data point
+     */
+    protected void replaceLast(E dataPoint) {
+        mModificationCount++;
+        synchronized (mData) {
+            if (dataPoint.getX() < getHighestValueX()) {
+                throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
+            }
+            mData.set(mData.size() - 1, dataPoint);
+        }
+    }
+
+    /**
+     * checks that the data is in the correct order
+     */
+    protected void checkValueOrder() {
+        if (mData.size()>1) {
+            double lx = mData.get(0).getX();
+
+            for (int i = 1; i < mData.size(); i++) {
+                if (mData.get(i).getX() != Double.NaN) {
+                    if (lx > mData.get(i).getX()) {
+                        throw new IllegalArgumentException("The order of the values is not correct. X-Values have to be ordered ASC. First the lowest x value and at least the highest x value.");
+                    }
+                    lx = mData.get(i).getX();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a number that changes on every modification of the data
+     */
+    @Override
+    public int getModificationCount() {
+        return mModificationCount;
+    }
+}
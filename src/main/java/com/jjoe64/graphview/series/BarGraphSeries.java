@@ -94,36 +94,26 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
     private float mValuesOnTopSize;
 
     /**
-     * stores the coordinates of the bars to
-     * trigger tap on series events.
-     */
-    private Map<RectD, E> mDataPoints = new HashMap<RectD, E>();
+     * render state with the coordinates of the bars
+     */
+    private static final class BarRenderState<E extends DataPointInterface> extends RenderState<E> {
+        /**
+         * stores the coordinates of the bars to
+         * trigger tap on series events.
+         */
+        final Map<RectD, E> bars = new HashMap<RectD, E>();
+    }
 
     /**
      * flag for animated rendering
      */
     private boolean mAnimated;
 
-    /**
-     * store the last value that was animated
-     */
-    private double mLastAnimatedValue = Double.NaN;
-
-    /**
-     * time of start animation
-     */
-    private long mAnimationStart;
-
     /**
      * animation interpolator
      */
     private AccelerateInterpolator mAnimationInterpolator;
 
-    /**
-     * frame number of animation to avoid lagging
-     */
-    private int mAnimationStartFrameNo;
-
 
     /**
      * creates bar series without any data
@@ -159,8 +149,11 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
         }
         mPaint.setTextSize(mValuesOnTopSize);
 
-        resetDataPoints();
-        
+        resetDataPoints(graphView);
+        BarRenderState<E> state = (BarRenderState<E>) getRenderState(graphView);
+        RenderStats stats = state.stats;
+        stats.reset();
+
         // get data
         double maxX = graphView.getViewport().getMaxX(false);
         double minX = graphView.getViewport().getMinX(false);
@@ -246,30 +239,23 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
         // Offset from the center of a given bar to start drawing
         double offset = barSlotWidth/2;
 
-        double diffY = maxY - minY;
-        double diffX = maxX - minX;
         double contentHeight = graphView.getGraphContentHeight();
         double contentWidth = graphView.getGraphContentWidth();
         double contentLeft = graphView.getGraphContentLeft();
         double contentTop = graphView.getGraphContentTop();
 
-        // draw data
-        int i=0;
-        while (values.hasNext()) {
-            E value = values.next();
-
-            double valY = value.getY() - minY;
-            double ratY = valY / diffY;
-            double y = contentHeight * ratY;
-
-            double valY0 = 0 - minY;
-            double ratY0 = valY0 / diffY;
-            double y0 = contentHeight * ratY0;
+        PointTransform<E> transform = state.transform;
+        transform.setViewport(minX, maxX, minY, maxY, (float) contentWidth, (float) contentHeight);
+        int count = transform.transform(values);
+        stats.addVisited(count);
+        double y0 = transform.transformY(0);
 
+        // draw data
+        for (int i = 0; i < count; i++) {
+            E value = transform.getValue(i);
+            double y = transform.getY(i);
             double valueX = value.getX();
-            double valX = valueX - minX;
-            double ratX = valX / diffX;
-            double x = contentWidth * ratX;
+            double x = transform.getX(i);
 
             // hook for value dependent color
             if (getValueDependentColor() != null) {
@@ -281,6 +267,7 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
             double left = x + contentLeft - offset + spacing/2 + currentSeriesOrder*barWidth;
             double right = left + barWidth;
             if (left > contentLeft + contentWidth || right < contentLeft) {
+                stats.addCulled(1);
                 continue;
             }
             double top = (contentTop - y) + contentHeight;
@@ -289,21 +276,21 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
             boolean reverse = top > bottom;
 
             if (mAnimated) {
-                if ((Double.isNaN(mLastAnimatedValue) || mLastAnimatedValue < valueX)) {
+                if ((Double.isNaN(state.lastAnimatedValue) || state.lastAnimatedValue < valueX)) {
                     long currentTime = System.currentTimeMillis();
-                    if (mAnimationStart == 0) {
+                    if (state.animationStart == 0) {
                         // start animation
-                        mAnimationStart = currentTime;
-                        mAnimationStartFrameNo = 0;
+                        state.animationStart = currentTime;
+                        state.animationStartFrameNo = 0;
                     } else {
                         // anti-lag: wait a few frames
-                        if (mAnimationStartFrameNo < 15) {
+                        if (state.animationStartFrameNo < 15) {
                             // second time
-                            mAnimationStart = currentTime;
-                            mAnimationStartFrameNo++;
+                            state.animationStart = currentTime;
+                            state.animationStartFrameNo++;
                         }
                     }
-                    float timeFactor = (float) (currentTime-mAnimationStart) / ANIMATION_DURATION;
+                    float timeFactor = (float) (currentTime-state.animationStart) / ANIMATION_DURATION;
                     float factor = mAnimationInterpolator.getInterpolation(timeFactor);
                     if (timeFactor <= 1.0) {
                         double barHeight = bottom - top;
@@ -312,7 +299,7 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                         ViewCompat.postInvalidateOnAnimation(graphView);
                     } else {
                         // animation finished
-                        mLastAnimatedValue = valueX;
+                        state.lastAnimatedValue = valueX;
                     }
                 }
             }
@@ -329,7 +316,7 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
             bottom = Math.min(bottom, contentTop+contentHeight);
             top = Math.max(top, contentTop);
 
-            mDataPoints.put(new RectD(left, top, right, bottom), value);
+            state.bars.put(new RectD(left, top, right, bottom), value);
 
             Paint p;
             if (mCustomPaint != null) {
@@ -338,6 +325,7 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                 p = mPaint;
             }
             canvas.drawRect((float)left, (float)top, (float)right, (float)bottom, p);
+            stats.addEmitted(1);
 
             // set values on top of graph
             if (mDrawValuesOnTop) {
@@ -353,9 +341,8 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                 canvas.drawText(
                         graphView.getGridLabelRenderer().getLabelFormatter().formatLabel(value.getY(), false)
                         , (float) (left+right)/2, (float) top, mPaint);
+                stats.addEmitted(1);
             }
-
-            i++;
         }
     }
 
@@ -456,25 +443,37 @@ public class BarGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
         this.mValuesOnTopSize = mValuesOnTopSize;
     }
 
+    /**
+     * @return render state that stores the bar coordinates
+     */
+    @Override
+    protected RenderState<E> createRenderState() {
+        return new BarRenderState<E>();
+    }
+
     /**
      * resets the cached coordinates of the bars
+     *
+     * @param graphView the graphview that is drawn
      */
     @Override
-    protected void resetDataPoints() {
-        mDataPoints.clear();
+    protected void resetDataPoints(GraphView graphView) {
+        ((BarRenderState<E>) getRenderState(graphView)).bars.clear();
     }
 
     /**
      * find the corresponding data point by
      * coordinates.
      *
+     * @param graphView the graphview
      * @param x pixels
      * @param y pixels
      * @return datapoint or null
      */
     @Override
-    protected E findDataPoint(float x, float y) {
-        for (Map.Entry<RectD, E> entry : mDataPoints.entrySet()) {
+    protected E findDataPoint(GraphView graphView, float x, float y) {
+        BarRenderState<E> state = (BarRenderState<E>) getRenderState(graphView);
+        for (Map.Entry<RectD, E> entry : state.bars.entrySet()) {
             if (x >= entry.getKey().left && x <= entry.getKey().right
                 && y >= entry.getKey().top && y <= entry.getKey().bottom) {
                 return entry.getValue();
@@ -28,8 +28,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Basis implementation for series.
@@ -39,28 +40,79 @@ import java.util.Set;
  * Extend this class to implement your own custom
  * graph type.
  *
- * This implementation uses a internal Array to store
+ * By default this implementation uses a internal Array to store
  * the data. If you want to implement a custom data provider
- * you may want to implement {@link com.jjoe64.graphview.series.Series}.
+ * you may want to implement {@link com.jjoe64.graphview.series.SeriesStorage}
+ * or {@link com.jjoe64.graphview.series.Series}.
+ *
+ * A series can be added to several GraphViews. Everything that
+ * belongs to the rendering in one GraphView (coordinates of the
+ * drawn data points, animation state, ...) is kept in a
+ * {@link RenderState} per GraphView, the data is shared.
+ * The series reuse paints and paths while drawing, so a series
+ * must not be drawn by two threads at the same time, see
+ * {@link com.jjoe64.graphview.HeadlessGraphRenderer}.
  *
  * @author jjoe64
  */
 public abstract class BaseSeries<E extends DataPointInterface> implements Series<E> {
     /**
-     * holds the data
+     * holds the data.
+     * By default all data points are kept in memory.
+     *
+     * @see #setStorage(SeriesStorage)
      */
-    final private List<E> mData = new ArrayList<E>();
+    private SeriesStorage<E> mStorage = new ArraySeriesStorage<E>();
 
     /**
-     * stores the used coordinates to find the
-     * corresponding data point on a tap
-     *
-     * Key => x/y pixel
-     * Value => Plotted Datapoint
-     *
-     * will be filled while drawing via {@link #registerDataPoint(float, float, DataPointInterface)}
+     * state of the rendering in one GraphView.
+     * Extend this class and override {@link #createRenderState()}
+     * to store more per-view data.
      */
-    private Map<PointF, E> mDataPoints = new HashMap<PointF, E>();
+    protected static class RenderState<E extends DataPointInterface> {
+        /**
+         * stores the used coordinates to find the
+         * corresponding data point on a tap
+         *
+         * Key => x/y pixel
+         * Value => Plotted Datapoint
+         *
+         * will be filled while drawing via {@link BaseSeries#registerDataPoint(GraphView, float, float, DataPointInterface)}
+         */
+        protected final Map<PointF, E> dataPoints = new HashMap<PointF, E>();
+
+        /**
+         * reused buffers to transform the visible
+         * data points to pixel coordinates
+         */
+        protected final PointTransform<E> transform = new PointTransform<E>();
+
+        /**
+         * last animated value
+         */
+        protected double lastAnimatedValue = Double.NaN;
+
+        /**
+         * time of animation start
+         */
+        protected long animationStart;
+
+        /**
+         * number of animation frame to avoid lagging
+         */
+        protected int animationStartFrameNo;
+
+        /**
+         * counters of the last rendering,
+         * reset by the series at the begin of draw
+         */
+        protected final RenderStats stats = new RenderStats();
+    }
+
+    /**
+     * render state per GraphView
+     */
+    private final Map<GraphView, RenderState<E>> mRenderStates = new WeakHashMap<GraphView, RenderState<E>>();
 
     /**
      * title for this series that can be displayed
@@ -75,32 +127,41 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
     private int mColor = 0xff0077cc;
 
     /**
-     * cache for lowest y value
+     * listener to handle tap events on a data point
      */
-    private double mLowestYCache = Double.NaN;
+    protected OnDataPointTapListener mOnDataPointTapListener;
 
     /**
-     * cahce for highest y value
+     * stores the graphviews where this series is used.
+     * Can be more than one, also from
+     * different threads.
      */
-    private double mHighestYCache = Double.NaN;
+    private List<WeakReference<GraphView>> mGraphViews;
 
     /**
-     * listener to handle tap events on a data point
+     * incremented on every change of the data.
+     * Volatile, because a graph may be drawn on
+     * another thread, e.g. in a GraphSurfaceView.
      */
-    protected OnDataPointTapListener mOnDataPointTapListener;
+    private volatile int mDataVersion;
 
     /**
-     * stores the graphviews where this series is used.
-     * Can be more than one.
+     * data version of the last change that was not
+     * an append at the end
      */
-    private List<WeakReference<GraphView>> mGraphViews;
-    private Boolean mIsCursorModeCache;
+    private volatile int mResetVersion;
+
+    /**
+     * modification count of a {@link VersionedStorage}
+     * that is already included in the data version
+     */
+    private volatile int mStorageModificationCount;
 
     /**
      * creates series without data
      */
     public BaseSeries() {
-        mGraphViews = new ArrayList<>();
+        mGraphViews = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -110,63 +171,36 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
      *              important: array has to be sorted from lowest x-value to the highest
      */
     public BaseSeries(E[] data) {
-        mGraphViews = new ArrayList<>();
-        for (E d : data) {
-            mData.add(d);
-        }
-        checkValueOrder(null);
+        mGraphViews = new CopyOnWriteArrayList<>();
+        mStorage.reset(data);
     }
 
     /**
      * @return the lowest x value, or 0 if there is no data
      */
     public double getLowestValueX() {
-        if (mData.isEmpty()) return 0d;
-        return mData.get(0).getX();
+        return mStorage.getLowestValueX();
     }
 
     /**
      * @return the highest x value, or 0 if there is no data
      */
     public double getHighestValueX() {
-        if (mData.isEmpty()) return 0d;
-        return mData.get(mData.size()-1).getX();
+        return mStorage.getHighestValueX();
     }
 
     /**
      * @return the lowest y value, or 0 if there is no data
      */
     public double getLowestValueY() {
-        if (mData.isEmpty()) return 0d;
-        if (!Double.isNaN(mLowestYCache)) {
-            return mLowestYCache;
-        }
-        double l = mData.get(0).getY();
-        for (int i = 1; i < mData.size(); i++) {
-            double c = mData.get(i).getY();
-            if (l > c) {
-                l = c;
-            }
-        }
-        return mLowestYCache = l;
+        return mStorage.getLowestValueY();
     }
 
     /**
      * @return the highest y value, or 0 if there is no data
      */
     public double getHighestValueY() {
-        if (mData.isEmpty()) return 0d;
-        if (!Double.isNaN(mHighestYCache)) {
-            return mHighestYCache;
-        }
-        double h = mData.get(0).getY();
-        for (int i = 1; i < mData.size(); i++) {
-            double c = mData.get(i).getY();
-            if (h < c) {
-                h = c;
-            }
-        }
-        return mHighestYCache = h;
+        return mStorage.getHighestValueY();
     }
 
     /**
@@ -181,73 +215,7 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
      */
     @Override
     public Iterator<E> getValues(final double from, final double until) {
-        if (from <= getLowestValueX() && until >= getHighestValueX()) {
-            return mData.iterator();
-        } else {
-            return new Iterator<E>() {
-                Iterator<E> org = mData.iterator();
-                E nextValue = null;
-                E nextNextValue = null;
-                boolean plusOne = true;
-
-                {
-                    // go to first
-                    boolean found = false;
-                    E prevValue = null;
-                    if (org.hasNext()) {
-                        prevValue = org.next();
-                    }
-                    if (prevValue != null) {
-                        if (prevValue.getX() >= from) {
-                            nextValue = prevValue;
-                            found = true;
-                        } else {
-                            while (org.hasNext()) {
-                                nextValue = org.next();
-                                if (nextValue.getX() >= from) {
-                                    found = true;
-                                    nextNextValue = nextValue;
-                                    nextValue = prevValue;
-                                    break;
-                                }
-                                prevValue = nextValue;
-                            }
-                        }
-                    }
-                    if (!found) {
-                        nextValue = null;
-                    }
-                }
-
-                @Override
-                public void remove() {
-                    throw new UnsupportedOperationException();
-                }
-
-                @Override
-                public E next() {
-                    if (hasNext()) {
-                        E r = nextValue;
-                        if (r.getX() > until) {
-                            plusOne = false;
-                        }
-                        if (nextNextValue != null) {
-                            nextValue = nextNextValue;
-                            nextNextValue = null;
-                        } else if (org.hasNext()) nextValue = org.next();
-                        else nextValue = null;
-                        return r;
-                    } else {
-                        throw new NoSuchElementException();
-                    }
-                }
-
-                @Override
-                public boolean hasNext() {
-                    return nextValue != null && (nextValue.getX() <= until || plusOne);
-                }
-            };
-        }
+        return mStorage.getValues(from, until);
     }
 
     /**
@@ -297,14 +265,31 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
     /**
      * called by the tap detector in order to trigger
      * the on tap on datapoint event.
+     * Uses the coordinates of the first GraphView.
      *
      * @param x pixel
      * @param y pixel
+     * @see #onTap(GraphView, float, float)
      */
     @Override
     public void onTap(float x, float y) {
+        GraphView graphView = getFirstGraphView();
+        if (graphView != null) {
+            onTap(graphView, x, y);
+        }
+    }
+
+    /**
+     * called by the tap detector of a GraphView in order to trigger
+     * the on tap on datapoint event.
+     *
+     * @param graphView the graphview that was tapped
+     * @param x pixel
+     * @param y pixel
+     */
+    public void onTap(GraphView graphView, float x, float y) {
         if (mOnDataPointTapListener != null) {
-            E p = findDataPoint(x, y);
+            E p = findDataPoint(graphView, x, y);
             if (p != null) {
                 mOnDataPointTapListener.onTap(this, p);
             }
@@ -315,14 +300,15 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
      * find the data point which is next to the
      * coordinates
      *
+     * @param graphView the graphview
      * @param x pixel
      * @param y pixel
      * @return the data point or null if nothing was found
      */
-    protected E findDataPoint(float x, float y) {
+    protected E findDataPoint(GraphView graphView, float x, float y) {
         float shortestDistance = Float.NaN;
         E shortest = null;
-        for (Map.Entry<PointF, E> entry : mDataPoints.entrySet()) {
+        for (Map.Entry<PointF, E> entry : getRenderState(graphView).dataPoints.entrySet()) {
             float x1 = entry.getKey().x;
             float y1 = entry.getKey().y;
             float x2 = x;
@@ -342,10 +328,45 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
         return null;
     }
 
+    /**
+     * Uses the coordinates of the first GraphView.
+     *
+     * @deprecated use {@link #findDataPoint(GraphView, float, float)}
+     */
+    @Deprecated
+    protected E findDataPoint(float x, float y) {
+        GraphView graphView = getFirstGraphView();
+        if (graphView == null) {
+            return null;
+        }
+        return findDataPoint(graphView, x, y);
+    }
+
+    /**
+     * Uses the coordinates of the first GraphView.
+     *
+     * @see #findDataPointAtX(GraphView, float)
+     */
     public E findDataPointAtX(float x) {
+        GraphView graphView = getFirstGraphView();
+        if (graphView == null) {
+            return null;
+        }
+        return findDataPointAtX(graphView, x);
+    }
+
+    /**
+     * find the data point which is next to the
+     * x coordinate
+     *
+     * @param graphView the graphview
+     * @param x pixel
+     * @return the data point or null if nothing was found
+     */
+    public E findDataPointAtX(GraphView graphView, float x) {
         float shortestDistance = Float.NaN;
         E shortest = null;
-        for (Map.Entry<PointF, E> entry : mDataPoints.entrySet()) {
+        for (Map.Entry<PointF, E> entry : getRenderState(graphView).dataPoints.entrySet()) {
             float x1 = entry.getKey().x;
             float x2 = x;
 
@@ -366,35 +387,104 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
     /**
      * register the datapoint to find it at a tap
      *
+     * @param graphView the graphview that is drawn
      * @param x pixel
      * @param y pixel
      * @param dp the data point to save
      */
-    protected void registerDataPoint(float x, float y, E dp) {
+    protected void registerDataPoint(GraphView graphView, float x, float y, E dp) {
         // performance
         // TODO maybe invalidate after setting the listener
-        if (mOnDataPointTapListener != null || isCursorMode()) {
-            mDataPoints.put(new PointF(x, y), dp);
+        if (mOnDataPointTapListener != null || graphView.isCursorMode()) {
+            getRenderState(graphView).dataPoints.put(new PointF(x, y), dp);
         }
     }
 
-    private boolean isCursorMode() {
-        if (mIsCursorModeCache != null) {
-            return mIsCursorModeCache;
-        }
-        for (WeakReference<GraphView> graphView : mGraphViews) {
-            if (graphView != null && graphView.get() != null && graphView.get().isCursorMode()) {
-                return mIsCursorModeCache = true;
-            }
+    /**
+     * Registers the data point in the first GraphView.
+     *
+     * @deprecated use {@link #registerDataPoint(GraphView, float, float, DataPointInterface)}
+     */
+    @Deprecated
+    protected void registerDataPoint(float x, float y, E dp) {
+        GraphView graphView = getFirstGraphView();
+        if (graphView != null) {
+            registerDataPoint(graphView, x, y, dp);
         }
-        return mIsCursorModeCache = false;
     }
 
     /**
      * clears the cached data point coordinates
+     *
+     * @param graphView the graphview that is drawn
      */
+    protected void resetDataPoints(GraphView graphView) {
+        getRenderState(graphView).dataPoints.clear();
+    }
+
+    /**
+     * Clears the coordinates of the first GraphView.
+     *
+     * @deprecated use {@link #resetDataPoints(GraphView)}
+     */
+    @Deprecated
     protected void resetDataPoints() {
-        mDataPoints.clear();
+        GraphView graphView = getFirstGraphView();
+        if (graphView != null) {
+            resetDataPoints(graphView);
+        }
+    }
+
+    /**
+     * @param graphView the graphview
+     * @return counters of the last rendering in the graphview
+     */
+    public RenderStats getRenderStats(GraphView graphView) {
+        return getRenderState(graphView).stats;
+    }
+
+    /**
+     * @return a new render state, override to use
+     * a subclass of {@link RenderState}
+     */
+    protected RenderState<E> createRenderState() {
+        return new RenderState<E>();
+    }
+
+    /**
+     * @param graphView the graphview
+     * @return the render state of this series in the graphview
+     */
+    protected RenderState<E> getRenderState(GraphView graphView) {
+        synchronized (mRenderStates) {
+            RenderState<E> state = mRenderStates.get(graphView);
+            if (state == null) {
+                state = createRenderState();
+                mRenderStates.put(graphView, state);
+            }
+            return state;
+        }
+    }
+
+    /**
+     * @return the render states of all graphviews
+     */
+    protected List<RenderState<E>> getRenderStates() {
+        synchronized (mRenderStates) {
+            return new ArrayList<RenderState<E>>(mRenderStates.values());
+        }
+    }
+
+    /**
+     * @return the first graphview that uses this series, or null
+     */
+    private GraphView getFirstGraphView() {
+        for (WeakReference<GraphView> graphView : mGraphViews) {
+            if (graphView != null && graphView.get() != null) {
+                return graphView.get();
+            }
+        }
+        return null;
     }
 
     /**
@@ -405,18 +495,28 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
      *             x-value has to be ASC. First the lowest x value and at least the highest x value.
      */
     public void resetData(E[] data) {
-        mData.clear();
-        for (E d : data) {
-            mData.add(d);
-        }
-        checkValueOrder(null);
+        resetData(data, false);
+    }
 
-        mHighestYCache = mLowestYCache = Double.NaN;
+    /**
+     * clears the data of this series and sets new.
+     *
+     * @param data the values must be in the correct order!
+     *             x-value has to be ASC. First the lowest x value and at least the highest x value.
+     * @param silent set true to avoid rerender the graph
+     */
+    public void resetData(E[] data, boolean silent) {
+        mStorage.reset(data);
+        mStorageModificationCount = getStorageModificationCount();
+        mDataVersion++;
+        mResetVersion = mDataVersion;
 
-        // update graphview
-        for (WeakReference<GraphView> gv : mGraphViews) {
-            if (gv != null && gv.get() != null) {
-                gv.get().onDataChanged(true, false);
+        if (!silent) {
+            // update graphview
+            for (WeakReference<GraphView> gv : mGraphViews) {
+                if (gv != null && gv.get() != null) {
+                    gv.get().onDataChanged(true, false);
+                }
             }
         }
     }
@@ -443,38 +543,16 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
     public void appendData(E dataPoint, boolean scrollToEnd, int maxDataPoints, boolean silent) {
         checkValueOrder(dataPoint);
 
-        if (!mData.isEmpty() && dataPoint.getX() < mData.get(mData.size()-1).getX()) {
-            throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
-        }
-        synchronized (mData) {
-            int curDataCount = mData.size();
-            if (curDataCount < maxDataPoints) {
-                // enough space
-                mData.add(dataPoint);
-            } else {
-                // we have to trim one data
-                mData.remove(0);
-                mData.add(dataPoint);
-            }
-
-            // update lowest/highest cache
-            double dataPointY = dataPoint.getY();
-            if (!Double.isNaN(mHighestYCache)) {
-                if (dataPointY > mHighestYCache) {
-                    mHighestYCache = dataPointY;
-                }
-            }
-            if (!Double.isNaN(mLowestYCache)) {
-                if (dataPointY < mLowestYCache) {
-                    mLowestYCache = dataPointY;
-                }
-            }
-
-        }
+        boolean wasEmpty = mStorage.isEmpty();
+        // changes directly on the storage since the last update
+        syncStorageVersion();
+        mStorage.append(dataPoint, maxDataPoints);
+        mStorageModificationCount = getStorageModificationCount();
+        mDataVersion++;
 
         if (!silent) {
             // recalc the labels when it was the first data
-            boolean keepLabels = mData.size() != 1;
+            boolean keepLabels = !wasEmpty;
 
             // update linked graph views
             // update graphview
@@ -502,12 +580,46 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
         appendData(dataPoint, scrollToEnd, maxDataPoints, false);
     }
 
+    /**
+     * marks the data as changed and redraws the graphs.
+     * Call this after the data was changed directly on the
+     * storage, e.g. after {@link PagedSeriesStorage#clearCache()}
+     * or an append via {@link #getStorage()}.
+     */
+    public void notifyDataChanged() {
+        notifyDataChanged(false, false);
+    }
+
+    /**
+     * for subclasses that change data points in place,
+     * e.g. the last data point. Marks the data as changed
+     * and updates the graphs.
+     *
+     * @param keepLabels true if the size of the labels can be kept
+     * @param scrollToEnd true => graphview will scroll to the end (maxX)
+     */
+    protected void notifyDataChanged(boolean keepLabels, boolean scrollToEnd) {
+        mStorageModificationCount = getStorageModificationCount();
+        mDataVersion++;
+        mResetVersion = mDataVersion;
+
+        for (WeakReference<GraphView> gv : mGraphViews) {
+            if (gv != null && gv.get() != null) {
+                if (scrollToEnd) {
+                    gv.get().getViewport().scrollToEnd();
+                } else {
+                    gv.get().onDataChanged(keepLabels, false);
+                }
+            }
+        }
+    }
+
     /**
      * @return whether there are data points
      */
     @Override
     public boolean isEmpty() {
-        return mData.isEmpty();
+        return mStorage.isEmpty();
     }
 
     /**
@@ -517,31 +629,144 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
      *                  datapoint is after the last point.
      */
     protected void checkValueOrder(DataPointInterface onlyLast) {
-        if (mData.size()>1) {
-            if (onlyLast != null) {
-                // only check last
-                if (onlyLast.getX() < mData.get(mData.size()-1).getX()) {
-                    throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
-                }
-            } else {
-                double lx = mData.get(0).getX();
-
-                for (int i = 1; i < mData.size(); i++) {
-                    if (mData.get(i).getX() != Double.NaN) {
-                        if (lx > mData.get(i).getX()) {
-                            throw new IllegalArgumentException("The order of the values is not correct. X-Values have to be ordered ASC. First the lowest x value and at least the highest x value.");
-                        }
-                        lx = mData.get(i).getX();
-                    }
+        if (mStorage.isEmpty()) {
+            return;
+        }
+        if (onlyLast != null) {
+            // only check last
+            if (onlyLast.getX() < mStorage.getHighestValueX()) {
+                throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
+            }
+        } else if (!(mStorage instanceof PagedSeriesStorage)) {
+            // the paged source is responsible for the order, scanning would load all pages
+            Iterator<E> values = mStorage.getValues(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+            double lx = values.next().getX();
+            while (values.hasNext()) {
+                double x = values.next().getX();
+                if (lx > x) {
+                    throw new IllegalArgumentException("The order of the values is not correct. X-Values have to be ordered ASC. First the lowest x value and at least the highest x value.");
                 }
+                lx = x;
             }
         }
     }
 
+    /**
+     * @return a number that changes on every change of the data,
+     * e.g. to detect that cached renderings are outdated
+     */
+    public int getDataVersion() {
+        syncStorageVersion();
+        return mDataVersion;
+    }
+
+    /**
+     * @return the data version of the last change that was not
+     * an append via appendData. Every data version after it
+     * appended one data point at the end (old data points
+     * may have been removed at the begin), e.g. to extend
+     * cached renderings instead of building them again.
+     */
+    public int getResetVersion() {
+        syncStorageVersion();
+        return mResetVersion;
+    }
+
+    /**
+     * @return the modification count of the storage,
+     * 0 if it is no {@link VersionedStorage}
+     */
+    private int getStorageModificationCount() {
+        if (mStorage instanceof VersionedStorage) {
+            return ((VersionedStorage) mStorage).getModificationCount();
+        }
+        return 0;
+    }
+
+    /**
+     * increments the data version if the storage was
+     * modified directly, e.g. via {@link #getStorage()} or
+     * {@link PagedSeriesStorage#clearCache()}. This is
+     * handled like a reset, because the kind of the change
+     * is unknown.
+     */
+    private void syncStorageVersion() {
+        int count = getStorageModificationCount();
+        if (count != mStorageModificationCount) {
+            mStorageModificationCount = count;
+            mDataVersion++;
+            mResetVersion = mDataVersion;
+        }
+    }
+
+    /**
+     * @return the storage that holds the data of this series
+     */
+    public SeriesStorage<E> getStorage() {
+        return mStorage;
+    }
+
+    /**
+     * use a specific storage backend for the data
+     * of this series, e.g. to provide the data from
+     * a source that does not fit into memory.
+     * will redraw the graph
+     *
+     * @param storage the storage to use
+     * @see com.jjoe64.graphview.series.PagedSeriesStorage
+     */
+    public void setStorage(SeriesStorage<E> storage) {
+        mStorage = storage;
+        mStorageModificationCount = getStorageModificationCount();
+        mDataVersion++;
+        mResetVersion = mDataVersion;
+
+        // update graphview
+        for (WeakReference<GraphView> gv : mGraphViews) {
+            if (gv != null && gv.get() != null) {
+                gv.get().onDataChanged(false, false);
+            }
+        }
+    }
+
+    /**
+     * @param graphView the graphview that is drawn
+     * @return transform to convert the data points to pixel
+     * coordinates while drawing
+     */
+    protected PointTransform<E> getPointTransform(GraphView graphView) {
+        return getRenderState(graphView).transform;
+    }
+
+    /**
+     * Uses the transform of the first GraphView. Without
+     * a GraphView a transform that belongs to no view is used.
+     *
+     * @deprecated use {@link #getPointTransform(GraphView)}
+     */
+    @Deprecated
+    protected PointTransform<E> getPointTransform() {
+        return getRenderState(getFirstGraphView()).transform;
+    }
+
     public abstract void drawSelection(GraphView mGraphView, Canvas canvas, boolean b, DataPointInterface value);
 
+    /**
+     * the cursor mode is read from the GraphView while
+     * drawing. This clears the data point coordinates that
+     * were registered with the previous mode, so a tap or
+     * the cursor does not find points of an old frame.
+     * The graphs are redrawn.
+     */
     public void clearCursorModeCache() {
-        mIsCursorModeCache = null;
+        for (RenderState<E> state : getRenderStates()) {
+            state.dataPoints.clear();
+        }
+        for (WeakReference<GraphView> gv : mGraphViews) {
+            if (gv != null && gv.get() != null) {
+                gv.get().postInvalidate();
+            }
+        }
     }
 
     @Override
@@ -553,5 +778,8 @@ public abstract class BaseSeries<E extends DataPointInterface> implements Series
                 break;
             }
         }
+        synchronized (mRenderStates) {
+            mRenderStates.remove(graphView);
+        }
     }
 }
@@ -0,0 +1,529 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import com.jjoe64.graphview.GraphView;
+import com.jjoe64.graphview.RecordingPath;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Series that draws OHLC data as candle sticks.
+ *
+ * Raw ticks can be added via {@link #appendTick(double, double, boolean, int)},
+ * they are aggregated into candles with a fixed interval.
+ * A tick only updates the last candle. The x-value of a
+ * candle is the start of its interval, it is drawn in the
+ * middle of the interval.
+ *
+ * When zoomed out so far that the candles would be thinner
+ * than {@link #setMinCandleWidth(float)}, neighbouring
+ * candles are merged into candles of a multiple of the
+ * interval. So the number of candles is limited by the
+ * width of the graph.
+ *
+ * All candles are drawn with four draw calls (wicks and
+ * bodies of rising and falling candles).
+ *
+ * @author jjoe64
+ */
+public class CandleStickSeries extends BaseSeries<OhlcDataPoint> {
+    /**
+     * wrapped styles for this series
+     */
+    private final class Styles {
+        /**
+         * color of candles with close &gt;= open
+         */
+        int risingColor;
+
+        /**
+         * color of candles with close &lt; open
+         */
+        int fallingColor;
+
+        /**
+         * width of the body relative to the interval
+         */
+        float bodyWidthRatio;
+
+        /**
+         * thickness of the wicks in pixel
+         */
+        float wickThickness;
+
+        /**
+         * minimal width of a candle in pixel
+         */
+        float minCandleWidth;
+    }
+
+    /**
+     * wrapped styles
+     */
+    private Styles mStyles;
+
+    /**
+     * interval of a candle in x-units
+     */
+    private final double mInterval;
+
+    /**
+     * internal paint object
+     */
+    private Paint mPaint;
+
+    /**
+     * the last candle that gets the ticks,
+     * null if it has to be read from the storage
+     */
+    private OhlcDataPoint mLastCandle;
+
+    /**
+     * cached lowest low and highest high,
+     * NaN if it has to be recalculated
+     */
+    private double mLowestY = Double.NaN;
+    private double mHighestY = Double.NaN;
+
+    /**
+     * reused buffers for the batched drawing
+     */
+    private float[] mRisingWicks = new float[64];
+    private float[] mFallingWicks = new float[64];
+    private int mRisingWickCount;
+    private int mFallingWickCount;
+    private final RecordingPath mRisingBodies = new RecordingPath();
+    private final RecordingPath mFallingBodies = new RecordingPath();
+
+    /**
+     * the candle that is aggregated while drawing
+     */
+    private double mGroupX;
+    private double mGroupOpen;
+    private double mGroupHigh;
+    private double mGroupLow;
+    private double mGroupClose;
+
+    /**
+     * creates the series without data
+     *
+     * @param interval interval of a candle in x-units,
+     *                 e.g. 60000 for one minute when the x-values are millis
+     */
+    public CandleStickSeries(double interval) {
+        mInterval = interval;
+        init();
+    }
+
+    /**
+     * creates the series with data
+     *
+     * @param interval interval of a candle in x-units
+     * @param data the candles, sorted by x-value
+     */
+    public CandleStickSeries(double interval, OhlcDataPoint[] data) {
+        super(data);
+        mInterval = interval;
+        init();
+    }
+
+    /**
+     * inits the internal objects
+     * set the defaults
+     */
+    protected void init() {
+        mStyles = new Styles();
+        mStyles.risingColor = Color.rgb(38, 166, 91);
+        mStyles.fallingColor = Color.rgb(217, 48, 37);
+        mStyles.bodyWidthRatio = 0.7f;
+        mStyles.wickThickness = 2f;
+        mStyles.minCandleWidth = 3f;
+        mPaint = new Paint();
+        mPaint.setStyle(Paint.Style.FILL);
+    }
+
+    /**
+     * adds a tick. The tick is added to the last candle
+     * if it is in the same interval, otherwise a new
+     * candle is appended.
+     * The default storage is needed, because the last
+     * candle is changed in place.
+     *
+     * @param x x-value of the tick, has to be ascending
+     * @param price the price of the tick
+     * @param scrollToEnd true => graphview will scroll to the end (maxX)
+     * @param maxDataPoints if max candle count is reached, the oldest
+     *                      candle will be lost to avoid memory leaks
+     */
+    public void appendTick(double x, double price, boolean scrollToEnd, int maxDataPoints) {
+        double candleX = Math.floor(x / mInterval) * mInterval;
+        OhlcDataPoint last = getLastCandle();
+        if (last != null && candleX < last.getX()) {
+            throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
+        }
+        if (last != null && candleX == last.getX()) {
+            last.addTick(price);
+            if (!Double.isNaN(mLowestY)) {
+                mLowestY = Math.min(mLowestY, price);
+                mHighestY = Math.max(mHighestY, price);
+            }
+            notifyDataChanged(true, scrollToEnd);
+        } else {
+            appendData(new OhlcDataPoint(candleX, price, price, price, price), scrollToEnd, maxDataPoints);
+        }
+    }
+
+    /**
+     * appends a complete candle
+     *
+     * @param dataPoint the candle, x-value has to be ascending
+     * @param scrollToEnd true => graphview will scroll to the end (maxX)
+     * @param maxDataPoints if max data count is reached, the oldest data
+     *                      value will be lost to avoid memory leaks
+     * @param silent    set true to avoid rerender the graph
+     */
+    @Override
+    public void appendData(OhlcDataPoint dataPoint, boolean scrollToEnd, int maxDataPoints, boolean silent) {
+        boolean wasEmpty = isEmpty();
+        OhlcDataPoint oldest = wasEmpty ? null : getValues(Double.NEGATIVE_INFINITY, getLowestValueX()).next();
+
+        // the graph is updated when the caches are up to date
+        super.appendData(dataPoint, false, maxDataPoints, true);
+        mLastCandle = dataPoint;
+
+        if (!Double.isNaN(mLowestY)) {
+            if (oldest != null && getLowestValueX() != oldest.getX()
+                    && (oldest.getLow() <= mLowestY || oldest.getHigh() >= mHighestY)) {
+                // the removed candle was the lowest or highest
+                mLowestY = mHighestY = Double.NaN;
+            } else {
+                mLowestY = Math.min(mLowestY, dataPoint.getLow());
+                mHighestY = Math.max(mHighestY, dataPoint.getHigh());
+            }
+        }
+
+        if (!silent) {
+            notifyDataChanged(!wasEmpty, scrollToEnd);
+        }
+    }
+
+    @Override
+    public void resetData(OhlcDataPoint[] data, boolean silent) {
+        mLastCandle = null;
+        mLowestY = mHighestY = Double.NaN;
+        super.resetData(data, silent);
+    }
+
+    @Override
+    public void setStorage(SeriesStorage<OhlcDataPoint> storage) {
+        mLastCandle = null;
+        mLowestY = mHighestY = Double.NaN;
+        super.setStorage(storage);
+    }
+
+    /**
+     * @return the last candle or null if there is no data
+     */
+    private OhlcDataPoint getLastCandle() {
+        if (mLastCandle == null && !isEmpty()) {
+            Iterator<OhlcDataPoint> values = getValues(getHighestValueX(), Double.POSITIVE_INFINITY);
+            while (values.hasNext()) {
+                mLastCandle = values.next();
+            }
+        }
+        return mLastCandle;
+    }
+
+    /**
+     * @return the lowest low, or 0 if there is no data
+     */
+    @Override
+    public double getLowestValueY() {
+        if (isEmpty()) {
+            return 0d;
+        }
+        if (Double.isNaN(mLowestY)) {
+            calcValueRangeY();
+        }
+        return mLowestY;
+    }
+
+    /**
+     * @return the highest high, or 0 if there is no data
+     */
+    @Override
+    public double getHighestValueY() {
+        if (isEmpty()) {
+            return 0d;
+        }
+        if (Double.isNaN(mHighestY)) {
+            calcValueRangeY();
+        }
+        return mHighestY;
+    }
+
+    private void calcValueRangeY() {
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        Iterator<OhlcDataPoint> values = getValues(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        while (values.hasNext()) {
+            OhlcDataPoint p = values.next();
+            low = Math.min(low, p.getLow());
+            high = Math.max(high, p.getHigh());
+        }
+        mLowestY = low;
+        mHighestY = high;
+    }
+
+    /**
+     * plot the candles to the viewport
+     *
+     * @param graphView graphview
+     * @param canvas canvas to draw on
+     * @param isSecondScale whether it is the second scale
+     */
+    @Override
+    public void draw(GraphView graphView, Canvas canvas, boolean isSecondScale) {
+        resetDataPoints(graphView);
+        RenderStats stats = getRenderStats(graphView);
+        stats.reset();
+
+        // get data
+        double maxX = graphView.getViewport().getMaxX(false);
+        double minX = graphView.getViewport().getMinX(false);
+
+        double maxY;
+        double minY;
+        if (isSecondScale) {
+            maxY = graphView.getSecondScale().getMaxY(false);
+            minY = graphView.getSecondScale().getMinY(false);
+        } else {
+            maxY = graphView.getViewport().getMaxY(false);
+            minY = graphView.getViewport().getMinY(false);
+        }
+
+        float graphHeight = graphView.getGraphContentHeight();
+        float graphWidth = graphView.getGraphContentWidth();
+        float graphLeft = graphView.getGraphContentLeft();
+        float graphTop = graphView.getGraphContentTop();
+
+        PointTransform<OhlcDataPoint> transform = getPointTransform(graphView);
+        transform.setViewport(minX, maxX, minY, maxY, graphWidth, graphHeight);
+
+        // merge candles when they get too thin
+        int maxCandles = Math.max(1, (int) (graphWidth / mStyles.minCandleWidth));
+        int factor = Math.max(1, (int) Math.ceil((maxX - minX) / mInterval / maxCandles));
+        double interval = mInterval * factor;
+        float halfBody = Math.max(0.5f, (transform.transformX(minX + interval) - transform.transformX(minX))
+                * mStyles.bodyWidthRatio / 2f);
+
+        mRisingWickCount = 0;
+        mFallingWickCount = 0;
+        mRisingBodies.setRecordingFor(canvas);
+        mFallingBodies.setRecordingFor(canvas);
+        mRisingBodies.reset();
+        mFallingBodies.reset();
+
+        Iterator<OhlcDataPoint> values = getValues(minX, maxX);
+        OhlcDataPoint last = null;
+        while (values.hasNext()) {
+            OhlcDataPoint p = values.next();
+            stats.addVisited(1);
+            double groupX = factor == 1 ? p.getX() : Math.floor(p.getX() / interval) * interval;
+            if (last != null && groupX == mGroupX) {
+                mGroupHigh = Math.max(mGroupHigh, p.getHigh());
+                mGroupLow = Math.min(mGroupLow, p.getLow());
+                mGroupClose = p.getClose();
+                stats.addMerged(1);
+            } else {
+                if (last != null) {
+                    addCandle(graphView, transform, last, interval, halfBody, stats);
+                }
+                mGroupX = groupX;
+                mGroupOpen = p.getOpen();
+                mGroupHigh = p.getHigh();
+                mGroupLow = p.getLow();
+                mGroupClose = p.getClose();
+            }
+            last = p;
+        }
+        if (last != null) {
+            addCandle(graphView, transform, last, interval, halfBody, stats);
+        }
+
+        mPaint.setStrokeWidth(mStyles.wickThickness);
+        if (mRisingWickCount > 0) {
+            mPaint.setColor(mStyles.risingColor);
+            canvas.drawLines(mRisingWicks, 0, mRisingWickCount, mPaint);
+            canvas.drawPath(mRisingBodies, mPaint);
+            stats.addEmitted(2);
+        }
+        if (mFallingWickCount > 0) {
+            mPaint.setColor(mStyles.fallingColor);
+            canvas.drawLines(mFallingWicks, 0, mFallingWickCount, mPaint);
+            canvas.drawPath(mFallingBodies, mPaint);
+            stats.addEmitted(2);
+        }
+    }
+
+    /**
+     * adds the aggregated candle to the buffers
+     *
+     * @param last the last data point of the candle, used for taps
+     * @param interval interval of the drawn candles, the candle
+     *                 is centered in its interval
+     */
+    private void addCandle(GraphView graphView, PointTransform<OhlcDataPoint> transform,
+                           OhlcDataPoint last, double interval, float halfBody, RenderStats stats) {
+        float graphLeft = graphView.getGraphContentLeft();
+        float graphRight = graphLeft + graphView.getGraphContentWidth();
+        float cx = graphLeft + transform.transformX(mGroupX + interval / 2);
+        if (cx + halfBody < graphLeft || cx - halfBody > graphRight) {
+            stats.addCulled(1);
+            return;
+        }
+        float bottom = graphView.getGraphContentTop() + graphView.getGraphContentHeight();
+        float top = graphView.getGraphContentTop();
+        float yHigh = clamp(bottom - transform.transformY(mGroupHigh), top, bottom);
+        float yLow = clamp(bottom - transform.transformY(mGroupLow), top, bottom);
+        float yOpen = clamp(bottom - transform.transformY(mGroupOpen), top, bottom);
+        float yClose = clamp(bottom - transform.transformY(mGroupClose), top, bottom);
+
+        boolean rising = mGroupClose >= mGroupOpen;
+        float bodyTop = Math.min(yOpen, yClose);
+        float bodyBottom = Math.max(bodyTop + 1f, Math.max(yOpen, yClose));
+        float left = Math.max(graphLeft, cx - halfBody);
+        float right = Math.min(graphRight, cx + halfBody);
+        if (rising) {
+            mRisingWicks = addWick(mRisingWicks, mRisingWickCount, cx, yHigh, yLow);
+            mRisingWickCount += 4;
+            mRisingBodies.addRect(left, bodyTop, right, bodyBottom, Path.Direction.CW);
+        } else {
+            mFallingWicks = addWick(mFallingWicks, mFallingWickCount, cx, yHigh, yLow);
+            mFallingWickCount += 4;
+            mFallingBodies.addRect(left, bodyTop, right, bodyBottom, Path.Direction.CW);
+        }
+        registerDataPoint(graphView, cx, yClose, last);
+    }
+
+    private static float[] addWick(float[] buffer, int count, float x, float yHigh, float yLow) {
+        if (count + 4 > buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        buffer[count] = x;
+        buffer[count + 1] = yHigh;
+        buffer[count + 2] = x;
+        buffer[count + 3] = yLow;
+        return buffer;
+    }
+
+    private static float clamp(float v, float min, float max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    /**
+     * @return interval of a candle in x-units
+     */
+    public double getInterval() {
+        return mInterval;
+    }
+
+    /**
+     * @return color of candles with close &gt;= open
+     */
+    public int getRisingColor() {
+        return mStyles.risingColor;
+    }
+
+    /**
+     * @param risingColor color of candles with close &gt;= open
+     */
+    public void setRisingColor(int risingColor) {
+        mStyles.risingColor = risingColor;
+    }
+
+    /**
+     * @return color of candles with close &lt; open
+     */
+    public int getFallingColor() {
+        return mStyles.fallingColor;
+    }
+
+    /**
+     * @param fallingColor color of candles with close &lt; open
+     */
+    public void setFallingColor(int fallingColor) {
+        mStyles.fallingColor = fallingColor;
+    }
+
+    /**
+     * @return width of the body relative to the interval
+     */
+    public float getBodyWidthRatio() {
+        return mStyles.bodyWidthRatio;
+    }
+
+    /**
+     * @param bodyWidthRatio width of the body relative to the
+     *                       interval, between 0 and 1. Default 0.7
+     */
+    public void setBodyWidthRatio(float bodyWidthRatio) {
+        mStyles.bodyWidthRatio = bodyWidthRatio;
+    }
+
+    /**
+     * @return thickness of the wicks in pixel
+     */
+    public float getWickThickness() {
+        return mStyles.wickThickness;
+    }
+
+    /**
+     * @param wickThickness thickness of the wicks in pixel
+     */
+    public void setWickThickness(float wickThickness) {
+        mStyles.wickThickness = wickThickness;
+    }
+
+    /**
+     * @return minimal width of a candle in pixel
+     */
+    public float getMinCandleWidth() {
+        return mStyles.minCandleWidth;
+    }
+
+    /**
+     * @param minCandleWidth minimal width of a candle in pixel.
+     *                       When zoomed out further, candles are merged.
+     *                       Default 3
+     */
+    public void setMinCandleWidth(float minCandleWidth) {
+        mStyles.minCandleWidth = minCandleWidth;
+    }
+
+    @Override
+    public void drawSelection(GraphView graphView, Canvas canvas, boolean b, DataPointInterface value) {
+        // not supported
+    }
+}
@@ -0,0 +1,578 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Storage that keeps the data points compressed in memory.
+ *
+ * The data is stored in blocks with a fixed count of data
+ * points. x-values are stored as delta-of-delta and y-values
+ * XOR compressed (Gorilla). Each block has a header with
+ * first/last x, first/last y and min/max y, so range queries only
+ * decode the blocks that are needed.
+ * The newest data points are kept uncompressed until a block
+ * is full.
+ *
+ * With {@link #setDecimationColumns(int)} blocks that are smaller
+ * than one column of the requested range are not decoded, the
+ * data points are replaced by first, min, max and last of the header.
+ *
+ * The storage can be appended from another thread than
+ * the drawing, the iterators work on a snapshot.
+ *
+ * Regular time series (e.g. one value per second) need
+ * only a few bits per data point instead of a
+ * {@link DataPoint} object.
+ * Note that the iterated data points are new objects,
+ * subclasses of {@link DataPoint} are not preserved.
+ *
+ * @author jjoe64
+ */
+public class CompressedSeriesStorage implements SeriesStorage<DataPoint>, VersionedStorage {
+    /**
+     * compressed block of data points
+     */
+    private static final class Block {
+        byte[] data;
+        int count;
+        boolean integralX;
+        double firstX;
+        double lastX;
+        double firstY;
+        double lastY;
+        double minY;
+        double maxY;
+    }
+
+    /**
+     * count of data points per block
+     */
+    private final int mBlockSize;
+
+    /**
+     * sealed blocks, ordered by x
+     */
+    private final List<Block> mBlocks = new ArrayList<Block>();
+
+    /**
+     * uncompressed newest data points
+     */
+    private final double[] mTailX;
+    private final double[] mTailY;
+    private int mTailCount;
+
+    /**
+     * count of evicted data points in the first block
+     */
+    private int mSkip;
+
+    /**
+     * decoder of the first block that is positioned
+     * at the first not evicted data point
+     */
+    private GorillaCodec.Decoder mHeadDecoder;
+
+    /**
+     * total count of data points
+     */
+    private int mSize;
+
+    /**
+     * counts the modifications of the data
+     */
+    private int mModificationCount;
+
+    /**
+     * cache for lowest y value
+     */
+    private double mLowestYCache = Double.NaN;
+
+    /**
+     * cache for highest y value
+     */
+    private double mHighestYCache = Double.NaN;
+
+    /**
+     * count of columns for the decimation, 0 to disable
+     */
+    private int mDecimationColumns;
+
+    /**
+     * creates the storage with 256 data points per block
+     */
+    public CompressedSeriesStorage() {
+        this(256);
+    }
+
+    /**
+     * @param blockSize count of data points per block.
+     *                  Bigger blocks compress slightly better,
+     *                  smaller blocks decode less for small ranges.
+     */
+    public CompressedSeriesStorage(int blockSize) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("blockSize has to be at least 2");
+        }
+        mBlockSize = blockSize;
+        mTailX = new double[blockSize];
+        mTailY = new double[blockSize];
+    }
+
+    /**
+     * @return whether there are data points
+     */
+    @Override
+    public synchronized boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * @return number of stored data points
+     */
+    public synchronized int size() {
+        return mSize;
+    }
+
+    /**
+     * @return the lowest x value, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getLowestValueX() {
+        if (mSize == 0) return 0d;
+        if (!mBlocks.isEmpty()) {
+            return mSkip == 0 ? mBlocks.get(0).firstX : mHeadDecoder.getX();
+        }
+        return mTailX[0];
+    }
+
+    /**
+     * @return the highest x value, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getHighestValueX() {
+        if (mSize == 0) return 0d;
+        if (mTailCount > 0) {
+            return mTailX[mTailCount - 1];
+        }
+        return mBlocks.get(mBlocks.size() - 1).lastX;
+    }
+
+    /**
+     * @return the lowest y value, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getLowestValueY() {
+        if (mSize == 0) return 0d;
+        if (Double.isNaN(mLowestYCache)) {
+            calcBoundsY();
+        }
+        return mLowestYCache;
+    }
+
+    /**
+     * @return the highest y value, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getHighestValueY() {
+        if (mSize == 0) return 0d;
+        if (Double.isNaN(mHighestYCache)) {
+            calcBoundsY();
+        }
+        return mHighestYCache;
+    }
+
+    /**
+     * calculates the y bounds from the block headers.
+     * Only a partly evicted first block has to be decoded.
+     */
+    private void calcBoundsY() {
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < mBlocks.size(); i++) {
+            Block block = mBlocks.get(i);
+            if (i == 0 && mSkip > 0) {
+                GorillaCodec.Decoder decoder = new GorillaCodec.Decoder(block.data, 0, block.count, block.integralX);
+                int index = 0;
+                while (decoder.next()) {
+                    if (index++ < mSkip) continue;
+                    double y = decoder.getY();
+                    if (y < low) low = y;
+                    if (y > high) high = y;
+                }
+            } else {
+                if (block.minY < low) low = block.minY;
+                if (block.maxY > high) high = block.maxY;
+            }
+        }
+        for (int i = 0; i < mTailCount; i++) {
+            double y = mTailY[i];
+            if (y < low) low = y;
+            if (y > high) high = y;
+        }
+        mLowestYCache = low;
+        mHighestYCache = high;
+    }
+
+    /**
+     * appends a data point at the end
+     *
+     * @param dataPoint the new data point
+     * @param maxDataPoints if max data count is reached, the oldest data
+     *                      value will be lost to avoid memory leaks
+     * @return true if the oldest data point was removed
+     */
+    @Override
+    public synchronized boolean append(DataPoint dataPoint, int maxDataPoints) {
+        mModificationCount++;
+        double x = dataPoint.getX();
+        double y = dataPoint.getY();
+        if (mSize > 0 && x < getHighestValueX()) {
+            throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
+        }
+        boolean trimmed = false;
+        if (mSize >= maxDataPoints) {
+            evictFirst();
+            trimmed = true;
+        }
+
+        mTailX[mTailCount] = x;
+        mTailY[mTailCount] = y;
+        mTailCount++;
+        mSize++;
+        if (mTailCount == mBlockSize) {
+            sealTail();
+        }
+
+        // update lowest/highest cache
+        if (!Double.isNaN(mHighestYCache) && y > mHighestYCache) {
+            mHighestYCache = y;
+        }
+        if (!Double.isNaN(mLowestYCache) && y < mLowestYCache) {
+            mLowestYCache = y;
+        }
+        return trimmed;
+    }
+
+    /**
+     * compresses the uncompressed data points into a new block
+     */
+    private void sealTail() {
+        boolean integralX = true;
+        for (int i = 0; i < mTailCount; i++) {
+            if (!GorillaCodec.isIntegral(mTailX[i])) {
+                integralX = false;
+                break;
+            }
+        }
+        GorillaCodec.Encoder encoder = new GorillaCodec.Encoder(integralX, mTailCount);
+        Block block = new Block();
+        block.minY = Double.POSITIVE_INFINITY;
+        block.maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < mTailCount; i++) {
+            encoder.add(mTailX[i], mTailY[i]);
+            if (mTailY[i] < block.minY) block.minY = mTailY[i];
+            if (mTailY[i] > block.maxY) block.maxY = mTailY[i];
+        }
+        block.data = encoder.toByteArray();
+        block.count = mTailCount;
+        block.integralX = integralX;
+        block.firstX = mTailX[0];
+        block.lastX = mTailX[mTailCount - 1];
+        block.firstY = mTailY[0];
+        block.lastY = mTailY[mTailCount - 1];
+        mBlocks.add(block);
+        mTailCount = 0;
+    }
+
+    /**
+     * removes the oldest data point
+     */
+    private void evictFirst() {
+        if (!mBlocks.isEmpty()) {
+            Block head = mBlocks.get(0);
+            if (head.minY <= mLowestYCache) {
+                mLowestYCache = Double.NaN;
+            }
+            if (head.maxY >= mHighestYCache) {
+                mHighestYCache = Double.NaN;
+            }
+            mSkip++;
+            if (mSkip >= head.count) {
+                mBlocks.remove(0);
+                mSkip = 0;
+                mHeadDecoder = null;
+            } else {
+                if (mHeadDecoder == null) {
+                    mHeadDecoder = new GorillaCodec.Decoder(head.data, 0, head.count, head.integralX);
+                    mHeadDecoder.next();
+                }
+                mHeadDecoder.next();
+            }
+        } else {
+            double y = mTailY[0];
+            if (y <= mLowestYCache) {
+                mLowestYCache = Double.NaN;
+            }
+            if (y >= mHighestYCache) {
+                mHighestYCache = Double.NaN;
+            }
+            System.arraycopy(mTailX, 1, mTailX, 0, mTailCount - 1);
+            System.arraycopy(mTailY, 1, mTailY, 0, mTailCount - 1);
+            mTailCount--;
+        }
+        mSize--;
+    }
+
+    /**
+     * clears the data and sets new.
+     *
+     * @param data the values must be in the correct order!
+     *             x-value has to be ASC. First the lowest x value and at least the highest x value.
+     */
+    @Override
+    public synchronized void reset(DataPoint[] data) {
+        mModificationCount++;
+        mBlocks.clear();
+        mTailCount = 0;
+        mSkip = 0;
+        mHeadDecoder = null;
+        mSize = 0;
+        mHighestYCache = mLowestYCache = Double.NaN;
+        for (DataPoint d : data) {
+            if (mSize > 0 && d.getX() < getHighestValueX()) {
+                throw new IllegalArgumentException("The order of the values is not correct. X-Values have to be ordered ASC. First the lowest x value and at least the highest x value.");
+            }
+            append(d, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * get the values for a given x range. if from and until are bigger or equal than
+     * all the data, the original data is returned.
+     * If it is only a part of the data, the range is returned plus one datapoint
+     * before and after to get a nice scrolling.
+     * Blocks outside of the range are not decoded.
+     *
+     * @param from minimal x-value
+     * @param until maximal x-value
+     * @return data for the range +/- 1 datapoint
+     */
+    @Override
+    public synchronized Iterator<DataPoint> getValues(final double from, final double until) {
+        if (from <= getLowestValueX() && until >= getHighestValueX()) {
+            return new ValueIterator(0, null, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 0);
+        }
+
+        // binary search the first block that reaches the range
+        int lo = 0;
+        int hi = mBlocks.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (mBlocks.get(mid).lastX < from) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        DataPoint prev = null;
+        if (lo > 0) {
+            Block before = mBlocks.get(lo - 1);
+            prev = new DataPoint(before.lastX, before.lastY);
+        }
+        double columnWidth = mDecimationColumns > 0 ? (until - from) / mDecimationColumns : 0;
+        return new ValueIterator(lo, prev, from, until, columnWidth);
+    }
+
+    /**
+     * @return count of columns for the decimation, 0 if disabled
+     */
+    public synchronized int getDecimationColumns() {
+        return mDecimationColumns;
+    }
+
+    /**
+     * decimation of range queries, e.g. set the width of the
+     * graph in pixel. A block whose x-range is smaller than
+     * (until - from) / columns is returned as its first, min,
+     * max and last data point without decoding it.
+     * Notice that complete range queries are never decimated.
+     *
+     * @param columns count of columns, 0 to disable (default)
+     */
+    public synchronized void setDecimationColumns(int columns) {
+        mModificationCount++;
+        mDecimationColumns = columns;
+    }
+
+    /**
+     * iterates the data points starting at a block and
+     * applies the +/- 1 data point range logic.
+     * Works on a snapshot of the blocks and the uncompressed
+     * data points, so the storage can be changed meanwhile.
+     */
+    private final class ValueIterator implements Iterator<DataPoint> {
+        private final double mFrom;
+        private final double mUntil;
+        private final double mColumnWidth;
+        private final List<Block> mSnapshotBlocks;
+        private final int mSnapshotSkip;
+        private final double[] mSnapshotTailX;
+        private final double[] mSnapshotTailY;
+        private int mBlockIndex;
+        private GorillaCodec.Decoder mDecoder;
+        private int mTailIndex = -1;
+        private final DataPoint[] mHeaderPoints = new DataPoint[4];
+        private int mHeaderIndex;
+        private int mHeaderCount;
+        private DataPoint mNext;
+        private DataPoint mNextNext;
+        private boolean mDone;
+
+        ValueIterator(int startBlock, DataPoint prev, double from, double until, double columnWidth) {
+            mFrom = from;
+            mUntil = until;
+            mColumnWidth = columnWidth;
+            mSnapshotBlocks = new ArrayList<Block>(mBlocks.subList(startBlock, mBlocks.size()));
+            mSnapshotSkip = startBlock == 0 ? mSkip : 0;
+            mSnapshotTailX = Arrays.copyOf(mTailX, mTailCount);
+            mSnapshotTailY = Arrays.copyOf(mTailY, mTailCount);
+            if (mSnapshotBlocks.isEmpty()) {
+                mTailIndex = 0;
+            }
+
+            // go to first
+            DataPoint current = read();
+            while (current != null && current.getX() < from) {
+                prev = current;
+                current = read();
+            }
+            if (current == null) {
+                // no data point in range
+                mDone = true;
+            } else if (prev != null) {
+                mNext = prev;
+                mNextNext = current;
+            } else {
+                mNext = current;
+            }
+        }
+
+        /**
+         * @return the next raw data point or null
+         */
+        private DataPoint read() {
+            if (mHeaderIndex < mHeaderCount) {
+                return mHeaderPoints[mHeaderIndex++];
+            }
+            while (mTailIndex < 0) {
+                if (mDecoder == null) {
+                    Block block = mSnapshotBlocks.get(mBlockIndex);
+                    if (mColumnWidth > 0 && (mBlockIndex > 0 || mSnapshotSkip == 0)
+                            && block.lastX - block.firstX < mColumnWidth
+                            && block.firstX >= mFrom && block.lastX <= mUntil) {
+                        nextBlock();
+                        return readHeader(block);
+                    }
+                    mDecoder = new GorillaCodec.Decoder(block.data, 0, block.count, block.integralX);
+                    if (mBlockIndex == 0) {
+                        for (int i = 0; i < mSnapshotSkip; i++) {
+                            mDecoder.next();
+                        }
+                    }
+                }
+                if (mDecoder.next()) {
+                    return new DataPoint(mDecoder.getX(), mDecoder.getY());
+                }
+                mDecoder = null;
+                nextBlock();
+            }
+            if (mTailIndex < mSnapshotTailX.length) {
+                DataPoint dp = new DataPoint(mSnapshotTailX[mTailIndex], mSnapshotTailY[mTailIndex]);
+                mTailIndex++;
+                return dp;
+            }
+            return null;
+        }
+
+        private void nextBlock() {
+            mBlockIndex++;
+            if (mBlockIndex >= mSnapshotBlocks.size()) {
+                mTailIndex = 0;
+            }
+        }
+
+        /**
+         * first, min, max and last data point of a block,
+         * min and max in the middle of the block
+         *
+         * @return the first data point
+         */
+        private DataPoint readHeader(Block block) {
+            double middleX = (block.firstX + block.lastX) / 2;
+            mHeaderCount = 0;
+            mHeaderIndex = 1;
+            mHeaderPoints[mHeaderCount++] = new DataPoint(block.firstX, block.firstY);
+            // the extreme value next to the first value first
+            boolean maxFirst = Math.abs(block.maxY - block.firstY) < Math.abs(block.firstY - block.minY);
+            mHeaderPoints[mHeaderCount++] = new DataPoint(middleX, maxFirst ? block.maxY : block.minY);
+            mHeaderPoints[mHeaderCount++] = new DataPoint(middleX, maxFirst ? block.minY : block.maxY);
+            mHeaderPoints[mHeaderCount++] = new DataPoint(block.lastX, block.lastY);
+            return mHeaderPoints[0];
+        }
+        @Override
+        public boolean hasNext() {
+            return !mDone && mNext != null;
+        }
+
+        @Override
+        public DataPoint next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataPoint r = mNext;
+            if (r.getX() > mUntil) {
+                // one data point after the range
+                mDone = true;
+            } else if (mNextNext != null) {
+                mNext = mNextNext;
+                mNextNext = null;
+            } else {
+                mNext = read();
+            }
+            return r;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * @return a number that changes on every modification of the data
+     */
+    @Override
+    public synchronized int getModificationCount() {
+        return mModificationCount;
+    }
+}
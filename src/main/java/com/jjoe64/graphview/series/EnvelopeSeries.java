@@ -0,0 +1,294 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import com.jjoe64.graphview.GraphView;
+import com.jjoe64.graphview.RecordingPath;
+
+import java.util.Iterator;
+
+/**
+ * Series that draws noisy data as a shaded band
+ * between the minimum and maximum and a line for
+ * the mean.
+ *
+ * The visible data is aggregated per pixel column
+ * while drawing, so the drawing has the same cost
+ * for any number of data points in a column and
+ * every extreme value is visible.
+ *
+ * @author jjoe64
+ */
+public class EnvelopeSeries<E extends DataPointInterface> extends BaseSeries<E> {
+    /**
+     * wrapped styles for this series
+     */
+    private final class Styles {
+        /**
+         * color of the band
+         */
+        int envelopeColor;
+
+        /**
+         * thickness of the mean line
+         */
+        int thickness;
+
+        /**
+         * flag whether the mean line is drawn
+         */
+        boolean drawMean;
+    }
+
+    /**
+     * wrapped styles
+     */
+    private Styles mStyles;
+
+    /**
+     * paint for the mean line
+     */
+    private Paint mPaint;
+
+    /**
+     * paint for the band
+     */
+    private Paint mPaintEnvelope;
+
+    /**
+     * reused paths
+     */
+    private final RecordingPath mPathEnvelope = new RecordingPath();
+    private final RecordingPath mPathMean = new RecordingPath();
+
+    /**
+     * reused aggregates per pixel column
+     */
+    private float[] mColumnMin = new float[0];
+    private float[] mColumnMax = new float[0];
+    private double[] mColumnSum = new double[0];
+    private int[] mColumnCount = new int[0];
+
+    /**
+     * creates the series without data
+     */
+    public EnvelopeSeries() {
+        init();
+    }
+
+    /**
+     * creates the series with data
+     *
+     * @param data datapoints
+     */
+    public EnvelopeSeries(E[] data) {
+        super(data);
+        init();
+    }
+
+    /**
+     * inits the internal objects
+     * set the defaults
+     */
+    protected void init() {
+        mStyles = new Styles();
+        mStyles.envelopeColor = Color.argb(64, 0, 119, 204);
+        mStyles.thickness = 5;
+        mStyles.drawMean = true;
+
+        mPaint = new Paint();
+        mPaint.setStrokeCap(Paint.Cap.ROUND);
+        mPaint.setStyle(Paint.Style.STROKE);
+        mPaint.setAntiAlias(true);
+
+        mPaintEnvelope = new Paint();
+        mPaintEnvelope.setStyle(Paint.Style.FILL);
+    }
+
+    /**
+     * plot the envelope to the viewport
+     *
+     * @param graphView graphview
+     * @param canvas canvas to draw on
+     * @param isSecondScale whether it is the second scale
+     */
+    @Override
+    public void draw(GraphView graphView, Canvas canvas, boolean isSecondScale) {
+        resetDataPoints(graphView);
+        RenderStats stats = getRenderStats(graphView);
+        stats.reset();
+
+        // get data
+        double maxX = graphView.getViewport().getMaxX(false);
+        double minX = graphView.getViewport().getMinX(false);
+
+        double maxY;
+        double minY;
+        if (isSecondScale) {
+            maxY = graphView.getSecondScale().getMaxY(false);
+            minY = graphView.getSecondScale().getMinY(false);
+        } else {
+            maxY = graphView.getViewport().getMaxY(false);
+            minY = graphView.getViewport().getMinY(false);
+        }
+
+        float graphHeight = graphView.getGraphContentHeight();
+        float graphWidth = graphView.getGraphContentWidth();
+        float graphLeft = graphView.getGraphContentLeft();
+        float graphTop = graphView.getGraphContentTop();
+
+        PointTransform<E> transform = getPointTransform(graphView);
+        transform.setViewport(minX, maxX, minY, maxY, graphWidth, graphHeight);
+
+        int columns = (int) Math.ceil(graphWidth) + 1;
+        if (mColumnCount.length < columns) {
+            mColumnMin = new float[columns];
+            mColumnMax = new float[columns];
+            mColumnSum = new double[columns];
+            mColumnCount = new int[columns];
+        } else {
+            for (int i = 0; i < columns; i++) {
+                mColumnCount[i] = 0;
+            }
+        }
+
+        // aggregate per pixel column
+        Iterator<E> values = getValues(minX, maxX);
+        int used = 0;
+        while (values.hasNext()) {
+            E value = values.next();
+            stats.addVisited(1);
+            float x = transform.transformX(value.getX());
+            // NaN values are skipped like values outside of the viewport
+            if (x < 0 || x >= columns || Double.isNaN(value.getY())) {
+                stats.addCulled(1);
+                continue;
+            }
+            int column = (int) x;
+            float y = transform.transformY(value.getY());
+            if (mColumnCount[column] == 0) {
+                mColumnMin[column] = y;
+                mColumnMax[column] = y;
+                mColumnSum[column] = y;
+                used++;
+            } else {
+                mColumnMin[column] = Math.min(mColumnMin[column], y);
+                mColumnMax[column] = Math.max(mColumnMax[column], y);
+                mColumnSum[column] += y;
+            }
+            mColumnCount[column]++;
+        }
+        stats.addMerged(stats.getVisited() - stats.getCulled() - used);
+        if (used == 0) {
+            return;
+        }
+
+        // band: max from left to right, min from right to left
+        float bottom = graphTop + graphHeight;
+        mPathEnvelope.setRecordingFor(canvas);
+        mPathMean.setRecordingFor(canvas);
+        mPathEnvelope.reset();
+        mPathMean.reset();
+        boolean first = true;
+        for (int i = 0; i < columns; i++) {
+            if (mColumnCount[i] == 0) continue;
+            float x = graphLeft + i;
+            float yMax = clamp(bottom - mColumnMax[i], graphTop, bottom);
+            float yMean = clamp(bottom - (float) (mColumnSum[i] / mColumnCount[i]), graphTop, bottom);
+            if (first) {
+                mPathEnvelope.moveTo(x, yMax);
+                mPathMean.moveTo(x, yMean);
+                first = false;
+            } else {
+                mPathEnvelope.lineTo(x, yMax);
+                mPathMean.lineTo(x, yMean);
+            }
+        }
+        for (int i = columns - 1; i >= 0; i--) {
+            if (mColumnCount[i] == 0) continue;
+            mPathEnvelope.lineTo(graphLeft + i, clamp(bottom - mColumnMin[i], graphTop, bottom));
+        }
+        mPathEnvelope.close();
+
+        mPaintEnvelope.setColor(mStyles.envelopeColor);
+        canvas.drawPath(mPathEnvelope, mPaintEnvelope);
+        stats.addEmitted(1);
+
+        if (mStyles.drawMean) {
+            mPaint.setStrokeWidth(mStyles.thickness);
+            mPaint.setColor(getColor());
+            canvas.drawPath(mPathMean, mPaint);
+            stats.addEmitted(1);
+        }
+    }
+
+    private static float clamp(float v, float min, float max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    /**
+     * @return color of the band
+     */
+    public int getEnvelopeColor() {
+        return mStyles.envelopeColor;
+    }
+
+    /**
+     * @param envelopeColor color of the band, should be translucent
+     *                      to see the grid
+     */
+    public void setEnvelopeColor(int envelopeColor) {
+        mStyles.envelopeColor = envelopeColor;
+    }
+
+    /**
+     * @return thickness of the mean line
+     */
+    public int getThickness() {
+        return mStyles.thickness;
+    }
+
+    /**
+     * @param thickness thickness of the mean line
+     */
+    public void setThickness(int thickness) {
+        mStyles.thickness = thickness;
+    }
+
+    /**
+     * @return flag whether the mean line is drawn
+     */
+    public boolean isDrawMean() {
+        return mStyles.drawMean;
+    }
+
+    /**
+     * @param drawMean flag whether the mean line is drawn
+     */
+    public void setDrawMean(boolean drawMean) {
+        mStyles.drawMean = drawMean;
+    }
+
+    @Override
+    public void drawSelection(GraphView graphView, Canvas canvas, boolean b, DataPointInterface value) {
+        // not supported
+    }
+}
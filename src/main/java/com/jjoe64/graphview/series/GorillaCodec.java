@@ -0,0 +1,347 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.util.Arrays;
+
+/**
+ * Bit-level compression of x/y pairs as described in the
+ * Facebook Gorilla paper.
+ *
+ * x-values that are integral (e.g. timestamps in millis) are
+ * stored as delta-of-delta, other x-values and all y-values
+ * are stored as XOR to the previous value.
+ * Regular timestamps and slowly changing values need
+ * only a few bits per data point.
+ *
+ * @author jjoe64
+ */
+final class GorillaCodec {
+    /**
+     * Disallow instantiation.
+     */
+    private GorillaCodec() {
+    }
+
+    /**
+     * @param x x-value
+     * @return whether the value can be stored as delta-of-delta
+     */
+    static boolean isIntegral(double x) {
+        return x == Math.rint(x) && Math.abs(x) < (1L << 53);
+    }
+
+    /**
+     * encodes data points into a bit stream
+     */
+    static final class Encoder {
+        private final boolean mIntegralX;
+        private byte[] mBuffer;
+        private int mBitPos;
+        private int mCount;
+
+        private long mPrevX;
+        private long mPrevDelta;
+        private long mPrevXBits;
+        private int mPrevXLeading = Integer.MAX_VALUE;
+        private int mPrevXTrailing;
+
+        private long mPrevYBits;
+        private int mPrevYLeading = Integer.MAX_VALUE;
+        private int mPrevYTrailing;
+
+        /**
+         * @param integralX true if all x-values are integral,
+         *                  see {@link GorillaCodec#isIntegral(double)}
+         * @param expectedCount estimated count of data points
+         */
+        Encoder(boolean integralX, int expectedCount) {
+            mIntegralX = integralX;
+            mBuffer = new byte[Math.max(16, expectedCount * 2)];
+        }
+
+        /**
+         * appends a data point
+         *
+         * @param x x-value
+         * @param y y-value
+         */
+        void add(double x, double y) {
+            if (mCount == 0) {
+                long xBits = Double.doubleToRawLongBits(x);
+                writeBits(xBits, 64);
+                mPrevX = (long) x;
+                mPrevXBits = xBits;
+                long yBits = Double.doubleToRawLongBits(y);
+                writeBits(yBits, 64);
+                mPrevYBits = yBits;
+            } else {
+                if (mIntegralX) {
+                    writeX((long) x);
+                } else {
+                    long xBits = Double.doubleToRawLongBits(x);
+                    writeXor(xBits ^ mPrevXBits, true);
+                    mPrevXBits = xBits;
+                }
+                long yBits = Double.doubleToRawLongBits(y);
+                writeXor(yBits ^ mPrevYBits, false);
+                mPrevYBits = yBits;
+            }
+            mCount++;
+        }
+
+        /**
+         * delta-of-delta encoding
+         */
+        private void writeX(long x) {
+            long delta = x - mPrevX;
+            long dod = delta - mPrevDelta;
+            if (dod == 0) {
+                writeBits(0, 1);
+            } else if (dod >= -64 && dod < 64) {
+                writeBits(0x2, 2);
+                writeBits(dod, 7);
+            } else if (dod >= -256 && dod < 256) {
+                writeBits(0x6, 3);
+                writeBits(dod, 9);
+            } else if (dod >= -2048 && dod < 2048) {
+                writeBits(0xE, 4);
+                writeBits(dod, 12);
+            } else {
+                writeBits(0xF, 4);
+                writeBits(dod, 64);
+            }
+            mPrevDelta = delta;
+            mPrevX = x;
+        }
+
+        /**
+         * XOR encoding
+         */
+        private void writeXor(long xor, boolean isX) {
+            if (xor == 0) {
+                writeBits(0, 1);
+                return;
+            }
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            int prevLeading = isX ? mPrevXLeading : mPrevYLeading;
+            int prevTrailing = isX ? mPrevXTrailing : mPrevYTrailing;
+
+            if (leading >= prevLeading && trailing >= prevTrailing) {
+                // fits into the previous window
+                writeBits(0x2, 2);
+                writeBits(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                writeBits(0x3, 2);
+                writeBits(leading, 5);
+                // 64 significant bits are stored as 0
+                writeBits(significant & 0x3F, 6);
+                writeBits(xor >>> trailing, significant);
+                if (isX) {
+                    mPrevXLeading = leading;
+                    mPrevXTrailing = trailing;
+                } else {
+                    mPrevYLeading = leading;
+                    mPrevYTrailing = trailing;
+                }
+            }
+        }
+
+        /**
+         * writes the lowest bits of the value
+         *
+         * @param value value
+         * @param bits count of bits, max 64
+         */
+        private void writeBits(long value, int bits) {
+            ensureCapacity(bits);
+            while (bits > 0) {
+                int byteIndex = mBitPos >>> 3;
+                int free = 8 - (mBitPos & 7);
+                int n = Math.min(free, bits);
+                int chunk = (int) ((value >>> (bits - n)) & ((1 << n) - 1));
+                mBuffer[byteIndex] |= chunk << (free - n);
+                mBitPos += n;
+                bits -= n;
+            }
+        }
+
+        private void ensureCapacity(int bits) {
+            int needed = ((mBitPos + bits) >>> 3) + 1;
+            if (needed > mBuffer.length) {
+                mBuffer = Arrays.copyOf(mBuffer, Math.max(needed, mBuffer.length * 2));
+            }
+        }
+
+        /**
+         * @return count of encoded data points
+         */
+        int getCount() {
+            return mCount;
+        }
+
+        /**
+         * @return the encoded bytes
+         */
+        byte[] toByteArray() {
+            return Arrays.copyOf(mBuffer, (mBitPos + 7) >>> 3);
+        }
+    }
+
+    /**
+     * decodes a bit stream that was written by {@link Encoder}
+     */
+    static final class Decoder {
+        private final byte[] mBuffer;
+        private final int mCount;
+        private final boolean mIntegralX;
+        private int mBitPos;
+        private int mIndex;
+
+        private double mX;
+        private double mY;
+
+        private long mPrevX;
+        private long mPrevDelta;
+        private long mPrevXBits;
+        private int mPrevXLeading;
+        private int mPrevXTrailing;
+
+        private long mPrevYBits;
+        private int mPrevYLeading;
+        private int mPrevYTrailing;
+
+        /**
+         * @param buffer encoded data
+         * @param offset offset in bytes where the stream starts
+         * @param count count of encoded data points
+         * @param integralX as used for the encoder
+         */
+        Decoder(byte[] buffer, int offset, int count, boolean integralX) {
+            mBuffer = buffer;
+            mBitPos = offset * 8;
+            mCount = count;
+            mIntegralX = integralX;
+        }
+
+        /**
+         * decodes the next data point.
+         *
+         * @return false if there are no more data points
+         */
+        boolean next() {
+            if (mIndex >= mCount) {
+                return false;
+            }
+            if (mIndex == 0) {
+                mPrevXBits = readBits(64);
+                mX = Double.longBitsToDouble(mPrevXBits);
+                mPrevX = (long) mX;
+                mPrevYBits = readBits(64);
+                mY = Double.longBitsToDouble(mPrevYBits);
+            } else {
+                if (mIntegralX) {
+                    mX = readX();
+                } else {
+                    mPrevXBits ^= readXor(true);
+                    mX = Double.longBitsToDouble(mPrevXBits);
+                }
+                mPrevYBits ^= readXor(false);
+                mY = Double.longBitsToDouble(mPrevYBits);
+            }
+            mIndex++;
+            return true;
+        }
+
+        private long readX() {
+            long dod;
+            if (readBits(1) == 0) {
+                dod = 0;
+            } else if (readBits(1) == 0) {
+                dod = signExtend(readBits(7), 7);
+            } else if (readBits(1) == 0) {
+                dod = signExtend(readBits(9), 9);
+            } else if (readBits(1) == 0) {
+                dod = signExtend(readBits(12), 12);
+            } else {
+                dod = readBits(64);
+            }
+            mPrevDelta += dod;
+            mPrevX += mPrevDelta;
+            return mPrevX;
+        }
+
+        private long readXor(boolean isX) {
+            if (readBits(1) == 0) {
+                return 0;
+            }
+            if (readBits(1) == 0) {
+                int leading = isX ? mPrevXLeading : mPrevYLeading;
+                int trailing = isX ? mPrevXTrailing : mPrevYTrailing;
+                return readBits(64 - leading - trailing) << trailing;
+            }
+            int leading = (int) readBits(5);
+            int significant = (int) readBits(6);
+            if (significant == 0) {
+                significant = 64;
+            }
+            int trailing = 64 - leading - significant;
+            if (isX) {
+                mPrevXLeading = leading;
+                mPrevXTrailing = trailing;
+            } else {
+                mPrevYLeading = leading;
+                mPrevYTrailing = trailing;
+            }
+            return readBits(significant) << trailing;
+        }
+
+        private static long signExtend(long value, int bits) {
+            return (value << (64 - bits)) >> (64 - bits);
+        }
+
+        private long readBits(int bits) {
+            long value = 0;
+            while (bits > 0) {
+                int byteIndex = mBitPos >>> 3;
+                int available = 8 - (mBitPos & 7);
+                int n = Math.min(available, bits);
+                int chunk = (mBuffer[byteIndex] >>> (available - n)) & ((1 << n) - 1);
+                value = (value << n) | chunk;
+                mBitPos += n;
+                bits -= n;
+            }
+            return value;
+        }
+
+        /**
+         * @return x-value of the current data point
+         */
+        double getX() {
+            return mX;
+        }
+
+        /**
+         * @return y-value of the current data point
+         */
+        double getY() {
+            return mY;
+        }
+    }
+}
@@ -0,0 +1,460 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+import com.jjoe64.graphview.GraphView;
+import com.jjoe64.graphview.RecordingPath;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Series that counts raw values in bins and
+ * draws the counts as bars (histogram).
+ *
+ * The bins have a fixed width or grow logarithmically.
+ * Values are counted in a primitive array, the values
+ * themselves are not stored. Values outside of the range
+ * are counted as underflow/overflow and not drawn.
+ *
+ * When zoomed out so far that the bars would be thinner
+ * than {@link #setMinBarWidth(float)}, neighbouring bins
+ * are drawn as one bar with the average count of the bins,
+ * so the scale of the y-axis does not depend on the zoom.
+ * All bars are drawn as one path.
+ *
+ * The data points of the series are the bins
+ * (x = start of the bin, y = count). appendData and
+ * resetData are not supported, use {@link #add(double)}
+ * and {@link #addAll(double[], int, int)}.
+ *
+ * @author jjoe64
+ */
+public class HistogramSeries extends BaseSeries<DataPoint> {
+    /**
+     * wrapped styles for this series
+     */
+    private final class Styles {
+        /**
+         * minimal width of a bar in pixel
+         */
+        float minBarWidth;
+    }
+
+    /**
+     * read-only storage with the bins as data points
+     */
+    private final class BinStorage implements SeriesStorage<DataPoint> {
+        @Override
+        public boolean isEmpty() {
+            return mTotalCount == 0;
+        }
+
+        @Override
+        public double getLowestValueX() {
+            return mMin;
+        }
+
+        @Override
+        public double getHighestValueX() {
+            return mMax;
+        }
+
+        @Override
+        public double getLowestValueY() {
+            return 0d;
+        }
+
+        @Override
+        public double getHighestValueY() {
+            return mMaxCount;
+        }
+
+        @Override
+        public Iterator<DataPoint> getValues(double from, double until) {
+            final int first = Math.max(0, binIndex(from) - 1);
+            final int last = Math.min(mCounts.length - 1, binIndex(until) + 1);
+            return new Iterator<DataPoint>() {
+                int next = first;
+
+                @Override
+                public boolean hasNext() {
+                    return next <= last;
+                }
+
+                @Override
+                public DataPoint next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    DataPoint dp = new DataPoint(getBinStart(next), mCounts[next]);
+                    next++;
+                    return dp;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public boolean append(DataPoint dataPoint, int maxDataPoints) {
+            throw new UnsupportedOperationException("Use HistogramSeries#add to add values");
+        }
+
+        @Override
+        public void reset(DataPoint[] data) {
+            throw new UnsupportedOperationException("Use HistogramSeries#clear and HistogramSeries#add");
+        }
+    }
+
+    /**
+     * wrapped styles
+     */
+    private Styles mStyles;
+
+    /**
+     * range of the bins
+     */
+    private final double mMin;
+    private final double mMax;
+
+    /**
+     * true for logarithmic bins
+     */
+    private final boolean mLogarithmic;
+
+    /**
+     * factor from value (or log of value) to bin index
+     */
+    private final double mScale;
+
+    /**
+     * count per bin
+     */
+    private final long[] mCounts;
+
+    /**
+     * highest count of a bin
+     */
+    private long mMaxCount;
+
+    /**
+     * counts of all values, including underflow and overflow
+     */
+    private long mTotalCount;
+    private long mUnderflowCount;
+    private long mOverflowCount;
+
+    /**
+     * internal paint object
+     */
+    private Paint mPaint;
+
+    /**
+     * reused path for the bars
+     */
+    private final RecordingPath mPathBars = new RecordingPath();
+
+    /**
+     * creates a histogram with bins of the same width
+     *
+     * @param min start of the first bin
+     * @param max end of the last bin
+     * @param binCount number of bins
+     */
+    public HistogramSeries(double min, double max, int binCount) {
+        this(min, max, binCount, false);
+    }
+
+    /**
+     * creates a histogram
+     *
+     * @param min start of the first bin, has to be &gt; 0 for logarithmic bins
+     * @param max end of the last bin
+     * @param binCount number of bins
+     * @param logarithmic true if the width of the bins grows logarithmically,
+     *                    e.g. for latencies
+     */
+    public HistogramSeries(double min, double max, int binCount, boolean logarithmic) {
+        if (binCount < 1 || max <= min || (logarithmic && min <= 0)) {
+            throw new IllegalArgumentException("Invalid bins: " + binCount + " bins from " + min + " to " + max);
+        }
+        mMin = min;
+        mMax = max;
+        mLogarithmic = logarithmic;
+        mCounts = new long[binCount];
+        if (logarithmic) {
+            mScale = binCount / (Math.log(max) - Math.log(min));
+        } else {
+            mScale = binCount / (max - min);
+        }
+        setStorage(new BinStorage());
+        init();
+    }
+
+    /**
+     * inits the internal objects
+     * set the defaults
+     */
+    protected void init() {
+        mStyles = new Styles();
+        mStyles.minBarWidth = 2f;
+        mPaint = new Paint();
+        mPaint.setStyle(Paint.Style.FILL);
+    }
+
+    /**
+     * @param value the value
+     * @return index of the bin, -1 for underflow,
+     *          the bin count for overflow
+     */
+    private int binIndex(double value) {
+        if (value < mMin || Double.isNaN(value)) {
+            return -1;
+        }
+        if (value >= mMax) {
+            return mCounts.length;
+        }
+        double v = mLogarithmic ? Math.log(value) - Math.log(mMin) : value - mMin;
+        // rounding at the upper edge
+        return Math.min(mCounts.length - 1, (int) (v * mScale));
+    }
+
+    /**
+     * counts a value without updating the graph
+     */
+    private void count(double value) {
+        mTotalCount++;
+        int bin = binIndex(value);
+        if (bin < 0) {
+            mUnderflowCount++;
+        } else if (bin >= mCounts.length) {
+            mOverflowCount++;
+        } else {
+            long c = ++mCounts[bin];
+            if (c > mMaxCount) {
+                mMaxCount = c;
+            }
+        }
+    }
+
+    /**
+     * counts a value and updates the graph
+     *
+     * @param value the value
+     */
+    public void add(double value) {
+        count(value);
+        notifyDataChanged(true, false);
+    }
+
+    /**
+     * counts many values and updates the graph once
+     *
+     * @param values the values
+     * @param offset index of the first value
+     * @param length number of values
+     */
+    public void addAll(double[] values, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            count(values[i]);
+        }
+        notifyDataChanged(true, false);
+    }
+
+    /**
+     * removes all counts
+     */
+    public void clear() {
+        for (int i = 0; i < mCounts.length; i++) {
+            mCounts[i] = 0;
+        }
+        mMaxCount = 0;
+        mTotalCount = 0;
+        mUnderflowCount = 0;
+        mOverflowCount = 0;
+        notifyDataChanged(false, false);
+    }
+
+    /**
+     * @return number of bins
+     */
+    public int getBinCount() {
+        return mCounts.length;
+    }
+
+    /**
+     * @param bin index of the bin
+     * @return count of the bin
+     */
+    public long getCount(int bin) {
+        return mCounts[bin];
+    }
+
+    /**
+     * @param bin index of the bin
+     * @return start value of the bin
+     */
+    public double getBinStart(int bin) {
+        if (mLogarithmic) {
+            return mMin * Math.exp(bin / mScale);
+        }
+        return mMin + bin / mScale;
+    }
+
+    /**
+     * @param bin index of the bin
+     * @return end value of the bin
+     */
+    public double getBinEnd(int bin) {
+        return bin == mCounts.length - 1 ? mMax : getBinStart(bin + 1);
+    }
+
+    /**
+     * @return number of all values, including underflow and overflow
+     */
+    public long getTotalCount() {
+        return mTotalCount;
+    }
+
+    /**
+     * @return number of values lower than the first bin
+     */
+    public long getUnderflowCount() {
+        return mUnderflowCount;
+    }
+
+    /**
+     * @return number of values higher than the last bin
+     */
+    public long getOverflowCount() {
+        return mOverflowCount;
+    }
+
+    /**
+     * plot the bins to the viewport
+     *
+     * @param graphView graphview
+     * @param canvas canvas to draw on
+     * @param isSecondScale whether it is the second scale
+     */
+    @Override
+    public void draw(GraphView graphView, Canvas canvas, boolean isSecondScale) {
+        resetDataPoints(graphView);
+        RenderStats stats = getRenderStats(graphView);
+        stats.reset();
+
+        // get data
+        double maxX = graphView.getViewport().getMaxX(false);
+        double minX = graphView.getViewport().getMinX(false);
+
+        double maxY;
+        double minY;
+        if (isSecondScale) {
+            maxY = graphView.getSecondScale().getMaxY(false);
+            minY = graphView.getSecondScale().getMinY(false);
+        } else {
+            maxY = graphView.getViewport().getMaxY(false);
+            minY = graphView.getViewport().getMinY(false);
+        }
+
+        float graphHeight = graphView.getGraphContentHeight();
+        float graphWidth = graphView.getGraphContentWidth();
+        float graphLeft = graphView.getGraphContentLeft();
+        float graphTop = graphView.getGraphContentTop();
+        float bottom = graphTop + graphHeight;
+
+        PointTransform<DataPoint> transform = getPointTransform(graphView);
+        transform.setViewport(minX, maxX, minY, maxY, graphWidth, graphHeight);
+
+        int first = Math.max(0, binIndex(minX));
+        int last = Math.min(mCounts.length - 1, binIndex(maxX));
+        if (first > last) {
+            return;
+        }
+
+        // merge bins when the bars get too thin
+        int visible = last - first + 1;
+        int maxBars = Math.max(1, (int) (graphWidth / mStyles.minBarWidth));
+        int factor = Math.max(1, (visible + maxBars - 1) / maxBars);
+        // align the groups to the bins, so they don't change while scrolling
+        first -= first % factor;
+        stats.addVisited(visible);
+
+        float y0 = clamp(bottom - transform.transformY(0), graphTop, bottom);
+        mPathBars.setRecordingFor(canvas);
+        mPathBars.reset();
+        int bars = 0;
+        for (int start = first; start <= last; start += factor) {
+            int end = Math.min(start + factor, mCounts.length);
+            long sum = 0;
+            for (int i = start; i < end; i++) {
+                sum += mCounts[i];
+            }
+            if (sum == 0) {
+                continue;
+            }
+            double mean = (double) sum / (end - start);
+            float left = clamp(graphLeft + transform.transformX(getBinStart(start)), graphLeft, graphLeft + graphWidth);
+            float right = clamp(graphLeft + transform.transformX(getBinEnd(end - 1)), graphLeft, graphLeft + graphWidth);
+            float top = clamp(bottom - transform.transformY(mean), graphTop, bottom);
+            if (right > left && top < y0) {
+                mPathBars.addRect(left, top, right, y0, Path.Direction.CW);
+                bars++;
+            }
+        }
+        stats.addMerged(visible - Math.min(visible, (visible + factor - 1) / factor));
+
+        if (bars > 0) {
+            mPaint.setColor(getColor());
+            canvas.drawPath(mPathBars, mPaint);
+            stats.addEmitted(1);
+        }
+    }
+
+    private static float clamp(float v, float min, float max) {
+        return Math.max(min, Math.min(max, v));
+    }
+
+    /**
+     * @return minimal width of a bar in pixel
+     */
+    public float getMinBarWidth() {
+        return mStyles.minBarWidth;
+    }
+
+    /**
+     * @param minBarWidth minimal width of a bar in pixel.
+     *                    When zoomed out further, bins are merged.
+     *                    Default 2
+     */
+    public void setMinBarWidth(float minBarWidth) {
+        mStyles.minBarWidth = minBarWidth;
+    }
+
+    @Override
+    public void drawSelection(GraphView graphView, Canvas canvas, boolean b, DataPointInterface value) {
+        // not supported
+    }
+}
@@ -18,14 +18,22 @@ package com.jjoe64.graphview.series;
 
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import androidx.core.view.ViewCompat;
 import android.view.animation.AccelerateInterpolator;
 
 import com.jjoe64.graphview.GraphView;
+import com.jjoe64.graphview.RecordingPath;
+import com.jjoe64.graphview.SvgCanvas;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Series to plot the data as line.
@@ -36,6 +44,25 @@ import java.util.Iterator;
 public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E> {
     private static final long ANIMATION_DURATION = 333;
 
+    /**
+     * max. number of data points in a retained path,
+     * bigger data is drawn with a new path every frame
+     */
+    private static final int MAX_RETAINED_POINTS = 500000;
+
+    /**
+     * number of data points in a chunk of a retained path
+     */
+    static final int RETAINED_CHUNK_POINTS = 256;
+
+    /**
+     * max. width and height in pixels of a drawn chunk.
+     * Bigger paths can fail as path texture on old devices,
+     * so when zoomed in that far the visible data points
+     * are drawn directly.
+     */
+    private static final float MAX_CHUNK_PIXELS = 2048f;
+
     /**
      * wrapped styles regarding the line
      */
@@ -100,12 +127,12 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
     /**
      * path for the background filling
      */
-    private Path mPathBackground;
+    private RecordingPath mPathBackground;
 
     /**
      * path to the line
      */
-    private Path mPath;
+    private RecordingPath mPath;
 
     /**
      * custom paint that can be used.
@@ -119,32 +146,218 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
     private boolean mAnimated;
 
     /**
-     * last animated value
+     * animation interpolator
      */
-    private double mLastAnimatedValue = Double.NaN;
+    private AccelerateInterpolator mAnimationInterpolator;
 
     /**
-     * time of animation start
+     * flag whether the line should be drawn as a path
+     * or with single drawLine commands (more performance)
+     * By default we use drawLine because it has much more peformance.
+     * For some styling reasons it can make sense to draw as path.
      */
-    private long mAnimationStart;
+    private boolean mDrawAsPath = false;
 
     /**
-     * animation interpolator
+     * flag whether the values are connected with
+     * horizontal and vertical lines (sample and hold)
      */
-    private AccelerateInterpolator mAnimationInterpolator;
+    private boolean mDrawAsSteps = false;
 
     /**
-     * number of animation frame to avoid lagging
+     * flag whether the styles have to be applied to the paints
      */
-    private int mAnimationStartFrameNo;
+    private boolean mStyleDirty = true;
 
     /**
-     * flag whether the line should be drawn as a path
-     * or with single drawLine commands (more performance)
-     * By default we use drawLine because it has much more peformance.
-     * For some styling reasons it can make sense to draw as path.
+     * result of {@link #updateRetainedPath(RetainedPath, double, double, double, double, RenderStats)}
      */
-    private boolean mDrawAsPath = false;
+    enum RetainedUpdate {
+        /**
+         * the data did not change
+         */
+        UNCHANGED,
+        /**
+         * the appended data points were added
+         */
+        EXTENDED,
+        /**
+         * the path was built with all data points
+         */
+        BUILT,
+        /**
+         * too many data points, the path can not be used
+         */
+        TOO_LARGE
+    }
+
+    /**
+     * part of a retained path. A chunk starts at the last
+     * data point of the previous chunk, so the line is connected.
+     */
+    static final class RetainedChunk {
+        final Path path = new Path();
+
+        /**
+         * range of the data points in the chunk,
+         * minY/maxY without NaN
+         */
+        double firstX;
+        double lastX;
+        double minY;
+        double maxY;
+
+        /**
+         * data points that were added to the chunk
+         */
+        int points;
+
+        /**
+         * true if the path has a current point
+         */
+        boolean open;
+    }
+
+    /**
+     * path of all data points that is kept between the frames
+     * in path mode and extended when data points are appended.
+     * The coordinates are the pixels of the viewport at the time
+     * the path was built, a matrix maps them to the current viewport.
+     *
+     * The path is split into chunks along the x-axis, only the
+     * chunks in the viewport are mapped and drawn. Chunks with
+     * removed data points are dropped.
+     *
+     * The last data point is not part of the chunks, its segment
+     * is added when the last chunk is drawn. So a storage that moves
+     * the last data point (e.g. {@link RunLengthSeriesStorage})
+     * does not require to build the path again.
+     */
+    static final class RetainedPath {
+        final List<RetainedChunk> chunks = new ArrayList<RetainedChunk>();
+        private final List<RetainedChunk> mSpareChunks = new ArrayList<RetainedChunk>();
+        final Path transformed = new Path();
+        final Matrix matrix = new Matrix();
+
+        /**
+         * data version of the path, only valid when built
+         */
+        boolean built;
+        int version;
+
+        /**
+         * reset version of the data that had too many
+         * data points, or -1
+         */
+        int tooLargeVersion = -1;
+
+        boolean steps;
+        boolean gap;
+        double originX;
+        double originY;
+        double scaleX;
+        double scaleY;
+        double firstX;
+
+        /**
+         * the last data point in the chunks
+         */
+        double chunkX;
+        double chunkY;
+        float chunkPathX;
+        float chunkPathY;
+
+        /**
+         * the last data point, not part of the chunks
+         */
+        boolean hasLast;
+        double lastX;
+        double lastY;
+
+        /**
+         * all data points, including the last one
+         */
+        int points;
+        int builtPoints;
+
+        /**
+         * removes all data points
+         */
+        void clear() {
+            for (RetainedChunk chunk : chunks) {
+                chunk.path.rewind();
+                mSpareChunks.add(chunk);
+            }
+            chunks.clear();
+            gap = false;
+            hasLast = false;
+            points = 0;
+        }
+
+        /**
+         * @return a new chunk at the end
+         */
+        RetainedChunk addChunk() {
+            RetainedChunk chunk = mSpareChunks.isEmpty()
+                    ? new RetainedChunk() : mSpareChunks.remove(mSpareChunks.size() - 1);
+            chunk.points = 0;
+            chunk.open = false;
+            chunk.minY = Double.POSITIVE_INFINITY;
+            chunk.maxY = Double.NEGATIVE_INFINITY;
+            chunks.add(chunk);
+            return chunk;
+        }
+
+        /**
+         * drops the chunks that end before x,
+         * the last chunk is kept
+         *
+         * @param x the lowest x-value of the data
+         */
+        void dropChunksBefore(double x) {
+            int n = 0;
+            while (n < chunks.size() - 1 && chunks.get(n).lastX < x) {
+                RetainedChunk chunk = chunks.get(n);
+                points -= chunk.points;
+                chunk.path.rewind();
+                mSpareChunks.add(chunk);
+                n++;
+            }
+            if (n > 0) {
+                chunks.subList(0, n).clear();
+                firstX = chunks.get(0).firstX;
+            }
+        }
+
+        /**
+         * @param x x-value
+         * @return index of the first chunk that ends at or
+         *          after x, or the last chunk
+         */
+        int findChunk(double x) {
+            int lo = 0;
+            int hi = chunks.size() - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (chunks.get(mid).lastX < x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * retained paths per GraphView
+     */
+    private final Map<GraphView, RetainedPath> mRetainedPaths = new WeakHashMap<GraphView, RetainedPath>();
+
+    /**
+     * reused buffer for the appended data points
+     */
+    private DataPointInterface[] mTail = new DataPointInterface[16];
 
     /**
      * creates a series without data
@@ -179,8 +392,8 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
         mSelectionPaint.setColor(Color.argb(80, 0, 0, 0));
         mSelectionPaint.setStyle(Paint.Style.FILL);
 
-        mPathBackground = new Path();
-        mPath = new Path();
+        mPathBackground = new RecordingPath();
+        mPath = new RecordingPath();
 
         mAnimationInterpolator = new AccelerateInterpolator(2f);
     }
@@ -195,7 +408,10 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
      */
     @Override
     public void draw(GraphView graphView, Canvas canvas, boolean isSecondScale) {
-        resetDataPoints();
+        resetDataPoints(graphView);
+        RenderState<E> state = getRenderState(graphView);
+        RenderStats stats = state.stats;
+        stats.reset();
 
         // get data
         double maxX = graphView.getViewport().getMaxX(false);
@@ -211,16 +427,17 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
             minY = graphView.getViewport().getMinY(false);
         }
 
-        Iterator<E> values = getValues(minX, maxX);
-
         // draw background
         double lastEndY = 0;
         double lastEndX = 0;
 
         // draw data
-        mPaint.setStrokeWidth(mStyles.thickness);
-        mPaint.setColor(getColor());
-        mPaintBackground.setColor(mStyles.backgroundColor);
+        if (mStyleDirty) {
+            mPaint.setStrokeWidth(mStyles.thickness);
+            mPaint.setColor(getColor());
+            mPaintBackground.setColor(mStyles.backgroundColor);
+            mStyleDirty = false;
+        }
 
         Paint paint;
         if (mCustomPaint != null) {
@@ -229,20 +446,37 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
             paint = mPaint;
         }
 
+        if (mDrawAsPath && !mAnimated && !mStyles.drawDataPoints
+                && mOnDataPointTapListener == null && !graphView.isCursorMode()
+                && !SvgCanvas.needsRecordedPaths(canvas)
+                && drawRetainedPath(graphView, canvas, paint, stats, minX, maxX, minY, maxY)) {
+            return;
+        }
+
+        Iterator<E> values = getValues(minX, maxX);
+
+        mPath.setRecordingFor(canvas);
+        mPathBackground.setRecordingFor(canvas);
         mPath.reset();
 
         if (mStyles.drawBackground) {
             mPathBackground.reset();
         }
 
-        double diffY = maxY - minY;
-        double diffX = maxX - minX;
-
         float graphHeight = graphView.getGraphContentHeight();
         float graphWidth = graphView.getGraphContentWidth();
         float graphLeft = graphView.getGraphContentLeft();
         float graphTop = graphView.getGraphContentTop();
 
+        PointTransform<E> transform = state.transform;
+        transform.setViewport(minX, maxX, minY, maxY, graphWidth, graphHeight);
+        int count = transform.transform(values);
+        stats.addVisited(count);
+        if (mDrawAsSteps) {
+            // corners at the odd indices
+            count = transform.toSteps();
+        }
+
         lastEndY = 0;
         lastEndX = 0;
 
@@ -252,24 +486,18 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
         float firstX = -1;
         float firstY = -1;
         float lastRenderedX = Float.NaN;
-        int i = 0;
         float lastAnimationReferenceX = graphLeft;
 
         boolean sameXSkip = false;
         float minYOnSameX = 0f;
         float maxYOnSameX = 0f;
 
-        while (values.hasNext()) {
-            E value = values.next();
-
-            double valY = value.getY() - minY;
-            double ratY = valY / diffY;
-            double y = graphHeight * ratY;
-
+        for (int i = 0; i < count; i++) {
+            E value = transform.getValue(i);
+            double y = transform.getY(i);
             double valueX = value.getX();
-            double valX = valueX - minX;
-            double ratX = valX / diffX;
-            double x = graphWidth * ratX;
+            double x = transform.getX(i);
+            boolean corner = mDrawAsSteps && (i & 1) == 1;
 
             double orgX = x;
             double orgY = y;
@@ -351,21 +579,21 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                 if (!skipDraw && !Float.isNaN(startY) && !Float.isNaN(endY)) {
                     // animation
                     if (mAnimated) {
-                        if ((Double.isNaN(mLastAnimatedValue) || mLastAnimatedValue < valueX)) {
+                        if ((Double.isNaN(state.lastAnimatedValue) || state.lastAnimatedValue < valueX)) {
                             long currentTime = System.currentTimeMillis();
-                            if (mAnimationStart == 0) {
+                            if (state.animationStart == 0) {
                                 // start animation
-                                mAnimationStart = currentTime;
-                                mAnimationStartFrameNo = 0;
+                                state.animationStart = currentTime;
+                                state.animationStartFrameNo = 0;
                             } else {
                                 // anti-lag: wait a few frames
-                                if (mAnimationStartFrameNo < 15) {
+                                if (state.animationStartFrameNo < 15) {
                                     // second time
-                                    mAnimationStart = currentTime;
-                                    mAnimationStartFrameNo++;
+                                    state.animationStart = currentTime;
+                                    state.animationStartFrameNo++;
                                 }
                             }
-                            float timeFactor = (float) (currentTime - mAnimationStart) / ANIMATION_DURATION;
+                            float timeFactor = (float) (currentTime - state.animationStart) / ANIMATION_DURATION;
                             float factor = mAnimationInterpolator.getInterpolation(timeFactor);
                             if (timeFactor <= 1.0) {
                                 startXAnimated = (startX - lastAnimationReferenceX) * factor + lastAnimationReferenceX;
@@ -374,7 +602,7 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                                 ViewCompat.postInvalidateOnAnimation(graphView);
                             } else {
                                 // animation finished
-                                mLastAnimatedValue = valueX;
+                                state.lastAnimatedValue = valueX;
                             }
                         } else {
                             lastAnimationReferenceX = endX;
@@ -382,15 +610,16 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                     }
 
                     // draw data point
-                    if (!isOverdrawEndPoint) {
+                    if (!isOverdrawEndPoint && !corner) {
                         if (mStyles.drawDataPoints) {
                             // draw first datapoint
                             Paint.Style prevStyle = paint.getStyle();
                             paint.setStyle(Paint.Style.FILL);
                             canvas.drawCircle(endXAnimated, endY, mStyles.dataPointsRadius, paint);
+                            stats.addEmitted(1);
                             paint.setStyle(prevStyle);
                         }
-                        registerDataPoint(endX, endY, value);
+                        registerDataPoint(graphView, endX, endY, value);
                     }
 
                     if (mDrawAsPath) {
@@ -398,20 +627,26 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                     }
                     // performance opt.
                     if (Float.isNaN(lastRenderedX) || Math.abs(endX - lastRenderedX) > .3f) {
+                        // draw vertical lines that were skipped
+                        if (sameXSkip) {
+                            sameXSkip = false;
+                            renderVerticalLine(canvas, lastRenderedX, minYOnSameX, maxYOnSameX, paint, stats);
+                            if (mDrawAsPath) {
+                                mPath.moveTo(startXAnimated, startY);
+                            }
+                        }
                         if (mDrawAsPath) {
                             mPath.lineTo(endXAnimated, endY);
                         } else {
-                            // draw vertical lines that were skipped
-                            if (sameXSkip) {
-                                sameXSkip = false;
-                                renderLine(canvas, new float[]{lastRenderedX, minYOnSameX, lastRenderedX, maxYOnSameX}, paint);
-                            }
-                            renderLine(canvas, new float[]{startXAnimated, startY, endXAnimated, endY}, paint);
+                            renderLine(canvas, new float[]{startXAnimated, startY, endXAnimated, endY}, paint, stats);
                         }
                         lastRenderedX = endX;
                     } else {
                         // rendering on same x position
                         // save min+max y position and draw it as line
+                        if (!corner) {
+                            stats.addMerged(1);
+                        }
                         if (sameXSkip) {
                             minYOnSameX = Math.min(minYOnSameX, endY);
                             maxYOnSameX = Math.max(maxYOnSameX, endY);
@@ -423,6 +658,9 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                         }
                     }
 
+                } else if (!corner) {
+                    // out of bounds or from right to left
+                    stats.addCulled(1);
                 }
 
                 if (mStyles.drawBackground) {
@@ -453,20 +691,20 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                 float first_Y = (float) (graphTop - y) + graphHeight;
 
                 if (first_X >= graphLeft && first_Y <= (graphTop + graphHeight)) {
-                    if (mAnimated && (Double.isNaN(mLastAnimatedValue) || mLastAnimatedValue < valueX)) {
+                    if (mAnimated && (Double.isNaN(state.lastAnimatedValue) || state.lastAnimatedValue < valueX)) {
                         long currentTime = System.currentTimeMillis();
-                        if (mAnimationStart == 0) {
+                        if (state.animationStart == 0) {
                             // start animation
-                            mAnimationStart = currentTime;
+                            state.animationStart = currentTime;
                         }
-                        float timeFactor = (float) (currentTime - mAnimationStart) / ANIMATION_DURATION;
+                        float timeFactor = (float) (currentTime - state.animationStart) / ANIMATION_DURATION;
                         float factor = mAnimationInterpolator.getInterpolation(timeFactor);
                         if (timeFactor <= 1.0) {
                             first_X = (first_X - lastAnimationReferenceX) * factor + lastAnimationReferenceX;
                             ViewCompat.postInvalidateOnAnimation(graphView);
                         } else {
                             // animation finished
-                            mLastAnimatedValue = valueX;
+                            state.lastAnimatedValue = valueX;
                         }
                     }
 
@@ -474,18 +712,24 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
                     Paint.Style prevStyle = paint.getStyle();
                     paint.setStyle(Paint.Style.FILL);
                     canvas.drawCircle(first_X, first_Y, mStyles.dataPointsRadius, paint);
+                    stats.addEmitted(1);
                     paint.setStyle(prevStyle);
-                    registerDataPoint(first_X, first_Y, value);
+                    registerDataPoint(graphView, first_X, first_Y, value);
                 }
             }
             lastEndY = orgY;
             lastEndX = orgX;
-            i++;
+        }
+
+        // vertical line at the end, e.g. the last step
+        if (sameXSkip) {
+            renderVerticalLine(canvas, lastRenderedX, minYOnSameX, maxYOnSameX, paint, stats);
         }
 
         if (mDrawAsPath) {
             // draw at the end
             canvas.drawPath(mPath, paint);
+            stats.addEmitted(1);
         }
 
         if (mStyles.drawBackground && firstX != -1) {
@@ -501,6 +745,7 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
             }
             //mPathBackground.close();
             canvas.drawPath(mPathBackground, mPaintBackground);
+            stats.addEmitted(1);
         }
     }
 
@@ -510,14 +755,320 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
      * @param canvas
      * @param pts
      * @param paint
+     * @param stats counts the drawn lines
      */
-    private void renderLine(Canvas canvas, float[] pts, Paint paint) {
+    private void renderLine(Canvas canvas, float[] pts, Paint paint, RenderStats stats) {
         if (pts.length == 4 && pts[0] == pts[2] && pts[1] == pts[3]) {
             // avoid zero length lines, to makes troubles on some devices
             // see https://github.com/appsthatmatter/GraphView/issues/499
             return;
         }
         canvas.drawLines(pts, paint);
+        stats.addEmitted(1);
+    }
+
+    /**
+     * draws the merged lines on the same x position
+     * as one vertical line, into the path if the
+     * series is drawn as path
+     */
+    private void renderVerticalLine(Canvas canvas, float x, float minY, float maxY, Paint paint, RenderStats stats) {
+        if (mDrawAsPath) {
+            mPath.moveTo(x, minY);
+            mPath.lineTo(x, maxY);
+        } else {
+            renderLine(canvas, new float[]{x, minY, x, maxY}, paint, stats);
+        }
+    }
+
+    /**
+     * draws the line with the retained path of this graphview.
+     * The path is only built again when the data was changed
+     * other than by appending, appended data points are added
+     * to the path. Only the chunks in the viewport are drawn.
+     *
+     * @return false if the data can not be retained, e.g. too many data points
+     */
+    private boolean drawRetainedPath(GraphView graphView, Canvas canvas, Paint paint, RenderStats stats,
+                                     double minX, double maxX, double minY, double maxY) {
+        if (maxX <= minX || maxY <= minY) {
+            return false;
+        }
+        float graphHeight = graphView.getGraphContentHeight();
+        float graphWidth = graphView.getGraphContentWidth();
+        float graphLeft = graphView.getGraphContentLeft();
+        float graphTop = graphView.getGraphContentTop();
+        double scaleX = graphWidth / (maxX - minX);
+        double scaleY = graphHeight / (maxY - minY);
+
+        RetainedPath retained = mRetainedPaths.get(graphView);
+        if (retained == null) {
+            retained = new RetainedPath();
+            mRetainedPaths.put(graphView, retained);
+        }
+        if (updateRetainedPath(retained, minX, minY, scaleX, scaleY, stats) == RetainedUpdate.TOO_LARGE) {
+            return false;
+        }
+        if (retained.chunks.isEmpty()) {
+            return true;
+        }
+
+        // the segment to the last data point is added to the last chunk
+        boolean drawLast = retained.hasLast && !retained.gap && !Double.isNaN(retained.lastY);
+        int first = retained.findChunk(minX);
+        int last = retained.chunks.size() - 1;
+
+        // a zoomed in chunk is too big for a path texture
+        float maxPixels = Math.max(MAX_CHUNK_PIXELS, Math.max(graphWidth, graphHeight));
+        for (int i = first; i <= last; i++) {
+            RetainedChunk chunk = retained.chunks.get(i);
+            if (chunk.firstX > maxX) {
+                break;
+            }
+            double endX = chunk.lastX;
+            double lowY = chunk.minY;
+            double highY = chunk.maxY;
+            if (i == last && drawLast) {
+                endX = retained.lastX;
+                lowY = Math.min(lowY, retained.lastY);
+                highY = Math.max(highY, retained.lastY);
+            }
+            if (endX < minX) {
+                continue;
+            }
+            if ((endX - chunk.firstX) * scaleX > maxPixels || (highY - lowY) * scaleY > maxPixels) {
+                return false;
+            }
+        }
+
+        // map to the current viewport
+        float translateX = (float) (graphLeft + 1 + (retained.originX - minX) * scaleX);
+        float translateY = (float) (graphTop + graphHeight - (retained.originY - minY) * scaleY);
+        retained.matrix.setScale((float) (scaleX / retained.scaleX), (float) (scaleY / retained.scaleY));
+        retained.matrix.postTranslate(translateX, translateY);
+
+        // hide data points that were removed from the begin
+        float clipLeft = graphLeft;
+        double lowestX = getLowestValueX();
+        if (lowestX > retained.firstX) {
+            clipLeft = Math.max(clipLeft, (float) (graphLeft + 1 + (lowestX - minX) * scaleX));
+        }
+        float bottom = graphTop + graphHeight;
+
+        int saveCount = canvas.save();
+        canvas.clipRect(clipLeft, graphTop, graphLeft + graphWidth + 1, bottom);
+        for (int i = first; i <= last; i++) {
+            RetainedChunk chunk = retained.chunks.get(i);
+            if (chunk.firstX > maxX) {
+                break;
+            }
+            boolean withLast = i == last && drawLast;
+            double endX = withLast ? retained.lastX : chunk.lastX;
+            if (endX < minX) {
+                continue;
+            }
+            chunk.path.transform(retained.matrix, retained.transformed);
+            if (withLast) {
+                float x = (float) (graphLeft + 1 + (retained.lastX - minX) * scaleX);
+                if (retained.steps) {
+                    retained.transformed.lineTo(x, (float) (bottom - (retained.chunkY - minY) * scaleY));
+                }
+                retained.transformed.lineTo(x, (float) (bottom - (retained.lastY - minY) * scaleY));
+            }
+            canvas.drawPath(retained.transformed, paint);
+            stats.addEmitted(1);
+
+            if (mStyles.drawBackground) {
+                mPathBackground.set(retained.transformed);
+                mPathBackground.lineTo((float) (graphLeft + 1 + (endX - minX) * scaleX), bottom);
+                mPathBackground.lineTo((float) (graphLeft + 1 + (chunk.firstX - minX) * scaleX), bottom);
+                mPathBackground.close();
+                canvas.drawPath(mPathBackground, mPaintBackground);
+                stats.addEmitted(1);
+            }
+        }
+        canvas.restoreToCount(saveCount);
+        return true;
+    }
+
+    /**
+     * brings the retained path up to date with the data
+     *
+     * @param retained the retained path
+     * @param originX x-value of the origin, if it has to be built
+     * @param originY y-value of the origin, if it has to be built
+     * @param scaleX pixels per x-unit, if it has to be built
+     * @param scaleY pixels per y-unit, if it has to be built
+     * @param stats stats of the rendering
+     * @return how the path was updated
+     */
+    RetainedUpdate updateRetainedPath(RetainedPath retained, double originX, double originY,
+                                      double scaleX, double scaleY, RenderStats stats) {
+        if (retained.tooLargeVersion == getResetVersion()) {
+            return RetainedUpdate.TOO_LARGE;
+        }
+        if (retained.built && retained.steps == mDrawAsSteps && retained.version >= getResetVersion()) {
+            int count = getDataVersion() - retained.version;
+            if (count == 0) {
+                return RetainedUpdate.UNCHANGED;
+            }
+            if (extendRetainedPath(retained, count, stats)) {
+                retained.dropChunksBefore(getLowestValueX());
+                return RetainedUpdate.EXTENDED;
+            }
+        }
+        if (buildRetainedPath(retained, originX, originY, scaleX, scaleY, stats)) {
+            return RetainedUpdate.BUILT;
+        }
+        return RetainedUpdate.TOO_LARGE;
+    }
+
+    /**
+     * builds the retained path with all data points
+     *
+     * @return false if there are too many data points
+     */
+    private boolean buildRetainedPath(RetainedPath retained, double originX, double originY,
+                                      double scaleX, double scaleY, RenderStats stats) {
+        retained.clear();
+        retained.built = false;
+        retained.steps = mDrawAsSteps;
+        retained.originX = originX;
+        retained.originY = originY;
+        retained.scaleX = scaleX;
+        retained.scaleY = scaleY;
+
+        Iterator<E> values = getValues(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        while (values.hasNext()) {
+            if (retained.points == MAX_RETAINED_POINTS) {
+                retained.clear();
+                retained.tooLargeVersion = getResetVersion();
+                return false;
+            }
+            addRetainedPoint(retained, values.next());
+        }
+        stats.addVisited(retained.points);
+        retained.builtPoints = retained.points;
+        retained.version = getDataVersion();
+        retained.built = true;
+        return true;
+    }
+
+    /**
+     * adds the data points that were appended since the
+     * retained path was built
+     *
+     * @param count number of changes since the last update
+     * @return false if the path has to be built again
+     */
+    private boolean extendRetainedPath(RetainedPath retained, int count, RenderStats stats) {
+        if (retained.points < 2 || retained.points + count > 2 * retained.builtPoints + 64) {
+            // build again to drop the removed data points
+            return false;
+        }
+
+        // the data points after the last one in the chunks,
+        // the first one is the last data point of the path
+        int size = count + 1;
+        if (mTail.length < size) {
+            mTail = new DataPointInterface[Math.max(size, mTail.length * 2)];
+        }
+        int n = 0;
+        boolean anchored = false;
+        boolean valid = true;
+        Iterator<E> values = getValues(retained.chunkX, Double.POSITIVE_INFINITY);
+        while (values.hasNext()) {
+            E value = values.next();
+            if (!anchored) {
+                anchored = Double.compare(value.getX(), retained.chunkX) == 0
+                        && Double.compare(value.getY(), retained.chunkY) == 0;
+            } else if (n == size) {
+                // more data points than changes
+                valid = false;
+                break;
+            } else {
+                mTail[n++] = value;
+            }
+        }
+        // the storage can move the last data point to a later x-value
+        // with the same y-value (run length encoding), then its segment
+        // is replaced. Other changes of the last data point need a new path.
+        valid = valid && anchored && n > 0
+                && Double.compare(mTail[0].getY(), retained.lastY) == 0
+                && mTail[0].getX() >= retained.lastX;
+        if (valid) {
+            boolean moved = mTail[0].getX() != retained.lastX;
+            retained.lastX = mTail[0].getX();
+            for (int i = 1; i < n; i++) {
+                addRetainedPoint(retained, mTail[i]);
+            }
+            retained.version = getDataVersion();
+            stats.addVisited(moved ? n : n - 1);
+        }
+        Arrays.fill(mTail, 0, n, null);
+        return valid;
+    }
+
+    /**
+     * adds a data point at the end of the retained path.
+     * The previous last data point is added to the chunks.
+     */
+    private void addRetainedPoint(RetainedPath retained, DataPointInterface value) {
+        if (retained.hasLast) {
+            addChunkPoint(retained, retained.lastX, retained.lastY);
+        } else {
+            retained.firstX = value.getX();
+        }
+        retained.hasLast = true;
+        retained.lastX = value.getX();
+        retained.lastY = value.getY();
+        retained.points++;
+    }
+
+    /**
+     * adds a data point to the last chunk, or to a
+     * new chunk when the last one is full
+     */
+    private void addChunkPoint(RetainedPath retained, double valueX, double valueY) {
+        RetainedChunk chunk = retained.chunks.isEmpty() ? null : retained.chunks.get(retained.chunks.size() - 1);
+        if (chunk == null || chunk.points == RETAINED_CHUNK_POINTS) {
+            boolean connect = chunk != null && !retained.gap;
+            chunk = retained.addChunk();
+            if (connect) {
+                // start at the end of the previous chunk
+                chunk.path.moveTo(retained.chunkPathX, retained.chunkPathY);
+                chunk.open = true;
+                chunk.firstX = retained.chunkX;
+                chunk.minY = chunk.maxY = retained.chunkY;
+            } else {
+                chunk.firstX = valueX;
+            }
+        }
+
+        float x = (float) ((valueX - retained.originX) * retained.scaleX);
+        float y = (float) ((retained.originY - valueY) * retained.scaleY);
+        if (Double.isNaN(valueY)) {
+            retained.gap = true;
+        } else {
+            if (!chunk.open || retained.gap) {
+                chunk.path.moveTo(x, y);
+                chunk.open = true;
+                retained.gap = false;
+            } else {
+                if (retained.steps) {
+                    chunk.path.lineTo(x, retained.chunkPathY);
+                }
+                chunk.path.lineTo(x, y);
+            }
+            chunk.minY = Math.min(chunk.minY, valueY);
+            chunk.maxY = Math.max(chunk.maxY, valueY);
+        }
+        chunk.lastX = valueX;
+        chunk.points++;
+        retained.chunkX = valueX;
+        retained.chunkY = valueY;
+        retained.chunkPathX = x;
+        retained.chunkPathY = y;
     }
 
     /**
@@ -540,6 +1091,7 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
      */
     public void setThickness(int thickness) {
         mStyles.thickness = thickness;
+        mStyleDirty = true;
     }
 
     /**
@@ -620,6 +1172,16 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
      */
     public void setBackgroundColor(int backgroundColor) {
         mStyles.backgroundColor = backgroundColor;
+        mStyleDirty = true;
+    }
+
+    /**
+     * @param color color of the line
+     */
+    @Override
+    public void setColor(int color) {
+        super.setColor(color);
+        mStyleDirty = true;
     }
 
     /**
@@ -654,11 +1216,42 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
      * or with single drawLine commands (more performance)
      * By default we use drawLine because it has much more peformance.
      * For some styling reasons it can make sense to draw as path.
+     * The path is kept between the frames and only extended
+     * when data points are appended, unless the series is
+     * animated, draws data points or is used for taps
+     * or the cursor mode.
      *
      * @param mDrawAsPath true to draw as path
      */
     public void setDrawAsPath(boolean mDrawAsPath) {
         this.mDrawAsPath = mDrawAsPath;
+        if (!mDrawAsPath) {
+            mRetainedPaths.clear();
+        }
+    }
+
+    /**
+     * flag whether the values are connected with horizontal
+     * and vertical lines. Each value is held until the
+     * next value (sample and hold), e.g. for states.
+     *
+     * @return true if drawn as steps
+     */
+    public boolean isDrawAsSteps() {
+        return mDrawAsSteps;
+    }
+
+    /**
+     * flag whether the values are connected with horizontal
+     * and vertical lines. Each value is held until the
+     * next value (sample and hold), e.g. for states.
+     * Use it with a {@link RunLengthSeriesStorage} to store
+     * long constant states in two data points.
+     *
+     * @param drawAsSteps true to draw as steps
+     */
+    public void setDrawAsSteps(boolean drawAsSteps) {
+        this.mDrawAsSteps = drawAsSteps;
     }
 
     /**
@@ -671,19 +1264,22 @@ public class LineGraphSeries<E extends DataPointInterface> extends BaseSeries<E>
      * @param silent    set true to avoid rerender the graph
      */
     public void appendData(E dataPoint, boolean scrollToEnd, int maxDataPoints, boolean silent) {
-        if (!isAnimationActive()) {
-            mAnimationStart = 0;
+        for (RenderState<E> state : getRenderStates()) {
+            if (!isAnimationActive(state)) {
+                state.animationStart = 0;
+            }
         }
         super.appendData(dataPoint, scrollToEnd, maxDataPoints, silent);
     }
 
     /**
+     * @param state render state of a graphview
      * @return currently animation is active
      */
-    private boolean isAnimationActive() {
+    private boolean isAnimationActive(RenderState<E> state) {
         if (mAnimated) {
             long curr = System.currentTimeMillis();
-            return curr - mAnimationStart <= ANIMATION_DURATION;
+            return curr - state.animationStart <= ANIMATION_DURATION;
         }
         return false;
     }
@@ -0,0 +1,93 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.io.Serializable;
+
+/**
+ * data point with open, high, low and close
+ * values of a time interval (candle).
+ * The x-value is the start of the interval,
+ * the y-value is the close value.
+ *
+ * @author jjoe64
+ */
+public class OhlcDataPoint implements DataPointInterface, Serializable {
+    private static final long serialVersionUID = 6139211385630812746L;
+
+    private double x;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+
+    public OhlcDataPoint(double x, double open, double high, double low, double close) {
+        this.x = x;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+    }
+
+    /**
+     * @return start of the interval
+     */
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    /**
+     * @return the close value
+     */
+    @Override
+    public double getY() {
+        return close;
+    }
+
+    public double getOpen() {
+        return open;
+    }
+
+    public double getHigh() {
+        return high;
+    }
+
+    public double getLow() {
+        return low;
+    }
+
+    public double getClose() {
+        return close;
+    }
+
+    /**
+     * adds a tick to the interval
+     *
+     * @param price the price of the tick
+     */
+    void addTick(double price) {
+        if (price > high) high = price;
+        if (price < low) low = price;
+        close = price;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + x + "/" + open + "/" + high + "/" + low + "/" + close + "]";
+    }
+}
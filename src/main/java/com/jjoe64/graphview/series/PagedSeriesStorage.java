@@ -0,0 +1,613 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Read-only storage that loads the data lazily in
+ * pages of a fixed x-range from a {@link PageLoader}.
+ * This can be used for data sources that are bigger
+ * than the memory, e.g. a SQLite table or a file.
+ *
+ * The loaded pages are kept in a LRU cache which is limited
+ * by a maximal count of data points. While the user scrolls
+ * the next pages in the scroll direction are loaded in
+ * background.
+ *
+ * Iterating over the complete range loads all pages of the
+ * source, so avoid it for big sources.
+ *
+ * Example:
+ * <pre>
+ * {@code
+ *  LineGraphSeries<DataPoint> series = new LineGraphSeries<>();
+ *  series.setStorage(new PagedSeriesStorage<>(myLoader, 3600000d, 200000));
+ * }
+ * </pre>
+ *
+ * @author jjoe64
+ */
+public class PagedSeriesStorage<E extends DataPointInterface> implements SeriesStorage<E>, VersionedStorage {
+    /**
+     * source of the data pages.
+     * Notice that the methods may be called from a
+     * background thread for prefetching, so the
+     * implementation has to be thread-safe.
+     */
+    public interface PageLoader<E extends DataPointInterface> {
+        /**
+         * loads the data points of a page.
+         *
+         * @param from minimal x-value (inclusive)
+         * @param until maximal x-value (exclusive)
+         * @return the data points in the range, sorted from the lowest to
+         *          the highest x-value. Empty list if there is no data.
+         */
+        List<E> loadPage(double from, double until);
+
+        /**
+         * @return whether there is no data at all
+         */
+        boolean isEmpty();
+
+        /**
+         * @return the lowest x value of the complete data
+         */
+        double getLowestValueX();
+
+        /**
+         * @return the highest x value of the complete data
+         */
+        double getHighestValueX();
+
+        /**
+         * @return the lowest y value of the complete data
+         */
+        double getLowestValueY();
+
+        /**
+         * @return the highest y value of the complete data
+         */
+        double getHighestValueY();
+    }
+
+    /**
+     * the source of the data
+     */
+    private final PageLoader<E> mLoader;
+
+    /**
+     * x-range of one page
+     */
+    private final double mPageSize;
+
+    /**
+     * maximal count of data points that will
+     * be kept in the cache.
+     */
+    private int mMaxCachedDataPoints;
+
+    /**
+     * count of pages that will be loaded in
+     * advance in the scroll direction
+     */
+    private int mPrefetchPages = 1;
+
+    /**
+     * cached pages in access order (LRU).
+     * Key => page index
+     */
+    private final LinkedHashMap<Long, List<E>> mCache = new LinkedHashMap<Long, List<E>>(16, 0.75f, true);
+
+    /**
+     * pages that are currently loaded in background
+     */
+    private final Set<Long> mPrefetching = new HashSet<Long>();
+
+    /**
+     * current count of data points in the cache
+     */
+    private int mCachedDataPoints;
+
+    /**
+     * executor for the prefetching
+     */
+    private Executor mPrefetchExecutor;
+
+    /**
+     * counts the calls of {@link #clearCache()}, a page that was
+     * loaded before a change is not put into the cache.
+     * Changed with the lock of mCache.
+     */
+    private volatile int mModificationCount;
+
+    /**
+     * center of the last requested range,
+     * to detect the scroll direction.
+     * Guarded by the lock of mCache.
+     */
+    private double mLastRequestCenter = Double.NaN;
+
+    /**
+     * creates the storage
+     *
+     * @param loader the source of the data
+     * @param pageSize the x-range of one page, e.g. 1 hour
+     * @param maxCachedDataPoints maximal count of data points that will be
+     *                            kept in memory. The page that is currently
+     *                            iterated is always kept.
+     */
+    public PagedSeriesStorage(PageLoader<E> loader, double pageSize, int maxCachedDataPoints) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize has to be greater than 0");
+        }
+        mLoader = loader;
+        mPageSize = pageSize;
+        mMaxCachedDataPoints = maxCachedDataPoints;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mLoader.isEmpty();
+    }
+
+    @Override
+    public double getLowestValueX() {
+        if (mLoader.isEmpty()) return 0d;
+        return mLoader.getLowestValueX();
+    }
+
+    @Override
+    public double getHighestValueX() {
+        if (mLoader.isEmpty()) return 0d;
+        return mLoader.getHighestValueX();
+    }
+
+    @Override
+    public double getLowestValueY() {
+        if (mLoader.isEmpty()) return 0d;
+        return mLoader.getLowestValueY();
+    }
+
+    @Override
+    public double getHighestValueY() {
+        if (mLoader.isEmpty()) return 0d;
+        return mLoader.getHighestValueY();
+    }
+
+    /**
+     * get the values for a given x range. The pages are loaded
+     * one after the other while iterating, the pages that are
+     * not in the cache will be loaded synchronously. Afterwards
+     * the next pages in the scroll direction are loaded in background.
+     *
+     * The data point before and after the range is only searched
+     * in the neighbour page, so at gaps that are bigger than a page
+     * there is no line from the range to the next data point.
+     *
+     * @param from minimal x-value
+     * @param until maximal x-value
+     * @return data for the range +/- 1 datapoint
+     */
+    @Override
+    public Iterator<E> getValues(double from, double until) {
+        if (mLoader.isEmpty()) {
+            return Collections.<E>emptyList().iterator();
+        }
+
+        long firstDataPage = pageIndex(mLoader.getLowestValueX());
+        long lastDataPage = pageIndex(mLoader.getHighestValueX());
+        long firstPage = Math.max(pageIndex(from), firstDataPage);
+        long lastPage = Math.min(pageIndex(until), lastDataPage);
+
+        // one data point before the range, in the first page or the page before
+        E before = null;
+        long beforePage = Math.min(firstPage, lastDataPage);
+        for (long p = beforePage; p >= Math.max(firstDataPage, beforePage - 1) && before == null; p--) {
+            List<E> page = getPage(p);
+            for (int i = page.size() - 1; i >= 0; i--) {
+                if (page.get(i).getX() < from) {
+                    before = page.get(i);
+                    break;
+                }
+            }
+        }
+
+        prefetch(from, until, firstPage, lastPage, firstDataPage, lastDataPage);
+        return new PageIterator(before, from, until, firstPage, lastPage, lastDataPage);
+    }
+
+    /**
+     * iterates over the pages of a range and loads them
+     * one after the other, so that only the current page has
+     * to be kept in memory.
+     */
+    private final class PageIterator implements Iterator<E> {
+        private final double mFrom;
+        private final double mUntil;
+        private final long mLastPage;
+        private final long mLastDataPage;
+
+        /**
+         * current page
+         */
+        private long mPage;
+        private List<E> mCurrent = Collections.emptyList();
+        private int mIndex;
+
+        /**
+         * the next data point, or null at the end
+         */
+        private E mNext;
+
+        /**
+         * true when the data point after the range was found
+         * or searched
+         */
+        private boolean mDone;
+
+        PageIterator(E before, double from, double until, long firstPage, long lastPage, long lastDataPage) {
+            mFrom = from;
+            mUntil = until;
+            mPage = firstPage - 1;
+            mLastPage = lastPage;
+            mLastDataPage = lastDataPage;
+            mNext = before;
+            if (mNext == null) {
+                advance();
+            }
+        }
+
+        /**
+         * finds the next data point
+         */
+        private void advance() {
+            mNext = null;
+            while (!mDone) {
+                while (mIndex < mCurrent.size()) {
+                    E e = mCurrent.get(mIndex++);
+                    double x = e.getX();
+                    if (x > mUntil) {
+                        // the data point after the range
+                        mDone = true;
+                        mNext = e;
+                        return;
+                    }
+                    if (x >= mFrom) {
+                        mNext = e;
+                        return;
+                    }
+                }
+                mPage++;
+                if (mPage > mLastPage + 1 || mPage > mLastDataPage) {
+                    // the data point after the range is only searched in the next page
+                    mDone = true;
+                } else {
+                    mCurrent = getPage(mPage);
+                    mIndex = 0;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mNext != null;
+        }
+
+        @Override
+        public E next() {
+            if (mNext == null) {
+                throw new NoSuchElementException();
+            }
+            E e = mNext;
+            advance();
+            return e;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * returns the page from the cache or loads it
+     * synchronously. Afterwards the cache is trimmed,
+     * only this page is kept for sure.
+     *
+     * @param index page index
+     * @return the data points of the page
+     */
+    private List<E> getPage(long index) {
+        int modificationCount;
+        synchronized (mCache) {
+            List<E> page = mCache.get(index);
+            if (page != null) {
+                return page;
+            }
+            modificationCount = mModificationCount;
+        }
+        List<E> page = load(index);
+        if (putPage(index, page, modificationCount)) {
+            trimCache(index);
+        }
+        return page;
+    }
+
+    /**
+     * puts a loaded page into the cache, unless the
+     * cache was cleared while it was loading
+     *
+     * @param index page index
+     * @param page the data points of the page
+     * @param modificationCount modification count before the page was loaded
+     * @return true if the page was put into the cache
+     */
+    private boolean putPage(long index, List<E> page, int modificationCount) {
+        synchronized (mCache) {
+            if (modificationCount != mModificationCount) {
+                return false;
+            }
+            List<E> old = mCache.put(index, page);
+            if (old != null) {
+                mCachedDataPoints -= old.size();
+            }
+            mCachedDataPoints += page.size();
+            return true;
+        }
+    }
+
+    /**
+     * loads a page via the page loader
+     *
+     * @param index page index
+     * @return the data points of the page, never null
+     */
+    private List<E> load(long index) {
+        List<E> page = mLoader.loadPage(index * mPageSize, (index + 1) * mPageSize);
+        if (page == null) {
+            page = Collections.emptyList();
+        }
+        return page;
+    }
+
+    /**
+     * removes the least recently used pages until the
+     * maximal count of cached data points is reached.
+     *
+     * @param pinned page that must not be removed
+     */
+    private void trimCache(long pinned) {
+        synchronized (mCache) {
+            Iterator<Map.Entry<Long, List<E>>> it = mCache.entrySet().iterator();
+            while (mCachedDataPoints > mMaxCachedDataPoints && it.hasNext()) {
+                Map.Entry<Long, List<E>> entry = it.next();
+                if (entry.getKey() != pinned) {
+                    mCachedDataPoints -= entry.getValue().size();
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * loads the next pages in scroll direction
+     * in background.
+     */
+    private void prefetch(double from, double until, long firstPage, long lastPage, long firstDataPage, long lastDataPage) {
+        double center = (from + until) / 2d;
+        double lastCenter;
+        final int modificationCount;
+        synchronized (mCache) {
+            lastCenter = mLastRequestCenter;
+            mLastRequestCenter = center;
+            modificationCount = mModificationCount;
+        }
+        if (mPrefetchPages <= 0 || Double.isNaN(lastCenter) || center == lastCenter) {
+            return;
+        }
+
+        List<Long> pages = new ArrayList<Long>(mPrefetchPages);
+        for (int i = 1; i <= mPrefetchPages; i++) {
+            long p = center > lastCenter ? lastPage + i : firstPage - i;
+            if (p >= firstDataPage && p <= lastDataPage) {
+                pages.add(p);
+            }
+        }
+
+        for (final Long index : pages) {
+            synchronized (mCache) {
+                if (mCache.containsKey(index) || mPrefetching.contains(index)) {
+                    continue;
+                }
+                mPrefetching.add(index);
+            }
+            getPrefetchExecutor().execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        List<E> page = load(index);
+                        boolean added;
+                        synchronized (mCache) {
+                            // a synchronous load was faster
+                            added = !mCache.containsKey(index) && putPage(index, page, modificationCount);
+                        }
+                        if (added) {
+                            trimCache(index);
+                        }
+                    } catch (RuntimeException e) {
+                        Log.w("GraphView", "Could not prefetch page " + index, e);
+                    } finally {
+                        synchronized (mCache) {
+                            mPrefetching.remove(index);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * @param x x-value
+     * @return index of the page that contains the x-value
+     */
+    private long pageIndex(double x) {
+        return (long) Math.floor(x / mPageSize);
+    }
+
+    /**
+     * @return executor that is used for the prefetching.
+     *          By default a single background thread.
+     */
+    private Executor getPrefetchExecutor() {
+        if (mPrefetchExecutor == null) {
+            ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "GraphView-PagedSeriesStorage");
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            mPrefetchExecutor = executor;
+        }
+        return mPrefetchExecutor;
+    }
+
+    /**
+     * set a custom executor for the background prefetching.
+     *
+     * @param executor the executor to use
+     */
+    public void setPrefetchExecutor(Executor executor) {
+        mPrefetchExecutor = executor;
+    }
+
+    /**
+     * @return count of pages that will be loaded in advance
+     *          in the scroll direction
+     */
+    public int getPrefetchPages() {
+        return mPrefetchPages;
+    }
+
+    /**
+     * @param prefetchPages count of pages that will be loaded in advance
+     *                      in the scroll direction. 0 to disable.
+     */
+    public void setPrefetchPages(int prefetchPages) {
+        mPrefetchPages = prefetchPages;
+    }
+
+    /**
+     * @return maximal count of data points that will
+     *          be kept in the cache.
+     */
+    public int getMaxCachedDataPoints() {
+        return mMaxCachedDataPoints;
+    }
+
+    /**
+     * @param maxCachedDataPoints maximal count of data points that will
+     *                            be kept in the cache.
+     */
+    public void setMaxCachedDataPoints(int maxCachedDataPoints) {
+        mMaxCachedDataPoints = maxCachedDataPoints;
+    }
+
+    /**
+     * returns the data points of the pages that are in the
+     * cache, sorted from the lowest to the highest x-value.
+     * No page is loaded, e.g. for a summary of the data that
+     * was already shown.
+     *
+     * @return copy of the cached data points
+     */
+    public List<E> getCachedValues() {
+        List<Map.Entry<Long, List<E>>> pages;
+        synchronized (mCache) {
+            pages = new ArrayList<Map.Entry<Long, List<E>>>(mCache.entrySet());
+        }
+        Collections.sort(pages, new Comparator<Map.Entry<Long, List<E>>>() {
+            @Override
+            public int compare(Map.Entry<Long, List<E>> a, Map.Entry<Long, List<E>> b) {
+                return a.getKey().compareTo(b.getKey());
+            }
+        });
+        List<E> values = new ArrayList<E>();
+        for (Map.Entry<Long, List<E>> page : pages) {
+            values.addAll(page.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * clears the cache. Call this when the data of the
+     * source has changed, followed by
+     * {@link BaseSeries#notifyDataChanged()} to redraw the graphs.
+     * The cached ranges of the graphs are invalidated via
+     * {@link #getModificationCount()}.
+     */
+    public void clearCache() {
+        synchronized (mCache) {
+            mModificationCount++;
+            mCache.clear();
+            mCachedDataPoints = 0;
+            mLastRequestCenter = Double.NaN;
+        }
+    }
+
+    /**
+     * not supported, the data comes from the page loader.
+     */
+    @Override
+    public boolean append(E dataPoint, int maxDataPoints) {
+        throw new UnsupportedOperationException("PagedSeriesStorage is read-only. Add the data to the source and call clearCache()");
+    }
+
+    /**
+     * not supported, the data comes from the page loader.
+     */
+    @Override
+    public void reset(E[] data) {
+        throw new UnsupportedOperationException("PagedSeriesStorage is read-only. Add the data to the source and call clearCache()");
+    }
+
+    /**
+     * @return a number that changes on every call of {@link #clearCache()}
+     */
+    @Override
+    public int getModificationCount() {
+        return mModificationCount;
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Transforms data points to pixel coordinates
+ * relative to the content area of the graph.
+ * x goes to the right and y goes up, so the
+ * y-value has to be flipped for the canvas.
+ *
+ * The values are rebased to the viewport origin in double
+ * precision, so that large x-values (e.g. timestamps in millis)
+ * don't lose precision. The scaling is done afterwards in
+ * a simple float loop over primitive arrays.
+ * The buffers are reused between draw calls.
+ *
+ * @author jjoe64
+ */
+public final class PointTransform<E extends DataPointInterface> {
+    private double mOriginX;
+    private double mOriginY;
+    private float mScaleX;
+    private float mScaleY;
+
+    private float[] mX = new float[64];
+    private float[] mY = new float[64];
+    private Object[] mValues = new Object[64];
+    private int mCount;
+
+    /**
+     * sets the visible range and the size of the content area
+     *
+     * @param minX min x-value of the viewport
+     * @param maxX max x-value of the viewport
+     * @param minY min y-value of the viewport
+     * @param maxY max y-value of the viewport
+     * @param width width of the content area in pixel
+     * @param height height of the content area in pixel
+     */
+    public void setViewport(double minX, double maxX, double minY, double maxY, float width, float height) {
+        mOriginX = minX;
+        mOriginY = minY;
+        mScaleX = (float) (width / (maxX - minX));
+        mScaleY = (float) (height / (maxY - minY));
+    }
+
+    /**
+     * reads all values and transforms them
+     *
+     * @param values the values, usually from {@link Series#getValues(double, double)}
+     * @return count of values
+     */
+    public int transform(Iterator<E> values) {
+        int count = 0;
+        float[] xs = mX;
+        float[] ys = mY;
+        Object[] refs = mValues;
+        while (values.hasNext()) {
+            E value = values.next();
+            if (count == xs.length) {
+                int capacity = count * 2;
+                xs = mX = Arrays.copyOf(xs, capacity);
+                ys = mY = Arrays.copyOf(ys, capacity);
+                refs = mValues = Arrays.copyOf(refs, capacity);
+            }
+            // rebase in double precision
+            xs[count] = (float) (value.getX() - mOriginX);
+            ys[count] = (float) (value.getY() - mOriginY);
+            refs[count] = value;
+            count++;
+        }
+
+        // scale
+        float scaleX = mScaleX;
+        float scaleY = mScaleY;
+        for (int i = 0; i < count; i++) {
+            xs[i] *= scaleX;
+            ys[i] *= scaleY;
+        }
+
+        // release references of the previous draw
+        for (int i = count; i < mCount; i++) {
+            refs[i] = null;
+        }
+        mCount = count;
+        return count;
+    }
+
+    /**
+     * inserts a corner before each transformed value, so that
+     * the values can be connected with horizontal and vertical
+     * lines (sample and hold). The corner i*2-1 has the x of the
+     * value i and the y of the value i-1 and refers to the value i.
+     *
+     * @return new count of values, the values are at the even indices
+     */
+    public int toSteps() {
+        int count = mCount;
+        if (count < 2) {
+            return count;
+        }
+        int n = count * 2 - 1;
+        if (n > mX.length) {
+            mX = Arrays.copyOf(mX, n);
+            mY = Arrays.copyOf(mY, n);
+            mValues = Arrays.copyOf(mValues, n);
+        }
+        float[] xs = mX;
+        float[] ys = mY;
+        Object[] refs = mValues;
+        // backwards, so that nothing is overwritten before it is read
+        for (int i = count - 1; i >= 1; i--) {
+            xs[i * 2] = xs[i];
+            ys[i * 2] = ys[i];
+            refs[i * 2] = refs[i];
+            xs[i * 2 - 1] = xs[i];
+            ys[i * 2 - 1] = ys[i - 1];
+            refs[i * 2 - 1] = refs[i];
+        }
+        mCount = n;
+        return n;
+    }
+
+    /**
+     * @return count of transformed values
+     */
+    public int size() {
+        return mCount;
+    }
+
+    /**
+     * @param i index
+     * @return x pixel relative to the content left
+     */
+    public float getX(int i) {
+        return mX[i];
+    }
+
+    /**
+     * @param i index
+     * @return y pixel relative to the content bottom
+     */
+    public float getY(int i) {
+        return mY[i];
+    }
+
+    /**
+     * @param i index
+     * @return the original data point
+     */
+    @SuppressWarnings("unchecked")
+    public E getValue(int i) {
+        return (E) mValues[i];
+    }
+
+    /**
+     * transforms a single x-value
+     *
+     * @param x x-value
+     * @return x pixel relative to the content left
+     */
+    public float transformX(double x) {
+        return (float) (x - mOriginX) * mScaleX;
+    }
+
+    /**
+     * transforms a single y-value
+     *
+     * @param y y-value
+     * @return y pixel relative to the content bottom
+     */
+    public float transformY(double y) {
+        return (float) (y - mOriginY) * mScaleY;
+    }
+}
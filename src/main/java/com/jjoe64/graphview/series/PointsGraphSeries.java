@@ -19,10 +19,10 @@ package com.jjoe64.graphview.series;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Path;
 import android.graphics.Point;
 
 import com.jjoe64.graphview.GraphView;
+import com.jjoe64.graphview.RecordingPath;
 
 import java.util.Iterator;
 
@@ -146,7 +146,7 @@ public class PointsGraphSeries<E extends DataPointInterface> extends BaseSeries<
      */
     @Override
     public void draw(GraphView graphView, Canvas canvas, boolean isSecondScale) {
-        resetDataPoints();
+        resetDataPoints(graphView);
 
         // get data
         double maxX = graphView.getViewport().getMaxX(false);
@@ -171,28 +171,26 @@ public class PointsGraphSeries<E extends DataPointInterface> extends BaseSeries<
         // draw data
         mPaint.setColor(getColor());
 
-        double diffY = maxY - minY;
-        double diffX = maxX - minX;
-
         float graphHeight = graphView.getGraphContentHeight();
         float graphWidth = graphView.getGraphContentWidth();
         float graphLeft = graphView.getGraphContentLeft();
         float graphTop = graphView.getGraphContentTop();
 
+        RenderStats stats = getRenderStats(graphView);
+        stats.reset();
+
+        PointTransform<E> transform = getPointTransform(graphView);
+        transform.setViewport(minX, maxX, minY, maxY, graphWidth, graphHeight);
+        int count = transform.transform(values);
+        stats.addVisited(count);
+
         lastEndY = 0;
         lastEndX = 0;
         float firstX = 0;
-        int i=0;
-        while (values.hasNext()) {
-            E value = values.next();
-
-            double valY = value.getY() - minY;
-            double ratY = valY / diffY;
-            double y = graphHeight * ratY;
-
-            double valX = value.getX() - minX;
-            double ratX = valX / diffX;
-            double x = graphWidth * ratX;
+        for (int i = 0; i < count; i++) {
+            E value = transform.getValue(i);
+            double y = transform.getY(i);
+            double x = transform.getX(i);
 
             double orgX = x;
             double orgY = y;
@@ -215,10 +213,13 @@ public class PointsGraphSeries<E extends DataPointInterface> extends BaseSeries<
             
             float endX = (float) x + (graphLeft + 1);
             float endY = (float) (graphTop - y) + graphHeight;
-            registerDataPoint(endX, endY, value);
+            registerDataPoint(graphView, endX, endY, value);
 
             // draw data point
-            if (!overdraw) {
+            if (overdraw) {
+                stats.addCulled(1);
+            } else {
+                stats.addEmitted(1);
                 if (mCustomShape != null) {
                     mCustomShape.draw(canvas, mPaint, endX, endY, value);
                 } else if (mStyles.shape == Shape.POINT) {
@@ -233,10 +234,7 @@ public class PointsGraphSeries<E extends DataPointInterface> extends BaseSeries<
                     drawArrows(points, canvas, mPaint);
                 }
             }
-
-            i++;
         }
-
     }
 
     /**
@@ -258,7 +256,8 @@ public class PointsGraphSeries<E extends DataPointInterface> extends BaseSeries<
         points[7] = point[0].y;
 
         canvas.drawVertices(Canvas.VertexMode.TRIANGLES, 8, points, 0, null, 0, null, 0, null, 0, 0, paint);
-        Path path = new Path();
+        RecordingPath path = new RecordingPath();
+        path.setRecordingFor(canvas);
         path.moveTo(point[0].x , point[0].y);
         path.lineTo(point[1].x,point[1].y);
         path.lineTo(point[2].x,point[2].y);
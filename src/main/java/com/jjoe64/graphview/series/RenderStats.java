@@ -0,0 +1,130 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+/**
+ * Counters of the last rendering of a series
+ * in one GraphView.
+ *
+ * - visited: data points in the visible range
+ * - culled: visited data points that were not drawn,
+ *   because they are outside of the viewport
+ * - merged: visited data points that were not drawn
+ *   separately, because they are on the same pixel as
+ *   the previous one
+ * - emitted: canvas operations of the series
+ *
+ * The series reset the counters at the begin of
+ * each rendering, so a nested redraw of the graph
+ * is not counted twice.
+ *
+ * @see BaseSeries#getRenderStats(com.jjoe64.graphview.GraphView)
+ * @see com.jjoe64.graphview.GraphView#getRenderStats()
+ * @author jjoe64
+ */
+public final class RenderStats {
+    private int mVisited;
+    private int mCulled;
+    private int mMerged;
+    private int mEmitted;
+
+    /**
+     * @return number of data points in the visible range
+     */
+    public int getVisited() {
+        return mVisited;
+    }
+
+    /**
+     * @return number of data points outside of the viewport
+     */
+    public int getCulled() {
+        return mCulled;
+    }
+
+    /**
+     * @return number of data points that were merged
+     *          into the previous one
+     */
+    public int getMerged() {
+        return mMerged;
+    }
+
+    /**
+     * @return number of canvas operations
+     */
+    public int getEmitted() {
+        return mEmitted;
+    }
+
+    /**
+     * @param n number of visited data points
+     */
+    public void addVisited(int n) {
+        mVisited += n;
+    }
+
+    /**
+     * @param n number of culled data points
+     */
+    public void addCulled(int n) {
+        mCulled += n;
+    }
+
+    /**
+     * @param n number of merged data points
+     */
+    public void addMerged(int n) {
+        mMerged += n;
+    }
+
+    /**
+     * @param n number of canvas operations
+     */
+    public void addEmitted(int n) {
+        mEmitted += n;
+    }
+
+    /**
+     * adds the counters of other stats, e.g. to
+     * sum up all series
+     *
+     * @param other the other stats
+     */
+    public void add(RenderStats other) {
+        mVisited += other.mVisited;
+        mCulled += other.mCulled;
+        mMerged += other.mMerged;
+        mEmitted += other.mEmitted;
+    }
+
+    /**
+     * sets all counters to 0
+     */
+    public void reset() {
+        mVisited = 0;
+        mCulled = 0;
+        mMerged = 0;
+        mEmitted = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "RenderStats{visited=" + mVisited + ", culled=" + mCulled
+                + ", merged=" + mMerged + ", emitted=" + mEmitted + "}";
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.util.Arrays;
+
+/**
+ * Storage that collapses consecutive data points
+ * with the same y-value.
+ *
+ * Only the first and the last data point of a run
+ * with the same y-value are stored, the points in
+ * between are dropped. The line between the two points
+ * is the same as through all points, so the series
+ * looks the same. Long logs of states (on/off, enums)
+ * need two data points per state change.
+ *
+ * Use it with {@link BaseSeries#setStorage(SeriesStorage)}, e.g.
+ * together with {@link LineGraphSeries#setDrawAsSteps(boolean)}.
+ * maxDataPoints counts the stored data points.
+ *
+ * @author jjoe64
+ */
+public class RunLengthSeriesStorage<E extends DataPointInterface> extends ArraySeriesStorage<E> {
+    /**
+     * appends a data point, or moves the end of the
+     * last run if it has the same y-value
+     *
+     * @param dataPoint the new data point
+     * @param maxDataPoints if max data count is reached, the oldest data
+     *                      value will be lost to avoid memory leaks
+     * @return true if the oldest data point was removed
+     */
+    @Override
+    public boolean append(E dataPoint, int maxDataPoints) {
+        int size = size();
+        if (size >= 2 && isSameRun(get(size - 2), get(size - 1), dataPoint)) {
+            replaceLast(dataPoint);
+            return false;
+        }
+        return super.append(dataPoint, maxDataPoints);
+    }
+
+    /**
+     * clears the data and sets the collapsed data
+     *
+     * @param data the values must be in the correct order!
+     *             x-value has to be ASC. First the lowest x value and at least the highest x value.
+     */
+    @Override
+    public void reset(E[] data) {
+        E[] collapsed = data.clone();
+        int n = 0;
+        for (E d : data) {
+            if (n >= 2 && isSameRun(collapsed[n - 2], collapsed[n - 1], d)) {
+                collapsed[n - 1] = d;
+            } else {
+                collapsed[n++] = d;
+            }
+        }
+        super.reset(n == data.length ? collapsed : Arrays.copyOf(collapsed, n));
+    }
+
+    private static boolean isSameRun(DataPointInterface first, DataPointInterface last, DataPointInterface next) {
+        return first.getY() == last.getY() && last.getY() == next.getY();
+    }
+}
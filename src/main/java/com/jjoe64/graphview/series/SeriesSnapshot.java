@@ -0,0 +1,398 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.os.Parcel;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Compact binary format to save and restore the
+ * data of a series, e.g. in onSaveInstanceState.
+ *
+ * This is much smaller and faster than java serialization
+ * of the {@link DataPoint} objects.
+ *
+ * Layout: magic (int), version (byte), encoding (byte),
+ * flags (byte), count (int), payload length (int), payload.
+ *
+ * @author jjoe64
+ */
+public final class SeriesSnapshot {
+    /**
+     * how the x/y values are stored
+     */
+    public enum Encoding {
+        /**
+         * plain doubles. Fastest restore, 16 bytes per data point.
+         */
+        RAW,
+
+        /**
+         * integral x-values are stored as variable length deltas,
+         * y-values as plain doubles.
+         */
+        DELTA,
+
+        /**
+         * x-values are stored as delta-of-delta and y-values
+         * are XOR compressed (Gorilla).
+         * Smallest output for regular time series.
+         */
+        GORILLA
+    }
+
+    private static final int MAGIC = 0x47565353;
+    private static final byte VERSION = 1;
+    private static final int FLAG_INTEGRAL_X = 1;
+
+    /**
+     * the payload of a stream is read in blocks of this size,
+     * so a corrupt length does not allocate more than the stream has
+     */
+    private static final int READ_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * Disallow instantiation.
+     */
+    private SeriesSnapshot() {
+    }
+
+    /**
+     * writes all data of the series to the stream.
+     * The stream will not be closed.
+     *
+     * @param series the series
+     * @param out target stream
+     * @param encoding how to store the values
+     * @throws IOException
+     */
+    public static void write(Series<?> series, OutputStream out, Encoding encoding) throws IOException {
+        out.write(toByteArray(series, encoding));
+    }
+
+    /**
+     * reads the data points from the stream.
+     *
+     * @param in source stream
+     * @return the data points
+     * @throws IOException if the data is not a valid snapshot
+     */
+    public static DataPoint[] read(InputStream in) throws IOException {
+        DataInputStream din = new DataInputStream(in);
+        if (din.readInt() != MAGIC) {
+            throw new IOException("Not a GraphView series snapshot");
+        }
+        byte version = din.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+        int encoding = din.readByte();
+        int flags = din.readByte();
+        int count = din.readInt();
+        int length = din.readInt();
+        try {
+            checkPayload(encoding, flags, count, length);
+            return decode(encoding, flags, count, readPayload(din, length));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * reads the payload in blocks, the buffer only grows
+     * with the data that is really in the stream
+     *
+     * @param in source stream
+     * @param length length of the payload
+     * @return the payload
+     * @throws IOException if the stream ends before
+     */
+    private static byte[] readPayload(InputStream in, int length) throws IOException {
+        byte[] payload = new byte[Math.min(length, READ_BLOCK_SIZE)];
+        int n = 0;
+        while (n < length) {
+            if (n == payload.length) {
+                payload = Arrays.copyOf(payload, (int) Math.min(length, 2L * n));
+            }
+            int read = in.read(payload, n, payload.length - n);
+            if (read < 0) {
+                throw new EOFException("Truncated snapshot, payload of " + length
+                        + " bytes but only " + n + " available");
+            }
+            n += read;
+        }
+        return payload;
+    }
+
+    /**
+     * restores the data of a series that was written via
+     * {@link #write(Series, OutputStream, Encoding)}.
+     *
+     * @param series the series that will get the data
+     * @param in source stream
+     * @throws IOException if the data is not a valid snapshot
+     */
+    public static void restore(BaseSeries<DataPoint> series, InputStream in) throws IOException {
+        series.resetData(read(in));
+    }
+
+    /**
+     * writes all data of the series into a parcel.
+     *
+     * @param series the series
+     * @param dest the parcel
+     * @param encoding how to store the values
+     */
+    public static void writeToParcel(Series<?> series, Parcel dest, Encoding encoding) {
+        dest.writeByteArray(toByteArray(series, encoding));
+    }
+
+    /**
+     * reads data points that were written via
+     * {@link #writeToParcel(Series, Parcel, Encoding)}.
+     *
+     * @param source the parcel
+     * @return the data points
+     */
+    public static DataPoint[] readFromParcel(Parcel source) {
+        return fromByteArray(source.createByteArray());
+    }
+
+    /**
+     * @param series the series, a series with a {@link PagedSeriesStorage}
+     *               is not supported because it would load the complete source
+     * @param encoding how to store the values
+     * @return the snapshot
+     */
+    public static byte[] toByteArray(Series<?> series, Encoding encoding) {
+        if (series instanceof BaseSeries && ((BaseSeries<?>) series).getStorage() instanceof PagedSeriesStorage) {
+            throw new IllegalArgumentException("A series with a PagedSeriesStorage can not be saved, save the source instead");
+        }
+        // collect the values into primitive arrays
+        double[] xs = new double[64];
+        double[] ys = new double[64];
+        int count = 0;
+        boolean integralX = true;
+        Iterator<? extends DataPointInterface> values = series.getValues(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        while (values.hasNext()) {
+            DataPointInterface dp = values.next();
+            if (count == xs.length) {
+                xs = Arrays.copyOf(xs, count * 2);
+                ys = Arrays.copyOf(ys, count * 2);
+            }
+            xs[count] = dp.getX();
+            ys[count] = dp.getY();
+            if (integralX && !GorillaCodec.isIntegral(xs[count])) {
+                integralX = false;
+            }
+            count++;
+        }
+
+        byte[] payload;
+        switch (encoding) {
+            case GORILLA:
+                GorillaCodec.Encoder encoder = new GorillaCodec.Encoder(integralX, count);
+                for (int i = 0; i < count; i++) {
+                    encoder.add(xs[i], ys[i]);
+                }
+                payload = encoder.toByteArray();
+                break;
+            case DELTA:
+                payload = encodeDelta(xs, ys, count, integralX);
+                break;
+            default:
+                ByteBuffer buffer = ByteBuffer.allocate(count * 16);
+                buffer.asDoubleBuffer().put(xs, 0, count);
+                buffer.position(count * 8);
+                buffer.asDoubleBuffer().put(ys, 0, count);
+                payload = buffer.array();
+                break;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(15 + payload.length);
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.put((byte) encoding.ordinal());
+        out.put((byte) (integralX ? FLAG_INTEGRAL_X : 0));
+        out.putInt(count);
+        out.putInt(payload.length);
+        out.put(payload);
+        return out.array();
+    }
+
+    /**
+     * @param snapshot data that was created via {@link #toByteArray(Series, Encoding)}
+     * @return the data points
+     * @throws IllegalArgumentException if the data is not a valid, a corrupt or a truncated snapshot
+     */
+    public static DataPoint[] fromByteArray(byte[] snapshot) {
+        ByteBuffer in = ByteBuffer.wrap(snapshot);
+        if (snapshot.length < 15 || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a GraphView series snapshot");
+        }
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot version " + version);
+        }
+        int encoding = in.get();
+        int flags = in.get();
+        int count = in.getInt();
+        int length = in.getInt();
+        if (length > snapshot.length - 15) {
+            throw new IllegalArgumentException("Truncated snapshot, payload of " + length
+                    + " bytes but only " + (snapshot.length - 15) + " available");
+        }
+        checkPayload(encoding, flags, count, length);
+        byte[] payload = Arrays.copyOfRange(snapshot, 15, 15 + length);
+        return decode(encoding, flags, count, payload);
+    }
+
+    /**
+     * y-values as plain doubles, followed by the x-values.
+     * Integral x-values are stored as first value plus
+     * zigzag varint deltas.
+     */
+    private static byte[] encodeDelta(double[] xs, double[] ys, int count, boolean integralX) {
+        if (!integralX || count == 0) {
+            ByteBuffer buffer = ByteBuffer.allocate(count * 16);
+            buffer.asDoubleBuffer().put(ys, 0, count);
+            buffer.position(count * 8);
+            buffer.asDoubleBuffer().put(xs, 0, count);
+            return buffer.array();
+        }
+        // worst case 10 bytes per varint
+        ByteBuffer buffer = ByteBuffer.allocate(count * 8 + 8 + (count - 1) * 10);
+        buffer.asDoubleBuffer().put(ys, 0, count);
+        buffer.position(count * 8);
+        long prev = (long) xs[0];
+        buffer.putLong(prev);
+        for (int i = 1; i < count; i++) {
+            long x = (long) xs[i];
+            long delta = x - prev;
+            long zigzag = (delta << 1) ^ (delta >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer.put((byte) ((zigzag & 0x7F) | 0x80));
+                zigzag >>>= 7;
+            }
+            buffer.put((byte) zigzag);
+            prev = x;
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * checks that the payload can contain count data points,
+     * before anything is allocated for them.
+     *
+     * @throws IllegalArgumentException if the header is corrupt
+     */
+    private static void checkPayload(int encoding, int flags, int count, int length) {
+        if (count < 0 || length < 0) {
+            throw new IllegalArgumentException("Corrupt snapshot, count " + count + ", payload " + length);
+        }
+        boolean integralX = (flags & FLAG_INTEGRAL_X) != 0;
+        boolean valid;
+        if (encoding == Encoding.RAW.ordinal()
+                || (encoding == Encoding.DELTA.ordinal() && (!integralX || count == 0))) {
+            valid = length == 16L * count;
+        } else if (encoding == Encoding.DELTA.ordinal()) {
+            // y-values, first x-value and at least one byte per delta
+            valid = length >= 8L * count + 8 + (count - 1);
+        } else if (encoding == Encoding.GORILLA.ordinal()) {
+            // first data point and at least two bits per data point
+            valid = count == 0 || 8L * length >= 128 + 2L * (count - 1);
+        } else {
+            throw new IllegalArgumentException("Unknown snapshot encoding " + encoding);
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("Corrupt snapshot, payload of " + length
+                    + " bytes does not match " + count + " data points");
+        }
+    }
+
+    private static DataPoint[] decode(int encoding, int flags, int count, byte[] payload) {
+        try {
+            return decodePayload(encoding, flags, count, payload);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt snapshot, payload ends too early", e);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt snapshot, payload ends too early", e);
+        }
+    }
+
+    private static DataPoint[] decodePayload(int encoding, int flags, int count, byte[] payload) {
+        boolean integralX = (flags & FLAG_INTEGRAL_X) != 0;
+        DataPoint[] result = new DataPoint[count];
+        if (encoding == Encoding.GORILLA.ordinal()) {
+            GorillaCodec.Decoder decoder = new GorillaCodec.Decoder(payload, 0, count, integralX);
+            int i = 0;
+            while (decoder.next()) {
+                result[i++] = new DataPoint(decoder.getX(), decoder.getY());
+            }
+            if (i != count) {
+                throw new IllegalArgumentException("Corrupt snapshot, " + i + " of " + count + " data points");
+            }
+            return result;
+        }
+
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        if (encoding == Encoding.RAW.ordinal()) {
+            buffer.asDoubleBuffer().get(xs);
+            buffer.position(count * 8);
+            buffer.asDoubleBuffer().get(ys);
+        } else if (encoding == Encoding.DELTA.ordinal()) {
+            buffer.asDoubleBuffer().get(ys);
+            buffer.position(count * 8);
+            if (!integralX || count == 0) {
+                buffer.asDoubleBuffer().get(xs);
+            } else {
+                long x = buffer.getLong();
+                xs[0] = x;
+                for (int i = 1; i < count; i++) {
+                    long zigzag = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = buffer.get();
+                        zigzag |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    } while ((b & 0x80) != 0);
+                    x += (zigzag >>> 1) ^ -(zigzag & 1);
+                    xs[i] = x;
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown snapshot encoding " + encoding);
+        }
+        for (int i = 0; i < count; i++) {
+            result[i] = new DataPoint(xs[i], ys[i]);
+        }
+        return result;
+    }
+}
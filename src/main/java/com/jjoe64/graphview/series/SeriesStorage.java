@@ -0,0 +1,91 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.util.Iterator;
+
+/**
+ * Storage backend that holds the data of a
+ * {@link com.jjoe64.graphview.series.BaseSeries}.
+ *
+ * By default a series uses {@link com.jjoe64.graphview.series.ArraySeriesStorage}
+ * which keeps all data points in memory.
+ * Implement this interface in order to provide the data from
+ * another source and set it via
+ * {@link com.jjoe64.graphview.series.BaseSeries#setStorage(SeriesStorage)}.
+ *
+ * @author jjoe64
+ */
+public interface SeriesStorage<E extends DataPointInterface> {
+    /**
+     * @return whether there are data points
+     */
+    boolean isEmpty();
+
+    /**
+     * @return the lowest x value, or 0 if there is no data
+     */
+    double getLowestValueX();
+
+    /**
+     * @return the highest x value, or 0 if there is no data
+     */
+    double getHighestValueX();
+
+    /**
+     * @return the lowest y value, or 0 if there is no data
+     */
+    double getLowestValueY();
+
+    /**
+     * @return the highest y value, or 0 if there is no data
+     */
+    double getHighestValueY();
+
+    /**
+     * get the values for a given x range, sorted from
+     * the lowest to the highest x-value.
+     * If it is only a part of the data, the range has to be
+     * returned plus one datapoint before and after.
+     *
+     * @param from minimal x-value
+     * @param until maximal x-value
+     * @return data for the range +/- 1 datapoint
+     */
+    Iterator<E> getValues(double from, double until);
+
+    /**
+     * appends a data point at the end.
+     *
+     * @param dataPoint the new data point. x-value has to be
+     *                  greater or equal than the last x-value.
+     * @param maxDataPoints if max data count is reached, the oldest data
+     *                      value will be lost
+     * @return true if old data points were removed
+     * @throws UnsupportedOperationException if the storage is read-only
+     */
+    boolean append(E dataPoint, int maxDataPoints);
+
+    /**
+     * clears the data and sets new.
+     *
+     * @param data the values must be in the correct order!
+     *             x-value has to be ASC.
+     * @throws UnsupportedOperationException if the storage is read-only
+     */
+    void reset(E[] data);
+}
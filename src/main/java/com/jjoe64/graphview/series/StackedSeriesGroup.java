@@ -0,0 +1,197 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.graphics.Color;
+
+import com.jjoe64.graphview.GraphView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Group of line series that are stacked on top
+ * of each other (stacked area/line chart).
+ *
+ * All layers share the same x-values. Each layer
+ * stores the cumulative sum of its value and the values
+ * of the layers below, so appending a sample costs
+ * O(layers) and the graph is updated only once.
+ *
+ * The layers are normal {@link LineGraphSeries}, style
+ * them via {@link #getLayer(int)}. With
+ * {@link #setDrawBackground(boolean)} each layer fills
+ * the area below its line. The layers are added to the
+ * graph from the top to the bottom, so that each fill
+ * covers the fill of the layer above up to its line.
+ * This needs opaque background colors and values &gt;= 0,
+ * negative values are rejected.
+ *
+ * @author jjoe64
+ */
+public class StackedSeriesGroup {
+    /**
+     * the layers, index 0 is the bottom
+     */
+    private final List<LineGraphSeries<DataPoint>> mLayers;
+
+    /**
+     * creates the group with empty layers
+     *
+     * @param layerCount number of layers
+     */
+    public StackedSeriesGroup(int layerCount) {
+        if (layerCount < 1) {
+            throw new IllegalArgumentException("A stacked group needs at least one layer");
+        }
+        mLayers = new ArrayList<LineGraphSeries<DataPoint>>(layerCount);
+        for (int i = 0; i < layerCount; i++) {
+            mLayers.add(new LineGraphSeries<DataPoint>());
+        }
+    }
+
+    /**
+     * @return number of layers
+     */
+    public int getLayerCount() {
+        return mLayers.size();
+    }
+
+    /**
+     * @param index index of the layer, 0 is the bottom
+     * @return the series of the layer, the y-values are the cumulative sums
+     */
+    public LineGraphSeries<DataPoint> getLayer(int index) {
+        return mLayers.get(index);
+    }
+
+    /**
+     * adds all layers to the graph, the top layer first
+     *
+     * @param graphView the graph
+     */
+    public void addTo(GraphView graphView) {
+        for (int i = mLayers.size() - 1; i >= 0; i--) {
+            graphView.addSeries(mLayers.get(i));
+        }
+    }
+
+    /**
+     * removes all layers from the graph
+     *
+     * @param graphView the graph
+     */
+    public void removeFrom(GraphView graphView) {
+        for (LineGraphSeries<DataPoint> layer : mLayers) {
+            graphView.removeSeries(layer);
+        }
+    }
+
+    /**
+     * A translucent background color of a layer is made opaque,
+     * with the look it has on a white background. Otherwise the
+     * fills of the upper layers would shine through.
+     * Background colors that are set later have to be opaque.
+     *
+     * @param drawBackground true to fill the area of each layer
+     */
+    public void setDrawBackground(boolean drawBackground) {
+        for (LineGraphSeries<DataPoint> layer : mLayers) {
+            if (drawBackground) {
+                layer.setBackgroundColor(opaque(layer.getBackgroundColor()));
+            }
+            layer.setDrawBackground(drawBackground);
+        }
+    }
+
+    /**
+     * @param color a color
+     * @return the color drawn on white
+     */
+    private static int opaque(int color) {
+        int alpha = Color.alpha(color);
+        return Color.rgb(
+                255 - (255 - Color.red(color)) * alpha / 255,
+                255 - (255 - Color.green(color)) * alpha / 255,
+                255 - (255 - Color.blue(color)) * alpha / 255);
+    }
+
+    /**
+     * appends one sample to all layers.
+     *
+     * @param x the x-value, has to be higher than the last one
+     * @param values one value per layer, starting at the bottom, &gt;= 0
+     * @param scrollToEnd true => graphview will scroll to the end (maxX)
+     * @param maxDataPoints if max data count is reached, the oldest data
+     *                      value will be lost to avoid memory leaks
+     */
+    public void appendData(double x, double[] values, boolean scrollToEnd, int maxDataPoints) {
+        checkLength(values.length);
+        checkValues(values);
+        double sum = 0;
+        int last = mLayers.size() - 1;
+        for (int i = 0; i <= last; i++) {
+            sum += values[i];
+            // only the last layer updates the graph
+            mLayers.get(i).appendData(new DataPoint(x, sum), scrollToEnd, maxDataPoints, i != last);
+        }
+    }
+
+    /**
+     * clears the data of all layers and sets new.
+     *
+     * @param x the x-values in ascending order
+     * @param values the values per layer (values[layer][index]), &gt;= 0,
+     *               every layer needs as many values as x-values
+     */
+    public void resetData(double[] x, double[][] values) {
+        checkLength(values.length);
+        int last = mLayers.size() - 1;
+        // before any layer is changed
+        for (int i = 0; i <= last; i++) {
+            if (values[i].length != x.length) {
+                throw new IllegalArgumentException("Layer " + i + " has " + values[i].length
+                        + " values, expected " + x.length);
+            }
+            checkValues(values[i]);
+        }
+        double[] sums = new double[x.length];
+        for (int i = 0; i <= last; i++) {
+            DataPoint[] data = new DataPoint[x.length];
+            for (int j = 0; j < x.length; j++) {
+                sums[j] += values[i][j];
+                data[j] = new DataPoint(x[j], sums[j]);
+            }
+            // only the last layer updates the graph
+            mLayers.get(i).resetData(data, i != last);
+        }
+    }
+
+    private void checkLength(int length) {
+        if (length != mLayers.size()) {
+            throw new IllegalArgumentException("Expected " + mLayers.size() + " layers, got " + length);
+        }
+    }
+
+    private static void checkValues(double[] values) {
+        for (double value : values) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Stacked values must not be negative, got " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,572 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Storage for time series with x-values in milliseconds,
+ * e.g. together with {@link com.jjoe64.graphview.helper.DateAsXAxisLabelFormatter}.
+ *
+ * The samples are not stored, they are aggregated into
+ * buckets on different levels (by default second, minute,
+ * hour and day) with min, max, sum and count. The aggregates
+ * are updated incrementally on append.
+ *
+ * When the series is drawn, the finest level that results
+ * in at most {@link #getMaxBuckets()} buckets for the visible
+ * range is used. Set this to about the width of the graph in pixels.
+ * The x-value of a bucket is the start time of the bucket.
+ *
+ * Each level keeps at most {@link #getMaxBucketsPerLevel()} buckets,
+ * the oldest buckets are removed independently per level. So the
+ * coarse levels keep the history after the fine levels were
+ * removed, ranges that are not covered by a fine level are
+ * served from a coarser level.
+ *
+ * The storage can be appended from another thread than
+ * the drawing, the iterators work on a copy of the served buckets.
+ *
+ * @author jjoe64
+ */
+public class TimeBucketSeriesStorage implements SeriesStorage<DataPoint>, VersionedStorage {
+    /**
+     * which value of a bucket is served
+     */
+    public enum Aggregate {
+        AVERAGE, MIN, MAX,
+
+        /**
+         * two data points per bucket, first the
+         * min then the max value
+         */
+        MIN_MAX
+    }
+
+    /**
+     * default bucket durations: second, minute, hour, day
+     */
+    public static final long[] DEFAULT_DURATIONS = {1000L, 60000L, 3600000L, 86400000L};
+
+    /**
+     * buckets of one resolution, stored in primitive arrays.
+     * Valid entries are from head to head+size-1.
+     */
+    private static final class Level {
+        final long duration;
+        long[] index = new long[64];
+        double[] min = new double[64];
+        double[] max = new double[64];
+        double[] sum = new double[64];
+        int[] count = new int[64];
+        int head;
+        int size;
+
+        Level(long duration) {
+            this.duration = duration;
+        }
+
+        /**
+         * @return true if a new bucket was created
+         */
+        boolean add(double x, double y) {
+            long idx = (long) Math.floor(x / duration);
+            int last = head + size - 1;
+            if (size > 0 && index[last] == idx) {
+                if (y < min[last]) min[last] = y;
+                if (y > max[last]) max[last] = y;
+                sum[last] += y;
+                count[last]++;
+                return false;
+            }
+            if (head + size == index.length) {
+                ensureCapacity();
+            }
+            int i = head + size;
+            index[i] = idx;
+            min[i] = y;
+            max[i] = y;
+            sum[i] = y;
+            count[i] = 1;
+            size++;
+            return true;
+        }
+
+        private void ensureCapacity() {
+            if (head > index.length / 2) {
+                // compact
+                System.arraycopy(index, head, index, 0, size);
+                System.arraycopy(min, head, min, 0, size);
+                System.arraycopy(max, head, max, 0, size);
+                System.arraycopy(sum, head, sum, 0, size);
+                System.arraycopy(count, head, count, 0, size);
+                head = 0;
+            } else {
+                int capacity = index.length * 2;
+                index = Arrays.copyOf(index, capacity);
+                min = Arrays.copyOf(min, capacity);
+                max = Arrays.copyOf(max, capacity);
+                sum = Arrays.copyOf(sum, capacity);
+                count = Arrays.copyOf(count, capacity);
+            }
+        }
+
+        void removeFirst() {
+            head++;
+            size--;
+            if (size == 0) {
+                head = 0;
+            }
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        double startX(int i) {
+            return index[i] * (double) duration;
+        }
+
+        /**
+         * @return array index of the first bucket that starts at or
+         * after x, or head+size
+         */
+        int search(double x) {
+            int lo = head;
+            int hi = head + size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (startX(mid) < x) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * levels from fine to coarse
+     */
+    private final Level[] mLevels;
+
+    /**
+     * which value is served
+     */
+    private Aggregate mAggregate = Aggregate.AVERAGE;
+
+    /**
+     * max count of buckets for the visible range
+     */
+    private int mMaxBuckets = 1000;
+
+    /**
+     * max count of buckets that is kept per level
+     */
+    private int mMaxBucketsPerLevel = 100000;
+
+    /**
+     * x-value of the latest sample
+     */
+    private double mLastSampleX = Double.NaN;
+
+    /**
+     * counts the modifications of the data
+     */
+    private int mModificationCount;
+
+    /**
+     * cache for lowest y value
+     */
+    private double mLowestYCache = Double.NaN;
+
+    /**
+     * cache for highest y value
+     */
+    private double mHighestYCache = Double.NaN;
+
+    /**
+     * creates the storage with second, minute, hour and day buckets
+     */
+    public TimeBucketSeriesStorage() {
+        this(DEFAULT_DURATIONS);
+    }
+
+    /**
+     * @param durations durations of the bucket levels in milliseconds
+     *                  in ascending order
+     */
+    public TimeBucketSeriesStorage(long[] durations) {
+        if (durations.length == 0) {
+            throw new IllegalArgumentException("at least one bucket duration is required");
+        }
+        mLevels = new Level[durations.length];
+        for (int i = 0; i < durations.length; i++) {
+            if (durations[i] <= 0 || (i > 0 && durations[i] <= durations[i - 1])) {
+                throw new IllegalArgumentException("bucket durations have to be positive and in ascending order");
+            }
+            mLevels[i] = new Level(durations[i]);
+        }
+    }
+
+    /**
+     * @return whether there are data points
+     */
+    @Override
+    public synchronized boolean isEmpty() {
+        return Double.isNaN(mLastSampleX);
+    }
+
+    /**
+     * @return start of the first bucket, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getLowestValueX() {
+        if (isEmpty()) return 0d;
+        double lowest = Double.POSITIVE_INFINITY;
+        for (Level level : mLevels) {
+            if (level.size > 0) {
+                lowest = Math.min(lowest, level.startX(level.head));
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * @return x-value of the latest sample, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getHighestValueX() {
+        if (isEmpty()) return 0d;
+        return mLastSampleX;
+    }
+
+    /**
+     * @return the lowest sample value, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getLowestValueY() {
+        if (isEmpty()) return 0d;
+        if (Double.isNaN(mLowestYCache)) {
+            calcBoundsY();
+        }
+        return mLowestYCache;
+    }
+
+    /**
+     * @return the highest sample value, or 0 if there is no data
+     */
+    @Override
+    public synchronized double getHighestValueY() {
+        if (isEmpty()) return 0d;
+        if (Double.isNaN(mHighestYCache)) {
+            calcBoundsY();
+        }
+        return mHighestYCache;
+    }
+
+    /**
+     * calculates the bounds from the finest level and the
+     * older buckets of the coarser levels that are not
+     * covered by a finer level anymore
+     */
+    private void calcBoundsY() {
+        double low = Double.POSITIVE_INFINITY;
+        double high = Double.NEGATIVE_INFINITY;
+        double covered = Double.POSITIVE_INFINITY;
+        for (Level level : mLevels) {
+            for (int i = level.head; i < level.head + level.size && level.startX(i) < covered; i++) {
+                if (level.min[i] < low) low = level.min[i];
+                if (level.max[i] > high) high = level.max[i];
+            }
+            if (level.size > 0) {
+                covered = Math.min(covered, level.startX(level.head));
+            }
+        }
+        mLowestYCache = low;
+        mHighestYCache = high;
+    }
+
+    /**
+     * removes the oldest bucket of a level and
+     * invalidates the y bounds if necessary
+     */
+    private void removeFirst(Level level) {
+        if (level.min[level.head] <= mLowestYCache) {
+            mLowestYCache = Double.NaN;
+        }
+        if (level.max[level.head] >= mHighestYCache) {
+            mHighestYCache = Double.NaN;
+        }
+        level.removeFirst();
+    }
+
+    /**
+     * aggregates a sample into the buckets of all levels.
+     *
+     * @param dataPoint the new sample, x-value in milliseconds
+     * @param maxDataPoints max count of buckets of the finest level.
+     *                      If it is reached, the oldest bucket will be removed.
+     *                      Buckets of coarser levels are removed when they
+     *                      are completely out of range.
+     * @return true if old buckets were removed
+     */
+    @Override
+    public synchronized boolean append(DataPoint dataPoint, int maxDataPoints) {
+        mModificationCount++;
+        double x = dataPoint.getX();
+        double y = dataPoint.getY();
+        if (!Double.isNaN(mLastSampleX) && x < mLastSampleX) {
+            throw new IllegalArgumentException("new x-value must be greater then the last value. x-values has to be ordered in ASC.");
+        }
+        mLastSampleX = x;
+
+        boolean trimmed = false;
+        for (Level level : mLevels) {
+            if (level.add(x, y) && level.size > mMaxBucketsPerLevel) {
+                removeFirst(level);
+                trimmed = true;
+            }
+        }
+
+        Level finest = mLevels[0];
+        if (finest.size > maxDataPoints) {
+            removeFirst(finest);
+            double lowest = finest.startX(finest.head);
+            for (int l = 1; l < mLevels.length; l++) {
+                Level level = mLevels[l];
+                while (level.size > 1 && level.startX(level.head) + level.duration <= lowest) {
+                    removeFirst(level);
+                }
+            }
+            trimmed = true;
+        }
+
+        // update lowest/highest cache
+        if (!Double.isNaN(mHighestYCache) && y > mHighestYCache) {
+            mHighestYCache = y;
+        }
+        if (!Double.isNaN(mLowestYCache) && y < mLowestYCache) {
+            mLowestYCache = y;
+        }
+        return trimmed;
+    }
+
+    /**
+     * clears the buckets and aggregates the samples.
+     *
+     * @param data the values must be in the correct order!
+     *             x-value has to be ASC.
+     */
+    @Override
+    public synchronized void reset(DataPoint[] data) {
+        mModificationCount++;
+        for (Level level : mLevels) {
+            level.clear();
+        }
+        mLastSampleX = Double.NaN;
+        mHighestYCache = mLowestYCache = Double.NaN;
+        for (DataPoint d : data) {
+            append(d, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * returns the buckets of the finest level that has at most
+     * {@link #getMaxBuckets()} buckets in the range and that
+     * covers the begin of the range, plus one bucket before and after.
+     *
+     * @param from minimal x-value
+     * @param until maximal x-value
+     * @return data for the range +/- 1 bucket
+     */
+    @Override
+    public synchronized Iterator<DataPoint> getValues(double from, double until) {
+        if (isEmpty()) {
+            return new BucketIterator(new double[0], new double[0]);
+        }
+        double rangeFrom = Math.max(from, getLowestValueX());
+        double rangeUntil = Math.min(until, getHighestValueX());
+        double range = Math.max(0d, rangeUntil - rangeFrom);
+
+        Level level = mLevels[mLevels.length - 1];
+        for (Level l : mLevels) {
+            if (l.size > 0 && range / l.duration <= mMaxBuckets && l.startX(l.head) <= rangeFrom) {
+                level = l;
+                break;
+            }
+        }
+
+        int start = level.search(from);
+        if (start > level.head) {
+            start--;
+        }
+        int end = level.search(until);
+        if (end < level.head + level.size) {
+            // one bucket after, if it is not exactly at the end of the range
+            if (level.startX(end) > until) {
+                end++;
+            } else {
+                end = Math.min(end + 2, level.head + level.size);
+            }
+        }
+
+        // copy the values, the buckets can change while iterating
+        int count = Math.max(0, end - start);
+        boolean minMax = mAggregate == Aggregate.MIN_MAX;
+        double[] xs = new double[minMax ? count * 2 : count];
+        double[] ys = new double[xs.length];
+        int n = 0;
+        for (int i = start; i < end; i++) {
+            double x = level.startX(i);
+            switch (mAggregate) {
+                case MIN:
+                    ys[n] = level.min[i];
+                    break;
+                case MAX:
+                    ys[n] = level.max[i];
+                    break;
+                case MIN_MAX:
+                    xs[n] = x;
+                    ys[n++] = level.min[i];
+                    ys[n] = level.max[i];
+                    break;
+                default:
+                    ys[n] = level.sum[i] / level.count[i];
+                    break;
+            }
+            xs[n++] = x;
+        }
+        return new BucketIterator(xs, ys);
+    }
+
+    /**
+     * iterates the copied values of buckets
+     */
+    private static final class BucketIterator implements Iterator<DataPoint> {
+        private final double[] mX;
+        private final double[] mY;
+        private int mIndex;
+
+        BucketIterator(double[] x, double[] y) {
+            mX = x;
+            mY = y;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return mIndex < mX.length;
+        }
+
+        @Override
+        public DataPoint next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataPoint dp = new DataPoint(mX[mIndex], mY[mIndex]);
+            mIndex++;
+            return dp;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * @return which value of a bucket is served
+     */
+    public synchronized Aggregate getAggregate() {
+        return mAggregate;
+    }
+
+    /**
+     * the graph has to be redrawn to apply
+     * the change.
+     *
+     * @param aggregate which value of a bucket is served
+     */
+    public synchronized void setAggregate(Aggregate aggregate) {
+        mModificationCount++;
+        mAggregate = aggregate;
+    }
+
+    /**
+     * @return max count of buckets for the visible range
+     */
+    public synchronized int getMaxBuckets() {
+        return mMaxBuckets;
+    }
+
+    /**
+     * @param maxBuckets max count of buckets for the visible range.
+     *                   About the width of the graph in pixels is
+     *                   a good value.
+     */
+    public synchronized void setMaxBuckets(int maxBuckets) {
+        mModificationCount++;
+        mMaxBuckets = maxBuckets;
+    }
+
+    /**
+     * @return max count of buckets that is kept per level
+     */
+    public synchronized int getMaxBucketsPerLevel() {
+        return mMaxBucketsPerLevel;
+    }
+
+    /**
+     * max count of buckets that is kept per level, the oldest
+     * buckets of a level are removed when it is reached.
+     * Takes effect on the next append.
+     *
+     * @param maxBucketsPerLevel max count of buckets per level, default 100000
+     */
+    public synchronized void setMaxBucketsPerLevel(int maxBucketsPerLevel) {
+        mModificationCount++;
+        if (maxBucketsPerLevel < 1) {
+            throw new IllegalArgumentException("maxBucketsPerLevel has to be at least 1");
+        }
+        mMaxBucketsPerLevel = maxBucketsPerLevel;
+    }
+
+    /**
+     * @return count of samples that were aggregated
+     * into the not removed buckets of the finest level
+     */
+    public synchronized long getSampleCount() {
+        Level level = mLevels[0];
+        long count = 0;
+        for (int i = level.head; i < level.head + level.size; i++) {
+            count += level.count[i];
+        }
+        return count;
+    }
+
+    /**
+     * @return a number that changes on every modification of the data
+     */
+    @Override
+    public synchronized int getModificationCount() {
+        return mModificationCount;
+    }
+}
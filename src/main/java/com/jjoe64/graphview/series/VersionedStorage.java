@@ -0,0 +1,39 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+/**
+ * optional interface of a {@link SeriesStorage} that
+ * counts its modifications.
+ *
+ * {@link BaseSeries#getDataVersion()} includes the count,
+ * so caches of the graph (ranges, overview, paths) detect
+ * changes that were made directly on the storage, e.g. via
+ * {@link BaseSeries#getStorage()} or
+ * {@link PagedSeriesStorage#clearCache()}.
+ * The graph is not redrawn by the storage, call
+ * {@link BaseSeries#notifyDataChanged()} for this.
+ *
+ * @author jjoe64
+ */
+public interface VersionedStorage {
+    /**
+     * @return a number that changes on every modification
+     * of the data
+     */
+    int getModificationCount();
+}
@@ -0,0 +1,178 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Canvas that only counts the drawing calls,
+ * so that a benchmark measures the time of GraphView
+ * and not of the rasterizer.
+ *
+ * @author jjoe64
+ */
+public class CountingCanvas extends Canvas {
+    private final int mWidth;
+    private final int mHeight;
+
+    /**
+     * number of draw calls
+     */
+    private long mCalls;
+
+    /**
+     * number of line segments, including drawLines
+     */
+    private long mLines;
+
+    private int mSaveCount = 1;
+
+    /**
+     * @param width width of the canvas
+     * @param height height of the canvas
+     */
+    public CountingCanvas(int width, int height) {
+        mWidth = width;
+        mHeight = height;
+    }
+
+    public long getCalls() {
+        return mCalls;
+    }
+
+    public long getLines() {
+        return mLines;
+    }
+
+    /**
+     * sets the counters to zero
+     */
+    public void reset() {
+        mCalls = 0;
+        mLines = 0;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+        mCalls++;
+        mLines++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint) {
+        mCalls++;
+        mLines += pts.length / 4;
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint) {
+        mCalls++;
+        mLines += count / 4;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawColor(int color) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public void drawVertices(VertexMode mode, int vertexCount, float[] verts, int vertOffset, float[] texs, int texOffset,
+                             int[] colors, int colorOffset, short[] indices, int indexOffset, int indexCount, Paint paint) {
+        mCalls++;
+    }
+
+    @Override
+    public int save() {
+        return mSaveCount++;
+    }
+
+    @Override
+    public void restore() {
+        mSaveCount--;
+    }
+
+    @Override
+    public void restoreToCount(int saveCount) {
+        mSaveCount = saveCount;
+    }
+
+    @Override
+    public void translate(float dx, float dy) {
+    }
+
+    @Override
+    public void rotate(float degrees) {
+    }
+
+    @Override
+    public void scale(float sx, float sy) {
+    }
+
+    @Override
+    public int getWidth() {
+        return mWidth;
+    }
+
+    @Override
+    public int getHeight() {
+        return mHeight;
+    }
+
+    @Override
+    public boolean isHardwareAccelerated() {
+        return true;
+    }
+}
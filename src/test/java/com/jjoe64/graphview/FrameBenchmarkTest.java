@@ -0,0 +1,176 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview;
+
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import com.jjoe64.graphview.series.BarGraphSeries;
+import com.jjoe64.graphview.series.BaseSeries;
+import com.jjoe64.graphview.series.DataPoint;
+import com.jjoe64.graphview.series.LineGraphSeries;
+import com.jjoe64.graphview.series.PointsGraphSeries;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * Measures drawGraphElements for typical configurations
+ * on the JVM: time, canvas calls and allocated bytes per frame.
+ *
+ * Only runs with
+ * ./gradlew testDebugUnitTest -Pbenchmark --tests '*FrameBenchmarkTest*'
+ *
+ * The absolute times are not the times on a device,
+ * compare only results of the same machine.
+ *
+ * @author jjoe64
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class FrameBenchmarkTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 720;
+    private static final int WARMUP_FRAMES = 20;
+    private static final int FRAMES = 50;
+
+    private static final int[] SERIES_COUNTS = {1, 4};
+    private static final int[] POINT_COUNTS = {1000, 100000};
+
+    /**
+     * the configurations that are measured
+     */
+    enum Scenario {
+        LINE, LINE_BACKGROUND, LINE_PATH, BAR, POINTS, SECOND_SCALE, CURSOR
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue("benchmark disabled, run with -Pbenchmark", Boolean.getBoolean("graphview.benchmark"));
+    }
+
+    @Test
+    public void frames() {
+        System.out.println(String.format(Locale.US, "%-16s %7s %8s %12s %12s %12s %14s",
+                "scenario", "series", "points", "ms/frame", "calls/frame", "lines/frame", "bytes/frame"));
+        for (Scenario scenario : Scenario.values()) {
+            for (int seriesCount : SERIES_COUNTS) {
+                for (int pointCount : POINT_COUNTS) {
+                    measure(scenario, seriesCount, pointCount);
+                }
+            }
+        }
+    }
+
+    private void measure(Scenario scenario, int seriesCount, int pointCount) {
+        GraphView graphView = createGraph(scenario, seriesCount, pointCount);
+        CountingCanvas canvas = new CountingCanvas(WIDTH, HEIGHT);
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            graphView.drawGraphElements(canvas);
+        }
+
+        canvas.reset();
+        long bytes = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            graphView.drawGraphElements(canvas);
+        }
+        long time = System.nanoTime() - start;
+        bytes = allocatedBytes() - bytes;
+
+        System.out.println(String.format(Locale.US, "%-16s %7d %8d %12.3f %12d %12d %14d",
+                scenario, seriesCount, pointCount,
+                time / 1e6 / FRAMES, canvas.getCalls() / FRAMES, canvas.getLines() / FRAMES, bytes / FRAMES));
+    }
+
+    private GraphView createGraph(Scenario scenario, int seriesCount, int pointCount) {
+        GraphView graphView = new GraphView(RuntimeEnvironment.application);
+        for (int s = 0; s < seriesCount; s++) {
+            DataPoint[] data = createData(pointCount, s);
+            BaseSeries<DataPoint> series;
+            switch (scenario) {
+                case BAR:
+                    series = new BarGraphSeries<DataPoint>(data);
+                    break;
+                case POINTS:
+                    series = new PointsGraphSeries<DataPoint>(data);
+                    break;
+                default:
+                    LineGraphSeries<DataPoint> line = new LineGraphSeries<DataPoint>(data);
+                    line.setDrawBackground(scenario == Scenario.LINE_BACKGROUND);
+                    line.setDrawAsPath(scenario == Scenario.LINE_PATH);
+                    series = line;
+            }
+            if (scenario == Scenario.SECOND_SCALE && s % 2 == 1) {
+                graphView.getSecondScale().addSeries(series);
+            } else {
+                graphView.addSeries(series);
+            }
+        }
+        if (scenario == Scenario.SECOND_SCALE) {
+            graphView.getSecondScale().setMinY(-100);
+            graphView.getSecondScale().setMaxY(100);
+        }
+
+        graphView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        graphView.layout(0, 0, WIDTH, HEIGHT);
+
+        if (scenario == Scenario.CURSOR) {
+            graphView.setCursorMode(true);
+            long now = SystemClock.uptimeMillis();
+            MotionEvent down = MotionEvent.obtain(now, now, MotionEvent.ACTION_DOWN, WIDTH / 2, HEIGHT / 2, 0);
+            graphView.getCursorMode().onDown(down);
+            down.recycle();
+        }
+        return graphView;
+    }
+
+    /**
+     * a sine wave with noise, different for every series
+     */
+    private static DataPoint[] createData(int count, int seriesIndex) {
+        DataPoint[] data = new DataPoint[count];
+        java.util.Random random = new java.util.Random(seriesIndex);
+        for (int i = 0; i < count; i++) {
+            double y = Math.sin(i * 0.01 + seriesIndex) * 80 + random.nextGaussian() * 5;
+            data[i] = new DataPoint(i, y);
+        }
+        return data;
+    }
+
+    /**
+     * @return bytes allocated by this thread, or 0 if not supported
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Append, eviction and range queries of {@link CompressedSeriesStorage},
+ * compared with {@link ArraySeriesStorage}.
+ *
+ * @author jjoe64
+ */
+public class CompressedSeriesStorageTest {
+    private static final int BLOCK_SIZE = 16;
+
+    @Test
+    public void roundTrip() {
+        CompressedSeriesStorage storage = new CompressedSeriesStorage(BLOCK_SIZE);
+        ArraySeriesStorage<DataPoint> expected = new ArraySeriesStorage<DataPoint>();
+        for (int i = 0; i < 1000; i++) {
+            DataPoint dp = new DataPoint(1500000000000L + i * 1000L, Math.sin(i / 10d) * 100);
+            storage.append(dp, Integer.MAX_VALUE);
+            expected.append(dp, Integer.MAX_VALUE);
+        }
+        assertEquals(1000, storage.size());
+        assertValues(expected, storage, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        assertBounds(expected, storage);
+    }
+
+    @Test
+    public void fractionalAndSpecialValues() {
+        CompressedSeriesStorage storage = new CompressedSeriesStorage(BLOCK_SIZE);
+        ArraySeriesStorage<DataPoint> expected = new ArraySeriesStorage<DataPoint>();
+        DataPoint[] data = new DataPoint[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new DataPoint(i * 0.1 - 3.3, i % 10 == 0 ? Double.NaN : i % 7);
+        }
+        storage.reset(data);
+        expected.reset(data);
+        assertValues(expected, storage, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    @Test
+    public void evict() {
+        CompressedSeriesStorage storage = new CompressedSeriesStorage(BLOCK_SIZE);
+        ArraySeriesStorage<DataPoint> expected = new ArraySeriesStorage<DataPoint>();
+        for (int i = 0; i < 1000; i++) {
+            // the highest values are evicted first
+            DataPoint dp = new DataPoint(i, 1000 - i + (i % 3));
+            boolean trimmed = storage.append(dp, 100);
+            assertEquals(i >= 100, trimmed);
+            expected.append(dp, 100);
+
+            // evicts at every position in a block
+            if (i % 7 == 0) {
+                assertEquals(Math.min(i + 1, 100), storage.size());
+                assertBounds(expected, storage);
+            }
+        }
+        assertEquals(100, storage.size());
+        assertEquals(900, storage.getLowestValueX(), 0);
+        assertEquals(999, storage.getHighestValueX(), 0);
+        assertValues(expected, storage, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        assertValues(expected, storage, 850, 920.5);
+    }
+
+    @Test
+    public void ranges() {
+        CompressedSeriesStorage storage = new CompressedSeriesStorage(BLOCK_SIZE);
+        ArraySeriesStorage<DataPoint> expected = new ArraySeriesStorage<DataPoint>();
+        for (int i = 0; i < 500; i++) {
+            DataPoint dp = new DataPoint(i * 2, i % 13);
+            storage.append(dp, Integer.MAX_VALUE);
+            expected.append(dp, Integer.MAX_VALUE);
+        }
+        double[][] ranges = {
+                {-10, 5}, {0, 31}, {31, 33}, {32, 32}, {100.5, 101.5}, {500, 700}, {990, 2000}, {2000, 3000}
+        };
+        for (double[] range : ranges) {
+            assertValues(expected, storage, range[0], range[1]);
+        }
+    }
+
+    @Test
+    public void decimation() {
+        CompressedSeriesStorage storage = new CompressedSeriesStorage(BLOCK_SIZE);
+        ArraySeriesStorage<DataPoint> expected = new ArraySeriesStorage<DataPoint>();
+        Random random = new Random(1);
+        for (int i = 0; i < 10000; i++) {
+            DataPoint dp = new DataPoint(i, random.nextGaussian() * 100);
+            storage.append(dp, 9000);
+            expected.append(dp, 9000);
+        }
+        storage.setDecimationColumns(10);
+
+        double from = 1500;
+        double until = 9500;
+        List<DataPoint> decimated = toList(storage.getValues(from, until));
+        List<DataPoint> raw = toList(expected.getValues(from, until));
+        assertTrue("decimated " + decimated.size(), decimated.size() < raw.size() / 2);
+
+        // the same begin and end, min and max in the range
+        assertEquals(raw.get(0).getX(), decimated.get(0).getX(), 0);
+        assertEquals(raw.get(raw.size() - 1).getX(), decimated.get(decimated.size() - 1).getX(), 0);
+        double[] rawBounds = boundsY(raw, from, until);
+        double[] decimatedBounds = boundsY(decimated, from, until);
+        assertEquals(rawBounds[0], decimatedBounds[0], 0);
+        assertEquals(rawBounds[1], decimatedBounds[1], 0);
+
+        // ordered and no evicted data points
+        double lastX = Double.NEGATIVE_INFINITY;
+        for (DataPoint dp : decimated) {
+            assertTrue(dp.getX() >= lastX);
+            assertTrue(dp.getX() >= storage.getLowestValueX());
+            lastX = dp.getX();
+        }
+
+        // the complete range is never decimated
+        assertValues(expected, storage, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongOrder() {
+        CompressedSeriesStorage storage = new CompressedSeriesStorage(BLOCK_SIZE);
+        storage.append(new DataPoint(2, 1), Integer.MAX_VALUE);
+        storage.append(new DataPoint(1, 1), Integer.MAX_VALUE);
+    }
+
+    private static void assertValues(SeriesStorage<DataPoint> expected, SeriesStorage<DataPoint> actual,
+                                     double from, double until) {
+        List<DataPoint> e = toList(expected.getValues(from, until));
+        List<DataPoint> a = toList(actual.getValues(from, until));
+        String range = "[" + from + ", " + until + "] ";
+        assertEquals(range + "count", e.size(), a.size());
+        for (int i = 0; i < e.size(); i++) {
+            assertEquals(range + "x at " + i,
+                    Double.doubleToLongBits(e.get(i).getX()), Double.doubleToLongBits(a.get(i).getX()));
+            assertEquals(range + "y at " + i,
+                    Double.doubleToLongBits(e.get(i).getY()), Double.doubleToLongBits(a.get(i).getY()));
+        }
+    }
+
+    private static void assertBounds(SeriesStorage<DataPoint> expected, SeriesStorage<DataPoint> actual) {
+        assertEquals(expected.getLowestValueX(), actual.getLowestValueX(), 0);
+        assertEquals(expected.getHighestValueX(), actual.getHighestValueX(), 0);
+        assertEquals(expected.getLowestValueY(), actual.getLowestValueY(), 0);
+        assertEquals(expected.getHighestValueY(), actual.getHighestValueY(), 0);
+    }
+
+    /**
+     * @return min and max y of the data points in the range
+     */
+    private static double[] boundsY(List<DataPoint> values, double from, double until) {
+        double[] bounds = {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (DataPoint dp : values) {
+            if (dp.getX() >= from && dp.getX() <= until) {
+                bounds[0] = Math.min(bounds[0], dp.getY());
+                bounds[1] = Math.max(bounds[1], dp.getY());
+            }
+        }
+        return bounds;
+    }
+
+    private static List<DataPoint> toList(Iterator<DataPoint> values) {
+        List<DataPoint> list = new ArrayList<DataPoint>();
+        while (values.hasNext()) {
+            list.add(values.next());
+        }
+        return list;
+    }
+}
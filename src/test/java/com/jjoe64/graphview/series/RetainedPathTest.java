@@ -0,0 +1,180 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * When the retained path of {@link LineGraphSeries} is
+ * built, extended or built again.
+ *
+ * @author jjoe64
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 27)
+public class RetainedPathTest {
+    private LineGraphSeries<DataPoint> mSeries;
+    private LineGraphSeries.RetainedPath mRetained;
+    private RenderStats mStats;
+
+    @Test
+    public void buildOnceThenUnchanged() {
+        create(1000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 1000);
+        assertEquals(1000, mRetained.points);
+        // the last data point is not part of the chunks
+        assertEquals((999 + LineGraphSeries.RETAINED_CHUNK_POINTS - 1) / LineGraphSeries.RETAINED_CHUNK_POINTS,
+                mRetained.chunks.size());
+
+        assertUpdate(LineGraphSeries.RetainedUpdate.UNCHANGED, 0);
+    }
+
+    @Test
+    public void appendExtends() {
+        create(1000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 1000);
+
+        for (int i = 1000; i < 1003; i++) {
+            mSeries.appendData(new DataPoint(i, i % 7), false, 10000);
+        }
+        assertUpdate(LineGraphSeries.RetainedUpdate.EXTENDED, 3);
+        assertEquals(1003, mRetained.points);
+        assertEquals(1002, mRetained.lastX, 0);
+    }
+
+    @Test
+    public void removedDataPointsDropChunks() {
+        create(1000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 1000);
+
+        for (int i = 1000; i < 6000; i++) {
+            mSeries.appendData(new DataPoint(i, i % 7), false, 1000);
+            assertUpdate(LineGraphSeries.RetainedUpdate.EXTENDED, 1);
+        }
+        assertTrue(mRetained.firstX <= mSeries.getLowestValueX());
+        assertTrue(mRetained.chunks.size() <= 1000 / LineGraphSeries.RETAINED_CHUNK_POINTS + 2);
+        assertTrue(mRetained.points < 1000 + 2 * LineGraphSeries.RETAINED_CHUNK_POINTS);
+    }
+
+    @Test
+    public void runLengthMovesLastPoint() {
+        mSeries = new LineGraphSeries<DataPoint>();
+        mSeries.setDrawAsSteps(true);
+        mSeries.setStorage(new RunLengthSeriesStorage<DataPoint>());
+        mSeries.resetData(new DataPoint[] {
+                new DataPoint(0, 0), new DataPoint(1, 0), new DataPoint(2, 1), new DataPoint(3, 1)
+        });
+        mRetained = new LineGraphSeries.RetainedPath();
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 4);
+
+        // the end of the run is moved
+        for (int i = 4; i < 100; i++) {
+            mSeries.appendData(new DataPoint(i, 1), false, 10000);
+            assertUpdate(LineGraphSeries.RetainedUpdate.EXTENDED, 1);
+            assertEquals(4, mRetained.points);
+            assertEquals(i, mRetained.lastX, 0);
+        }
+
+        // a new run
+        mSeries.appendData(new DataPoint(100, 2), false, 10000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.EXTENDED, 1);
+        assertEquals(5, mRetained.points);
+    }
+
+    @Test
+    public void gaps() {
+        create(10);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 10);
+
+        mSeries.appendData(new DataPoint(10, Double.NaN), false, 10000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.EXTENDED, 1);
+        mSeries.appendData(new DataPoint(11, 1), false, 10000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.EXTENDED, 1);
+        assertTrue(mRetained.gap);
+        mSeries.appendData(new DataPoint(12, 2), false, 10000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.EXTENDED, 1);
+        assertEquals(13, mRetained.points);
+    }
+
+    @Test
+    public void otherChangesBuildAgain() {
+        create(100);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 100);
+
+        mSeries.resetData(new DataPoint[] {new DataPoint(0, 1), new DataPoint(1, 2), new DataPoint(2, 3)});
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 3);
+
+        mSeries.notifyDataChanged();
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 3);
+
+        mSeries.setDrawAsSteps(true);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 3);
+    }
+
+    @Test
+    public void manyRemovedDataPointsBuildAgain() {
+        create(100);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 100);
+
+        // the end of the path was removed from the data
+        for (int i = 100; i < 400; i++) {
+            mSeries.appendData(new DataPoint(i, i % 7), false, 100);
+        }
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 100);
+        assertEquals(300, mRetained.firstX, 0);
+    }
+
+    @Test
+    public void findChunk() {
+        create(1000);
+        assertUpdate(LineGraphSeries.RetainedUpdate.BUILT, 1000);
+
+        int chunk = LineGraphSeries.RETAINED_CHUNK_POINTS;
+        assertEquals(0, mRetained.findChunk(-5));
+        assertEquals(0, mRetained.findChunk(chunk - 1));
+        assertEquals(1, mRetained.findChunk(chunk));
+        assertEquals(2, mRetained.findChunk(2 * chunk + 10));
+        // after the last chunk
+        assertEquals(mRetained.chunks.size() - 1, mRetained.findChunk(5000));
+
+        // each chunk starts at the end of the previous one
+        for (int i = 1; i < mRetained.chunks.size(); i++) {
+            assertEquals(mRetained.chunks.get(i - 1).lastX, mRetained.chunks.get(i).firstX, 0);
+        }
+    }
+
+    private void create(int count) {
+        DataPoint[] data = new DataPoint[count];
+        for (int i = 0; i < count; i++) {
+            data[i] = new DataPoint(i, i % 7);
+        }
+        mSeries = new LineGraphSeries<DataPoint>(data);
+        mRetained = new LineGraphSeries.RetainedPath();
+    }
+
+    private void assertUpdate(LineGraphSeries.RetainedUpdate expected, int visited) {
+        mStats = new RenderStats();
+        assertEquals(expected, mSeries.updateRetainedPath(mRetained, 0, 0, 1, 1, mStats));
+        assertEquals("visited", visited, mStats.getVisited());
+    }
+}
@@ -0,0 +1,245 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import android.graphics.Canvas;
+
+import com.jjoe64.graphview.GraphView;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Round trip of all encodings of {@link SeriesSnapshot}
+ * and {@link GorillaCodec}.
+ *
+ * @author jjoe64
+ */
+public class SeriesSnapshotTest {
+    /**
+     * series without drawing, only for the data
+     */
+    private static class DataSeries extends BaseSeries<DataPoint> {
+        DataSeries(DataPoint[] data) {
+            super(data);
+        }
+
+        @Override
+        public void draw(GraphView graphView, Canvas canvas, boolean isSecondScale) {
+        }
+
+        @Override
+        public void drawSelection(GraphView graphView, Canvas canvas, boolean b, DataPointInterface value) {
+        }
+    }
+
+    @Test
+    public void regularTimestamps() {
+        DataPoint[] data = new DataPoint[1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new DataPoint(1500000000000L + i * 1000L, Math.sin(i / 10d) * 100);
+        }
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void fractionalX() {
+        DataPoint[] data = new DataPoint[200];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new DataPoint(i * 0.1 - 3.3, i % 7);
+        }
+        assertRoundTrip(data);
+    }
+
+    @Test
+    public void specialValues() {
+        assertRoundTrip(new DataPoint[] {
+                new DataPoint(0, Double.NaN),
+                new DataPoint(1, 0d),
+                new DataPoint(2, -0d),
+                new DataPoint(3, Double.POSITIVE_INFINITY),
+                new DataPoint(4, Double.NaN),
+                new DataPoint(5, Double.NEGATIVE_INFINITY),
+                new DataPoint(6, Double.MIN_VALUE),
+                new DataPoint(7, -Double.MAX_VALUE)
+        });
+    }
+
+    @Test
+    public void xorOfAllBits() {
+        // consecutive values differ in all 64 bits
+        double a = Double.longBitsToDouble(0x8000000000000001L);
+        double b = Double.longBitsToDouble(0x7ffffffffffffffeL);
+        assertRoundTrip(new DataPoint[] {
+                new DataPoint(0, a), new DataPoint(1, b), new DataPoint(2, a),
+                new DataPoint(3, b), new DataPoint(4, 1d), new DataPoint(5, a)
+        });
+    }
+
+    @Test
+    public void largeDeltaOfDelta() {
+        long[] xs = {0, 1, 2, 1L << 40, (1L << 40) + 1, (1L << 40) + 2, (1L << 52), (1L << 52) + 63,
+                (1L << 52) + 64, (1L << 52) + 320, (1L << 52) + 2368, (1L << 52) + 70000};
+        DataPoint[] data = new DataPoint[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            data[i] = new DataPoint(xs[i], i);
+        }
+        assertRoundTrip(data);
+
+        // negative x-values and deltas of zero
+        assertRoundTrip(new DataPoint[] {
+                new DataPoint(-(1L << 45), 1), new DataPoint(-5, 2), new DataPoint(-5, 3),
+                new DataPoint(0, 4), new DataPoint(1L << 45, 5)
+        });
+    }
+
+    @Test
+    public void empty() {
+        assertRoundTrip(new DataPoint[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncated() {
+        DataPoint[] data = {new DataPoint(0, 1), new DataPoint(1, 2), new DataPoint(2, 3)};
+        byte[] snapshot = SeriesSnapshot.toByteArray(new DataSeries(data), SeriesSnapshot.Encoding.RAW);
+        SeriesSnapshot.fromByteArray(Arrays.copyOf(snapshot, snapshot.length - 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noSnapshot() {
+        SeriesSnapshot.fromByteArray(new byte[20]);
+    }
+
+    @Test
+    public void stream() throws IOException {
+        DataPoint[] data = new DataPoint[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new DataPoint(i, Math.cos(i / 50d));
+        }
+        DataSeries series = new DataSeries(data);
+        for (SeriesSnapshot.Encoding encoding : SeriesSnapshot.Encoding.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            SeriesSnapshot.write(series, out, encoding);
+            // followed by other data
+            out.write(42);
+            ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+            assertEquals(encoding + " count", data.length, SeriesSnapshot.read(in).length);
+            assertEquals(encoding + " end", 42, in.read());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void streamTruncated() throws IOException {
+        DataPoint[] data = {new DataPoint(0, 1), new DataPoint(1, 2), new DataPoint(2, 3)};
+        byte[] snapshot = SeriesSnapshot.toByteArray(new DataSeries(data), SeriesSnapshot.Encoding.DELTA);
+        SeriesSnapshot.read(new ByteArrayInputStream(Arrays.copyOf(snapshot, snapshot.length - 1)));
+    }
+
+    @Test(expected = IOException.class)
+    public void streamHugeLength() throws IOException {
+        // must fail at the end of the stream, not allocate 2GB
+        byte[] snapshot = header(SeriesSnapshot.Encoding.RAW, 0, Integer.MAX_VALUE / 16, Integer.MAX_VALUE / 16 * 16, 100);
+        SeriesSnapshot.read(new ByteArrayInputStream(snapshot));
+    }
+
+    @Test(expected = IOException.class)
+    public void streamHugeCount() throws IOException {
+        byte[] snapshot = header(SeriesSnapshot.Encoding.GORILLA, 0, Integer.MAX_VALUE, 16, 16);
+        SeriesSnapshot.read(new ByteArrayInputStream(snapshot));
+    }
+
+    @Test
+    public void corruptHeaders() {
+        for (SeriesSnapshot.Encoding encoding : SeriesSnapshot.Encoding.values()) {
+            // count does not match the payload
+            assertCorrupt(header(encoding, 1, Integer.MAX_VALUE, 16, 16));
+            assertCorrupt(header(encoding, 0, 1000, 16, 16));
+            assertCorrupt(header(encoding, 0, -1, 16, 16));
+        }
+        // unknown encoding
+        assertCorrupt(header(null, 0, 1, 16, 16));
+    }
+
+    @Test
+    public void corruptPayload() {
+        DataPoint[] data = new DataPoint[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = new DataPoint(i * 1000L, i % 3);
+        }
+        for (SeriesSnapshot.Encoding encoding : SeriesSnapshot.Encoding.values()) {
+            if (encoding == SeriesSnapshot.Encoding.RAW) {
+                continue;
+            }
+            // more data points than encoded
+            byte[] snapshot = SeriesSnapshot.toByteArray(new DataSeries(data), encoding);
+            ByteBuffer.wrap(snapshot).putInt(7, data.length * 2);
+            assertCorrupt(snapshot);
+        }
+    }
+
+    /**
+     * @param encoding the encoding or null for an unknown one
+     * @return snapshot with the header and a payload of zeros
+     */
+    private static byte[] header(SeriesSnapshot.Encoding encoding, int flags, int count, int length, int payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(15 + payload);
+        buffer.putInt(0x47565353);
+        buffer.put((byte) 1);
+        buffer.put((byte) (encoding == null ? 99 : encoding.ordinal()));
+        buffer.put((byte) flags);
+        buffer.putInt(count);
+        buffer.putInt(length);
+        return buffer.array();
+    }
+
+    private static void assertCorrupt(byte[] snapshot) {
+        try {
+            SeriesSnapshot.fromByteArray(snapshot);
+            fail("corrupt snapshot was accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            SeriesSnapshot.read(new ByteArrayInputStream(snapshot));
+            fail("corrupt snapshot was accepted");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    private static void assertRoundTrip(DataPoint[] data) {
+        DataSeries series = new DataSeries(data);
+        for (SeriesSnapshot.Encoding encoding : SeriesSnapshot.Encoding.values()) {
+            DataPoint[] result = SeriesSnapshot.fromByteArray(SeriesSnapshot.toByteArray(series, encoding));
+            assertEquals(encoding + " count", data.length, result.length);
+            for (int i = 0; i < data.length; i++) {
+                assertEquals(encoding + " x at " + i,
+                        Double.doubleToRawLongBits(data[i].getX()), Double.doubleToRawLongBits(result[i].getX()));
+                assertEquals(encoding + " y at " + i,
+                        Double.doubleToRawLongBits(data[i].getY()), Double.doubleToRawLongBits(result[i].getY()));
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/**
+ * GraphView
+ * Copyright 2016 Jonas Gehring
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jjoe64.graphview.series;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Aggregation, level selection and trimming
+ * of {@link TimeBucketSeriesStorage}.
+ *
+ * @author jjoe64
+ */
+public class TimeBucketSeriesStorageTest {
+    private static final long SECOND = 1000L;
+    private static final long MINUTE = 60000L;
+    private static final long HOUR = 3600000L;
+    private static final long DAY = 86400000L;
+
+    @Test
+    public void aggregates() {
+        TimeBucketSeriesStorage storage = new TimeBucketSeriesStorage();
+        // 10 samples per second, y is the index
+        for (int i = 0; i < 30; i++) {
+            storage.append(new DataPoint(i * 100, i), Integer.MAX_VALUE);
+        }
+        assertEquals(30, storage.getSampleCount());
+        assertEquals(0, storage.getLowestValueX(), 0);
+        assertEquals(2900, storage.getHighestValueX(), 0);
+        assertEquals(0, storage.getLowestValueY(), 0);
+        assertEquals(29, storage.getHighestValueY(), 0);
+
+        List<DataPoint> values = all(storage);
+        assertEquals(3, values.size());
+        for (int k = 0; k < 3; k++) {
+            assertEquals(k * SECOND, values.get(k).getX(), 0);
+            assertEquals(10 * k + 4.5, values.get(k).getY(), 1e-9);
+        }
+
+        storage.setAggregate(TimeBucketSeriesStorage.Aggregate.MIN);
+        values = all(storage);
+        for (int k = 0; k < 3; k++) {
+            assertEquals(10 * k, values.get(k).getY(), 0);
+        }
+
+        storage.setAggregate(TimeBucketSeriesStorage.Aggregate.MAX);
+        values = all(storage);
+        for (int k = 0; k < 3; k++) {
+            assertEquals(10 * k + 9, values.get(k).getY(), 0);
+        }
+
+        // min then max at the same x
+        storage.setAggregate(TimeBucketSeriesStorage.Aggregate.MIN_MAX);
+        values = all(storage);
+        assertEquals(6, values.size());
+        for (int k = 0; k < 3; k++) {
+            assertEquals(k * SECOND, values.get(2 * k).getX(), 0);
+            assertEquals(k * SECOND, values.get(2 * k + 1).getX(), 0);
+            assertEquals(10 * k, values.get(2 * k).getY(), 0);
+            assertEquals(10 * k + 9, values.get(2 * k + 1).getY(), 0);
+        }
+    }
+
+    @Test
+    public void levelSelection() {
+        TimeBucketSeriesStorage storage = new TimeBucketSeriesStorage();
+        storage.setMaxBuckets(100);
+        // a sample per second for two days
+        for (long x = 0; x < 2 * DAY; x += SECOND) {
+            storage.append(new DataPoint(x, x % 7), Integer.MAX_VALUE);
+        }
+
+        // the seconds of the first day were removed by the max buckets per level
+        assertLevel(storage, DAY + 10 * HOUR, DAY + 10 * HOUR + MINUTE, SECOND);
+        assertLevel(storage, 10 * HOUR, 10 * HOUR + MINUTE, MINUTE);
+        assertLevel(storage, DAY + 10 * HOUR, DAY + 11 * HOUR, MINUTE);
+        assertLevel(storage, 10 * HOUR, 10 * HOUR + DAY, HOUR);
+    }
+
+    @Test
+    public void levelAfterTrimming() {
+        TimeBucketSeriesStorage storage = new TimeBucketSeriesStorage();
+        storage.setMaxBucketsPerLevel(10);
+        // a sample per second for ten minutes
+        for (long x = 0; x < 10 * MINUTE; x += SECOND) {
+            storage.append(new DataPoint(x, 1), Integer.MAX_VALUE);
+        }
+        assertEquals(10 * MINUTE - SECOND, storage.getHighestValueX(), 0);
+        assertEquals(0, storage.getLowestValueX(), 0);
+        // the last 10 seconds are left in the finest level
+        assertEquals(10, storage.getSampleCount());
+
+        // the seconds do not cover the begin anymore
+        List<DataPoint> values = all(storage);
+        assertEquals(10, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i * MINUTE, values.get(i).getX(), 0);
+        }
+
+        // the last 5 seconds, plus one bucket before
+        values = toList(storage.getValues(10 * MINUTE - 5 * SECOND, storage.getHighestValueX()));
+        assertEquals(6, values.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(10 * MINUTE - (6 - i) * SECOND, values.get(i).getX(), 0);
+        }
+    }
+
+    @Test
+    public void maxDataPoints() {
+        TimeBucketSeriesStorage storage = new TimeBucketSeriesStorage(new long[] {SECOND, MINUTE, HOUR});
+        // a sample every 10 seconds for three hours, y is the index
+        int samples = (int) (3 * HOUR / (10 * SECOND));
+        boolean trimmed = false;
+        for (int i = 0; i < samples; i++) {
+            trimmed |= storage.append(new DataPoint(i * 10 * SECOND, i), 100);
+        }
+        assertTrue(trimmed);
+        assertEquals(100, storage.getSampleCount());
+        assertEquals((samples - 1) * 10 * SECOND, storage.getHighestValueX(), 0);
+
+        // the buckets that end before the finest level are removed
+        double finest = (samples - 100) * 10 * SECOND;
+        assertEquals(Math.floor(finest / HOUR) * HOUR, storage.getLowestValueX(), 0);
+        assertEquals(Math.floor(finest / HOUR) * HOUR / (10 * SECOND), storage.getLowestValueY(), 0);
+        assertEquals(samples - 1, storage.getHighestValueY(), 0);
+
+        // the finest level is used for its own range
+        List<DataPoint> values = toList(storage.getValues(finest, storage.getHighestValueX()));
+        assertEquals(100, values.size());
+        assertEquals(finest, values.get(0).getX(), 0);
+    }
+
+    @Test
+    public void reset() {
+        TimeBucketSeriesStorage storage = new TimeBucketSeriesStorage();
+        storage.append(new DataPoint(5000, 1), Integer.MAX_VALUE);
+        int modifications = storage.getModificationCount();
+        storage.reset(new DataPoint[0]);
+        assertTrue(storage.isEmpty());
+        assertFalse(storage.getValues(0, 10000).hasNext());
+        assertTrue(modifications != storage.getModificationCount());
+
+        // the order starts again
+        storage.append(new DataPoint(1000, 1), Integer.MAX_VALUE);
+        assertEquals(1000, storage.getHighestValueX(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongOrder() {
+        TimeBucketSeriesStorage storage = new TimeBucketSeriesStorage();
+        storage.append(new DataPoint(2000, 1), Integer.MAX_VALUE);
+        storage.append(new DataPoint(1000, 1), Integer.MAX_VALUE);
+    }
+
+    /**
+     * asserts that the values of the range are buckets of the duration
+     */
+    private static void assertLevel(TimeBucketSeriesStorage storage, long from, long until, long duration) {
+        List<DataPoint> values = toList(storage.getValues(from, until));
+        assertTrue(values.size() > 2);
+        for (int i = 1; i < values.size(); i++) {
+            assertEquals(duration, values.get(i).getX() - values.get(i - 1).getX(), 0);
+        }
+        assertTrue(values.get(0).getX() < from);
+        assertTrue(values.get(values.size() - 1).getX() > until - duration);
+    }
+
+    private static List<DataPoint> all(TimeBucketSeriesStorage storage) {
+        return toList(storage.getValues(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY));
+    }
+
+    private static List<DataPoint> toList(Iterator<DataPoint> values) {
+        List<DataPoint> list = new ArrayList<DataPoint>();
+        while (values.hasNext()) {
+            list.add(values.next());
+        }
+        return list;
+    }
+}